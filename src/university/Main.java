@@ -3,9 +3,14 @@ package university;
 import university.model.Course;
 import university.model.Enrollment;
 import university.model.Student;
+import university.service.AutoSaver;
+import university.service.EnrollmentBatchResult;
+import university.service.EnrollmentColumns.Storage;
+import university.service.IncrementalSaver;
 import university.service.University;
-import university.util.CSVExporter;
-import university.util.CSVImporter;
+import university.service.WriteAheadLog;
+import university.service.WriteAheadLog.SyncPolicy;
+import university.util.BinarySnapshot;
 import university.util.GradeUtils;
 
 import java.io.IOException;
@@ -25,24 +30,105 @@ import java.util.Scanner;
  */
 public final class Main {
     private static final String DATA_DIR = "data";
-    private static final Path STUDENTS_FILE = Paths.get(DATA_DIR, "students.csv");
-    private static final Path COURSES_FILE = Paths.get(DATA_DIR, "courses.csv");
-    private static final Path ENROLLMENTS_FILE = Paths.get(DATA_DIR, "enrollments.csv");
+    private static final Path SNAPSHOT_FILE = Paths.get(DATA_DIR, "university.snapshot");
+    private static final Path LOG_FILE = Paths.get(DATA_DIR, "university.wal");
+    private static final long LOG_SYNC_INTERVAL_MILLIS = 100;
 
     private static University university;
+    private static WriteAheadLog log;
+    private static IncrementalSaver saver;
+    private static AutoSaver autoSaver;
     private static Scanner scanner;
 
     public static void main(String[] args) {
-        university = new University();
+        university = new University(enrollmentStorage());
         scanner = new Scanner(System.in);
+        saver = new IncrementalSaver(Paths.get(DATA_DIR));
 
         System.out.println("Smart University (no inheritance). Type 'help' for commands.");
+        recover();
+        startAutoSave();
         runCommandLoop();
 
+        stopAutoSave();
+        closeLog();
         scanner.close();
         System.out.println("Bye.");
     }
 
+    /**
+     * Reads where to keep enrollment records from the university.storage
+     * system property (HEAP or OFF_HEAP; default HEAP).
+     */
+    private static Storage enrollmentStorage() {
+        String value = System.getProperty("university.storage", Storage.HEAP.name());
+        try {
+            return Storage.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown storage " + value + ", keeping enrollments on the heap.");
+            return Storage.HEAP;
+        }
+    }
+
+    /**
+     * Restores the last snapshot plus the changes logged since, and keeps logging.
+     * The sync policy is read from the university.wal.sync system property
+     * (COMMIT, INTERVAL or NONE; default COMMIT).
+     */
+    private static void recover() {
+        try {
+            SyncPolicy policy = SyncPolicy.valueOf(
+                    System.getProperty("university.wal.sync", SyncPolicy.COMMIT.name()).toUpperCase());
+            log = WriteAheadLog.recover(university, SNAPSHOT_FILE, LOG_FILE, policy, LOG_SYNC_INTERVAL_MILLIS);
+            if (university.getStudentCount() + university.getCourseCount() > 0) {
+                System.out.println("Recovered " + university.getStudentCount() + " students, "
+                        + university.getCourseCount() + " courses, " + university.getEnrollmentCount()
+                        + " enrollments (" + log.getRecoveredCount() + " logged changes).");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            university.clearAll();
+            System.out.println("Error recovering data, changes will not be logged: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts saving to ./data in the background if the university.autosave.interval
+     * (milliseconds) or university.autosave.mutations system property is set
+     */
+    private static void startAutoSave() {
+        try {
+            long interval = Long.parseLong(System.getProperty("university.autosave.interval", "0"));
+            long mutations = Long.parseLong(System.getProperty("university.autosave.mutations", "0"));
+            if (interval > 0 || mutations > 0) {
+                autoSaver = new AutoSaver(university, saver, interval, mutations);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error starting autosave, saving only on request: " + e.getMessage());
+        }
+    }
+
+    private static void stopAutoSave() {
+        if (autoSaver == null) {
+            return;
+        }
+        try {
+            autoSaver.close();
+        } catch (IOException e) {
+            System.out.println("Error saving data: " + e.getMessage());
+        }
+    }
+
+    private static void closeLog() {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.out.println("Error closing log: " + e.getMessage());
+        }
+    }
+
     /**
      * Main command loop - reads and processes user commands
      */
@@ -117,13 +203,25 @@ public final class Main {
                     break;
 
                 case "save":
-                    handleSave();
+                    handleSave(false);
+                    break;
+
+                case "save-full":
+                    handleSave(true);
                     break;
 
                 case "load":
                     handleLoad();
                     break;
 
+                case "save-binary":
+                    handleSaveBinary();
+                    break;
+
+                case "load-binary":
+                    handleLoadBinary();
+                    break;
+
                 case "exit":
                     return false;
 
@@ -185,8 +283,11 @@ public final class Main {
         System.out.println("list-students");
         System.out.println("list-courses");
         System.out.println("list-enrollments");
-        System.out.println("save");
+        System.out.println("save                                    - Save changes since the last save");
+        System.out.println("save-full                               - Rewrite all CSV files");
         System.out.println("load");
+        System.out.println("save-binary                             - Save a binary snapshot");
+        System.out.println("load-binary                             - Load the binary snapshot");
         System.out.println("exit");
     }
 
@@ -341,14 +442,13 @@ public final class Main {
     }
 
     /**
-     * Handles save command
+     * Handles save and save-full commands
+     * save appends only the changed records to the delta files (compacting them when they grow)
      */
-    private static void handleSave() {
+    private static void handleSave(boolean full) {
         try {
-            CSVExporter.exportStudents(university.getAllStudents(), STUDENTS_FILE);
-            CSVExporter.exportCourses(university.getAllCourses(), COURSES_FILE);
-            CSVExporter.exportEnrollments(university.getAllEnrollments(), ENROLLMENTS_FILE);
-            System.out.println("Saved to ./data");
+            int written = full ? saver.saveFull(university) : saver.save(university);
+            System.out.println("Saved to ./data (" + written + " records written)");
         } catch (IOException e) {
             System.out.println("Error saving data: " + e.getMessage());
         }
@@ -356,43 +456,74 @@ public final class Main {
 
     /**
      * Handles load command
+     * The three files are parsed in parallel and merged into the university, then the delta files are applied.
+     * With logging on, the loaded state is checkpointed instead of logged record by record
      */
     private static void handleLoad() {
         try {
-            university.clearAll();
-
-            if (CSVImporter.fileExists(STUDENTS_FILE)) {
-                List<Student> students = CSVImporter.importStudents(STUDENTS_FILE);
-                for (Student student : students) {
-                    try {
-                        university.addStudent(student);
-                    } catch (IllegalArgumentException e) {
-                        System.err.println("Warning: " + e.getMessage());
-                    }
-                }
+            university.setWriteAheadLog(null);
+            try {
+                saver.load(university);
+            } finally {
+                university.setWriteAheadLog(log);
+            }
+            if (log != null) {
+                log.checkpoint(university, SNAPSHOT_FILE);
             }
+            System.out.println("Loaded from ./data");
+        } catch (IOException e) {
+            System.out.println("Error loading data: " + e.getMessage());
+        }
+    }
 
-            if (CSVImporter.fileExists(COURSES_FILE)) {
-                List<Course> courses = CSVImporter.importCourses(COURSES_FILE);
-                for (Course course : courses) {
-                    try {
-                        university.addCourse(course);
-                    } catch (IllegalArgumentException e) {
-                        System.err.println("Warning: " + e.getMessage());
-                    }
-                }
+    /**
+     * Handles save-binary command
+     * With logging on, this is a checkpoint: the snapshot replaces the log written so far
+     */
+    private static void handleSaveBinary() {
+        try {
+            if (log != null) {
+                log.checkpoint(university, SNAPSHOT_FILE);
+            } else {
+                BinarySnapshot.write(university.getAllStudents(), university.getAllCourses(),
+                        university.getAllEnrollments(), SNAPSHOT_FILE);
             }
+            System.out.println("Saved snapshot to " + SNAPSHOT_FILE);
+        } catch (IOException e) {
+            System.out.println("Error saving snapshot: " + e.getMessage());
+        }
+    }
 
-            if (CSVImporter.fileExists(ENROLLMENTS_FILE)) {
-                List<Enrollment> enrollments = CSVImporter.importEnrollments(ENROLLMENTS_FILE);
-                for (Enrollment enrollment : enrollments) {
-                    university.addEnrollment(enrollment);
-                }
+    /**
+     * Handles load-binary command
+     * The snapshot is checked before anything is cleared, so a damaged file keeps the current data
+     */
+    private static void handleLoadBinary() {
+        if (!Files.exists(SNAPSHOT_FILE)) {
+            System.out.println("No snapshot found at " + SNAPSHOT_FILE);
+            return;
+        }
+        try {
+            if (log != null) {
+                log.restore(university, SNAPSHOT_FILE);
+                System.out.println("Loaded snapshot from " + SNAPSHOT_FILE);
+                return;
             }
+            List<Student> students = new ArrayList<>();
+            List<Course> courses = new ArrayList<>();
+            List<Enrollment> enrollments = new ArrayList<>();
+            BinarySnapshot.read(SNAPSHOT_FILE, students::add, courses::add, enrollments::add);
 
-            System.out.println("Loaded from ./data");
+            university.clearAll();
+            students.forEach(university::addStudent);
+            courses.forEach(university::addCourse);
+            EnrollmentBatchResult result = university.enrollAll(enrollments);
+            if (!result.isSuccessful()) {
+                System.out.println("Warning: " + result);
+            }
+            System.out.println("Loaded snapshot from " + SNAPSHOT_FILE);
         } catch (IOException e) {
-            System.out.println("Error loading data: " + e.getMessage());
+            System.out.println("Error loading snapshot: " + e.getMessage());
         }
     }
 
@@ -1,5 +1,12 @@
 package university.model;
 
+import university.util.CSVFields;
+import university.util.CSVTokenizer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+
 /**
  * Course entity representing a university course.
  * Uses encapsulation with private fields and public getters/setters.
@@ -13,6 +20,7 @@ public final class Course {
     private String title;
     private int credits;
     private String instructor;
+    private final List<ObjIntConsumer<Course>> creditsListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a new Course with the specified details.
@@ -72,7 +80,13 @@ public final class Course {
         if (credits <= 0) {
             throw new IllegalArgumentException("Credits must be positive");
         }
+        int oldCredits = this.credits;
         this.credits = credits;
+        if (oldCredits != credits) {
+            for (ObjIntConsumer<Course> listener : creditsListeners) {
+                listener.accept(this, oldCredits);
+            }
+        }
     }
 
     public void setInstructor(String instructor) {
@@ -82,6 +96,25 @@ public final class Course {
         this.instructor = instructor.trim();
     }
 
+    /**
+     * Registers a listener called after the credit hours change.
+     * The listener receives this course and the previous credit value.
+     * 
+     * @param listener Listener to notify
+     */
+    public void addCreditsListener(ObjIntConsumer<Course> listener) {
+        creditsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with addCreditsListener.
+     * 
+     * @param listener Listener to remove
+     */
+    public void removeCreditsListener(ObjIntConsumer<Course> listener) {
+        creditsListeners.remove(listener);
+    }
+
     /**
      * Returns a formatted string representation of the course.
      * Format: CODE | Title | Xcr | Instructor
@@ -96,7 +129,19 @@ public final class Course {
      * @return CSV line: "code","title",credits,"instructor"
      */
     public String toCSV() {
-        return String.format("\"%s\",\"%s\",%d,\"%s\"", code, title, credits, instructor);
+        return appendCSV(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends course data in CSV format, without a line separator.
+     * Quotes in the text fields are doubled.
+     * @param out Row being built
+     * @return out
+     */
+    public StringBuilder appendCSV(StringBuilder out) {
+        CSVFields.appendQuoted(out, code).append(',');
+        CSVFields.appendQuoted(out, title).append(',').append(credits).append(',');
+        return CSVFields.appendQuoted(out, instructor);
     }
 
     /**
@@ -105,41 +150,27 @@ public final class Course {
      * @return new Course instance
      */
     public static Course fromCSV(String csvLine) {
-        String[] parts = parseCSVLine(csvLine);
-        if (parts.length < 4) {
-            throw new IllegalArgumentException("Invalid CSV format for Course");
-        }
-        
-        String code = parts[0].trim();
-        String title = parts[1].trim();
-        int credits = Integer.parseInt(parts[2].trim());
-        String instructor = parts[3].trim();
-        
-        return new Course(code, title, credits, instructor);
+        CSVTokenizer tokens = new CSVTokenizer();
+        tokens.reset(csvLine);
+        return fromCSV(tokens);
     }
 
     /**
-     * Parses a CSV line respecting quoted fields.
+     * Creates a Course from the current record of a tokenizer.
+     * Used by CSVImporter to parse without per-field allocation.
+     * @param tokens Tokenizer positioned on a complete record
+     * @return new Course instance
      */
-    private static String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
+    public static Course fromCSV(CSVTokenizer tokens) {
+        if (tokens.getFieldCount() < 4) {
+            throw new IllegalArgumentException("Invalid CSV format for Course");
         }
-        result.add(current.toString());
         
-        return result.toArray(new String[0]);
+        String code = tokens.getString(0);
+        String title = tokens.getString(1);
+        int credits = tokens.getInt(2);
+        String instructor = tokens.getString(3);
+        
+        return new Course(code, title, credits, instructor);
     }
 }
@@ -1,8 +1,16 @@
 package university.model;
 
+import university.util.CSVFields;
+import university.util.CSVTokenizer;
+
 /**
  * Enrollment entity representing a student's enrollment in a course.
  * Uses encapsulation with private fields and public getters/setters.
+ * The grade is stored as a short in tenths of a percent (86.5 as 865,
+ * NO_GRADE if ungraded), so a graded enrollment takes no more heap than
+ * an ungraded one. Grades are cut down to one decimal when assigned,
+ * the precision they are saved with, so a grade just below a letter
+ * cutoff (89.95) never rounds up to it.
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
@@ -11,7 +19,10 @@ package university.model;
 public final class Enrollment {
     private int studentId;
     private String courseCode;
-    private Double gradePercent;
+    private short gradeTenths;
+
+    /** Value of getGradeTenths for an ungraded enrollment. */
+    public static final int NO_GRADE = -1;
 
     /**
      * Creates a new Enrollment with the specified details.
@@ -30,7 +41,7 @@ public final class Enrollment {
         
         this.studentId = studentId;
         this.courseCode = courseCode.trim().toUpperCase();
-        this.gradePercent = null;
+        this.gradeTenths = NO_GRADE;
     }
 
     /**
@@ -43,13 +54,10 @@ public final class Enrollment {
         if (courseCode == null || courseCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Course code cannot be blank");
         }
-        if (gradePercent != null && (gradePercent < 0 || gradePercent > 100)) {
-            throw new IllegalArgumentException("Grade must be between 0 and 100");
-        }
         
         this.studentId = studentId;
         this.courseCode = courseCode.trim().toUpperCase();
-        this.gradePercent = gradePercent;
+        this.gradeTenths = gradePercent != null ? toTenths(gradePercent) : NO_GRADE;
     }
 
     // Getters
@@ -62,7 +70,15 @@ public final class Enrollment {
     }
 
     public Double getGradePercent() {
-        return gradePercent;
+        return gradeTenths != NO_GRADE ? gradeTenths / 10.0 : null;
+    }
+
+    /**
+     * Gets the grade without boxing.
+     * @return Grade in tenths of a percent (0-1000), or NO_GRADE if not graded
+     */
+    public int getGradeTenths() {
+        return gradeTenths;
     }
 
     /**
@@ -70,7 +86,7 @@ public final class Enrollment {
      * @return true if a grade has been assigned
      */
     public boolean isGraded() {
-        return gradePercent != null;
+        return gradeTenths != NO_GRADE;
     }
 
     // Setters
@@ -80,12 +96,37 @@ public final class Enrollment {
      * @throws IllegalArgumentException if grade is out of range
      */
     public void setGradePercent(Double gradePercent) {
-        if (gradePercent != null) {
-            if (gradePercent < 0 || gradePercent > 100) {
-                throw new IllegalArgumentException("Grade must be between 0 and 100");
-            }
+        this.gradeTenths = gradePercent != null ? toTenths(gradePercent) : NO_GRADE;
+    }
+
+    /**
+     * Assigns a grade to this enrollment without boxing.
+     * @param gradePercent Grade percentage (0-100)
+     * @throws IllegalArgumentException if grade is out of range
+     */
+    public void setGradePercent(double gradePercent) {
+        this.gradeTenths = toTenths(gradePercent);
+    }
+
+    /**
+     * Converts a grade percentage to tenths of a percent, as stored: the
+     * largest tenth not above the grade, so 89.95 becomes 899.
+     * @param gradePercent Grade percentage (0-100)
+     * @return Grade in tenths of a percent (0-1000)
+     * @throws IllegalArgumentException if grade is out of range
+     */
+    public static short toTenths(double gradePercent) {
+        if (!(gradePercent >= 0 && gradePercent <= 100)) {
+            throw new IllegalArgumentException("Grade must be between 0 and 100");
+        }
+        int tenths = (int) Math.floor(gradePercent * 10);
+        // The product is rounded, so it may land on either side of a whole tenth
+        if (tenths / 10.0 > gradePercent) {
+            tenths--;
+        } else if ((tenths + 1) / 10.0 <= gradePercent) {
+            tenths++;
         }
-        this.gradePercent = gradePercent;
+        return (short) tenths;
     }
 
     /**
@@ -93,9 +134,7 @@ public final class Enrollment {
      */
     @Override
     public String toString() {
-        String gradeStr = gradePercent != null ? 
-                String.format("%.1f", gradePercent) : "";
-        return String.format("%d,%s,%s", studentId, courseCode, gradeStr);
+        return toCSV();
     }
 
     /**
@@ -103,8 +142,18 @@ public final class Enrollment {
      * @return CSV line: studentId,courseCode,gradePercent
      */
     public String toCSV() {
-        String gradeStr = gradePercent != null ? String.format("%.1f", gradePercent) : "";
-        return String.format("%d,%s,%s", studentId, courseCode, gradeStr);
+        return appendCSV(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends enrollment data in CSV format, without a line separator.
+     * The grade has one decimal and is left empty if not graded.
+     * @param out Row being built
+     * @return out
+     */
+    public StringBuilder appendCSV(StringBuilder out) {
+        out.append(studentId).append(',').append(courseCode).append(',');
+        return isGraded() ? CSVFields.appendTenths(out, gradeTenths) : out;
     }
 
     /**
@@ -113,44 +162,30 @@ public final class Enrollment {
      * @return new Enrollment instance
      */
     public static Enrollment fromCSV(String csvLine) {
-        String[] parts = parseCSVLine(csvLine);
-        if (parts.length < 2) {
+        CSVTokenizer tokens = new CSVTokenizer();
+        tokens.reset(csvLine);
+        return fromCSV(tokens);
+    }
+
+    /**
+     * Creates an Enrollment from the current record of a tokenizer.
+     * Used by CSVImporter to parse without per-field allocation.
+     * @param tokens Tokenizer positioned on a complete record
+     * @return new Enrollment instance
+     */
+    public static Enrollment fromCSV(CSVTokenizer tokens) {
+        if (tokens.getFieldCount() < 2) {
             throw new IllegalArgumentException("Invalid CSV format for Enrollment");
         }
         
-        int studentId = Integer.parseInt(parts[0].trim());
-        String courseCode = parts[1].trim();
+        int studentId = tokens.getInt(0);
+        String courseCode = tokens.getString(1);
         
         Double gradePercent = null;
-        if (parts.length >= 3 && !parts[2].trim().isEmpty()) {
-            gradePercent = Double.parseDouble(parts[2].trim());
+        if (tokens.getFieldCount() >= 3 && !tokens.isEmpty(2)) {
+            gradePercent = tokens.getDouble(2);
         }
         
         return new Enrollment(studentId, courseCode, gradePercent);
     }
-
-    /**
-     * Parses a CSV line respecting quoted fields.
-     */
-    private static String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        result.add(current.toString());
-        
-        return result.toArray(new String[0]);
-    }
 }
@@ -1,8 +1,17 @@
 package university.model;
 
+import university.util.CSVFields;
+import university.util.CSVTokenizer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 /**
  * Student entity representing a university student.
  * Uses encapsulation with private fields and public getters/setters.
+ * The list of major listeners is created by the first addMajorListener,
+ * so a student nobody listens to carries only a null reference.
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
@@ -12,6 +21,7 @@ public final class Student {
     private int id;
     private String name;
     private String major;
+    private volatile List<Consumer<Student>> majorListeners;
 
     /**
      * Creates a new Student with the specified details.
@@ -62,7 +72,37 @@ public final class Student {
         if (major == null || major.trim().isEmpty()) {
             throw new IllegalArgumentException("Student major cannot be blank");
         }
+        String oldMajor = this.major;
         this.major = major.trim();
+        List<Consumer<Student>> listeners = majorListeners;
+        if (listeners != null && !oldMajor.equals(this.major)) {
+            for (Consumer<Student> listener : listeners) {
+                listener.accept(this);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener called after the major changes.
+     * 
+     * @param listener Listener to notify; receives this student
+     */
+    public synchronized void addMajorListener(Consumer<Student> listener) {
+        if (majorListeners == null) {
+            majorListeners = new CopyOnWriteArrayList<>();
+        }
+        majorListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with addMajorListener.
+     * 
+     * @param listener Listener to remove
+     */
+    public synchronized void removeMajorListener(Consumer<Student> listener) {
+        if (majorListeners != null) {
+            majorListeners.remove(listener);
+        }
     }
 
     /**
@@ -79,7 +119,19 @@ public final class Student {
      * @return CSV line: id,"name","major"
      */
     public String toCSV() {
-        return String.format("%d,\"%s\",\"%s\"", id, name, major);
+        return appendCSV(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends student data in CSV format, without a line separator.
+     * Quotes in the name or major are doubled.
+     * @param out Row being built
+     * @return out
+     */
+    public StringBuilder appendCSV(StringBuilder out) {
+        out.append(id).append(',');
+        CSVFields.appendQuoted(out, name).append(',');
+        return CSVFields.appendQuoted(out, major);
     }
 
     /**
@@ -88,40 +140,26 @@ public final class Student {
      * @return new Student instance
      */
     public static Student fromCSV(String csvLine) {
-        String[] parts = parseCSVLine(csvLine);
-        if (parts.length < 3) {
-            throw new IllegalArgumentException("Invalid CSV format for Student");
-        }
-        
-        int id = Integer.parseInt(parts[0].trim());
-        String name = parts[1].trim();
-        String major = parts[2].trim();
-        
-        return new Student(id, name, major);
+        CSVTokenizer tokens = new CSVTokenizer();
+        tokens.reset(csvLine);
+        return fromCSV(tokens);
     }
 
     /**
-     * Parses a CSV line respecting quoted fields.
+     * Creates a Student from the current record of a tokenizer.
+     * Used by CSVImporter to parse without per-field allocation.
+     * @param tokens Tokenizer positioned on a complete record
+     * @return new Student instance
      */
-    private static String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
+    public static Student fromCSV(CSVTokenizer tokens) {
+        if (tokens.getFieldCount() < 3) {
+            throw new IllegalArgumentException("Invalid CSV format for Student");
         }
-        result.add(current.toString());
         
-        return result.toArray(new String[0]);
+        int id = tokens.getInt(0);
+        String name = tokens.getString(1);
+        String major = tokens.getString(2);
+        
+        return new Student(id, name, major);
     }
 }
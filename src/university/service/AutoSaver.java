@@ -0,0 +1,115 @@
+package university.service;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a University in the background through an IncrementalSaver,
+ * after a given time and/or number of mutations since the last save.
+ * A daemon "autosave" thread checks University.getModificationCount
+ * every 50 ms (or every interval, if shorter) and saves when a limit is
+ * reached. The university is locked only while the saver takes its
+ * point-in-time copy of the changes; the files are written on the
+ * autosave thread while commands keep running. Full saves (the first
+ * one and compactions) copy every record under the lock, which costs
+ * time proportional to the data set.
+ * Failed saves are reported as warnings and retried at the next check.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class AutoSaver {
+    private static final long CHECK_MILLIS = 50;
+
+    private final University university;
+    private final IncrementalSaver saver;
+    private final long intervalNanos;
+    private final long mutationThreshold;
+    private final ScheduledExecutorService scheduler;
+    // Only used on the autosave thread, then by close after it stopped
+    private long savedModifications;
+    private long lastSaveNanos;
+    private volatile int saveCount;
+
+    /**
+     * Starts saving in the background.
+     * 
+     * @param university University to save
+     * @param saver Saver that writes the files
+     * @param intervalMillis Save when this much time has passed since the last save and something changed (0 = off)
+     * @param mutationThreshold Save after this many mutations (0 = off)
+     * @throws IllegalArgumentException if a limit is negative or both are off
+     */
+    public AutoSaver(University university, IncrementalSaver saver, long intervalMillis, long mutationThreshold) {
+        if (intervalMillis < 0 || mutationThreshold < 0) {
+            throw new IllegalArgumentException("Autosave limits must not be negative");
+        }
+        if (intervalMillis == 0 && mutationThreshold == 0) {
+            throw new IllegalArgumentException("Autosave needs an interval or a mutation threshold");
+        }
+        this.university = university;
+        this.saver = saver;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.mutationThreshold = mutationThreshold;
+        this.savedModifications = university.getModificationCount();
+        this.lastSaveNanos = System.nanoTime();
+
+        long checkMillis = intervalMillis > 0 ? Math.min(CHECK_MILLIS, intervalMillis) : CHECK_MILLIS;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Number of background saves so far
+     */
+    public int getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Stops the background thread, waiting for a running save, then
+     * saves any changes made since the last save.
+     * 
+     * @throws IOException if the final save fails
+     */
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (university.getModificationCount() != savedModifications) {
+            saver.save(university);
+        }
+    }
+
+    private void check() {
+        long modifications = university.getModificationCount();
+        long pending = modifications - savedModifications;
+        if (pending == 0) {
+            return;
+        }
+        boolean due = (mutationThreshold > 0 && pending >= mutationThreshold)
+                || (intervalNanos > 0 && System.nanoTime() - lastSaveNanos >= intervalNanos);
+        if (!due) {
+            return;
+        }
+
+        try {
+            saver.save(university);
+            savedModifications = modifications;
+            lastSaveNanos = System.nanoTime();
+            saveCount++;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Autosave failed: " + e.getMessage());
+        }
+    }
+}
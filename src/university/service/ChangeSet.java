@@ -0,0 +1,72 @@
+package university.service;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records changed in a University since the previous
+ * University.drainChanges call: added or updated students, courses and
+ * enrollments, and removed enrollments (as ungraded Enrollment keys).
+ * If the university was cleared in between, only the records added after
+ * the clear are listed and isCleared is true.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ChangeSet {
+    private final boolean cleared;
+    private final List<Student> students;
+    private final List<Course> courses;
+    private final List<Enrollment> enrollments;
+    private final List<Enrollment> removedEnrollments;
+
+    ChangeSet(boolean cleared, List<Student> students, List<Course> courses,
+              List<Enrollment> enrollments, List<Enrollment> removedEnrollments) {
+        this.cleared = cleared;
+        this.students = students;
+        this.courses = courses;
+        this.enrollments = enrollments;
+        this.removedEnrollments = removedEnrollments;
+    }
+
+    // Getters
+    public boolean isCleared() {
+        return cleared;
+    }
+
+    public List<Student> getStudents() {
+        return Collections.unmodifiableList(students);
+    }
+
+    public List<Course> getCourses() {
+        return Collections.unmodifiableList(courses);
+    }
+
+    public List<Enrollment> getEnrollments() {
+        return Collections.unmodifiableList(enrollments);
+    }
+
+    public List<Enrollment> getRemovedEnrollments() {
+        return Collections.unmodifiableList(removedEnrollments);
+    }
+
+    /**
+     * @return Number of changed records
+     */
+    public int size() {
+        return students.size() + courses.size() + enrollments.size() + removedEnrollments.size();
+    }
+
+    /**
+     * Checks if nothing changed.
+     * @return true if no record changed and the university was not cleared
+     */
+    public boolean isEmpty() {
+        return !cleared && size() == 0;
+    }
+}
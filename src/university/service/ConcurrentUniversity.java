@@ -0,0 +1,356 @@
+package university.service;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe university service for concurrent registration traffic.
+ * Students are striped across a fixed number of University shards by ID;
+ * each shard is guarded by its own monitor, so operations on students in
+ * different stripes run in parallel while all operations on one student
+ * are serialized (linearizable per student). Courses are shared by every
+ * shard and looked up through a concurrent map.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ConcurrentUniversity {
+    private final University[] shards;
+    private final int shardMask;
+    private final Map<String, Course> courses;
+
+    /**
+     * Creates a concurrent university with four stripes per available processor.
+     */
+    public ConcurrentUniversity() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a concurrent university with the given number of lock stripes.
+     * The count is rounded up to the next power of two.
+     * 
+     * @param stripes Number of lock stripes (must be positive)
+     * @throws IllegalArgumentException if stripes is not positive
+     */
+    public ConcurrentUniversity(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.shards = new University[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new University();
+        }
+        this.shardMask = size - 1;
+        this.courses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the shard that owns a student.
+     */
+    private University shardFor(int studentId) {
+        return shards[shardIndex(studentId)];
+    }
+
+    /**
+     * Returns the stripe index of a student.
+     */
+    private int shardIndex(int studentId) {
+        int h = studentId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & shardMask;
+    }
+
+    // ==================== STUDENT OPERATIONS ====================
+
+    /**
+     * Adds a new student.
+     * 
+     * @param id Student ID
+     * @param name Student name
+     * @param major Student's major
+     * @throws IllegalArgumentException if student ID already exists
+     */
+    public void addStudent(int id, String name, String major) {
+        shardFor(id).addStudent(id, name, major);
+    }
+
+    /**
+     * Adds an existing Student object.
+     * 
+     * @param student Student to add
+     * @throws IllegalArgumentException if student ID already exists
+     */
+    public void addStudent(Student student) {
+        shardFor(student.getId()).addStudent(student);
+    }
+
+    /**
+     * Gets a student by ID.
+     * 
+     * @param id Student ID
+     * @return Student or null if not found
+     */
+    public Student getStudent(int id) {
+        return shardFor(id).getStudent(id);
+    }
+
+    /**
+     * Gets all students as a list, sorted by ID.
+     * Each stripe is read atomically, but not all stripes at once.
+     * 
+     * @return List of all students sorted by id
+     */
+    public List<Student> getAllStudents() {
+        List<Student> result = new ArrayList<>();
+        for (University shard : shards) {
+            result.addAll(shard.getAllStudents());
+        }
+        result.sort(Comparator.comparingInt(Student::getId));
+        return result;
+    }
+
+    /**
+     * Gets the total number of students.
+     * 
+     * @return Student count
+     */
+    public int getStudentCount() {
+        int count = 0;
+        for (University shard : shards) {
+            count += shard.getStudentCount();
+        }
+        return count;
+    }
+
+    // ==================== COURSE OPERATIONS ====================
+
+    /**
+     * Adds a new course to every stripe.
+     * 
+     * @param code Course code
+     * @param title Course title
+     * @param credits Credit hours
+     * @param instructor Instructor name
+     * @throws IllegalArgumentException if course code already exists
+     */
+    public void addCourse(String code, String title, int credits, String instructor) {
+        addCourse(new Course(code, title, credits, instructor));
+    }
+
+    /**
+     * Adds an existing Course object to every stripe.
+     * The course becomes visible through getCourse only after all stripes have it.
+     * 
+     * @param course Course to add
+     * @throws IllegalArgumentException if course code already exists
+     */
+    public void addCourse(Course course) {
+        String normalizedCode = course.getCode().toUpperCase();
+        synchronized (courses) {
+            if (courses.containsKey(normalizedCode)) {
+                throw new IllegalArgumentException("Course with code " + normalizedCode + " already exists");
+            }
+            for (University shard : shards) {
+                shard.addCourse(course);
+            }
+            courses.put(normalizedCode, course);
+        }
+    }
+
+    /**
+     * Gets a course by code.
+     * 
+     * @param code Course code
+     * @return Course or null if not found
+     */
+    public Course getCourse(String code) {
+        return courses.get(code.trim().toUpperCase());
+    }
+
+    /**
+     * Gets all courses as a list, sorted by code.
+     * 
+     * @return List of all courses sorted by code
+     */
+    public List<Course> getAllCourses() {
+        return courses.values().stream()
+                .sorted(Comparator.comparing(Course::getCode))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the total number of courses.
+     * 
+     * @return Course count
+     */
+    public int getCourseCount() {
+        return courses.size();
+    }
+
+    // ==================== ENROLLMENT OPERATIONS ====================
+
+    /**
+     * Enrolls a student in a course.
+     * 
+     * @param studentId Student ID
+     * @param courseCode Course code
+     * @throws IllegalArgumentException if validation fails
+     */
+    public void enroll(int studentId, String courseCode) {
+        shardFor(studentId).enroll(studentId, courseCode);
+    }
+
+    /**
+     * Adds an existing Enrollment object.
+     * 
+     * @param enrollment Enrollment to add
+     * @throws IllegalArgumentException if the course is not found or the student is already enrolled in it
+     */
+    public void addEnrollment(Enrollment enrollment) {
+        shardFor(enrollment.getStudentId()).addEnrollment(enrollment);
+    }
+
+    /**
+     * Enrolls a batch of (studentId, courseCode) requests.
+     * Requests are split by stripe; each stripe validates its part in a
+     * single pass and applies the valid requests atomically, so the batch
+     * is atomic per student but not across stripes.
+     * 
+     * @param requests Enrollments to add, in request order
+     * @return Number applied and the failures with their batch positions
+     * @see University#enrollAll(Collection)
+     */
+    public EnrollmentBatchResult enrollAll(Collection<Enrollment> requests) {
+        List<List<Enrollment>> parts = new ArrayList<>(shards.length);
+        List<List<Integer>> partPositions = new ArrayList<>(shards.length);
+        for (int s = 0; s < shards.length; s++) {
+            parts.add(new ArrayList<>());
+            partPositions.add(new ArrayList<>());
+        }
+
+        EnrollmentBatchResult result = new EnrollmentBatchResult();
+        int position = 0;
+        for (Enrollment request : requests) {
+            if (request == null) {
+                result.addFailure(position++, null, "Request is null");
+                continue;
+            }
+            int s = shardIndex(request.getStudentId());
+            parts.get(s).add(request);
+            partPositions.get(s).add(position++);
+        }
+
+        for (int s = 0; s < shards.length; s++) {
+            List<Enrollment> part = parts.get(s);
+            if (part.isEmpty()) {
+                continue;
+            }
+            int[] positions = partPositions.get(s).stream().mapToInt(Integer::intValue).toArray();
+            shards[s].enrollAll(part, positions, result);
+        }
+        result.sortFailures();
+        return result;
+    }
+
+    /**
+     * Removes a student's enrollment in a course.
+     * 
+     * @param studentId Student ID
+     * @param courseCode Course code
+     * @throws IllegalArgumentException if enrollment not found
+     */
+    public void removeEnrollment(int studentId, String courseCode) {
+        shardFor(studentId).removeEnrollment(studentId, courseCode);
+    }
+
+    /**
+     * Assigns a grade to a student's enrollment.
+     * 
+     * @param studentId Student ID
+     * @param courseCode Course code
+     * @param gradePercent Grade percentage (0-100)
+     * @throws IllegalArgumentException if enrollment not found or grade out of range
+     */
+    public void assignGrade(int studentId, String courseCode, double gradePercent) {
+        shardFor(studentId).assignGrade(studentId, courseCode, gradePercent);
+    }
+
+    /**
+     * Gets all enrollments, sorted by (studentId, courseCode).
+     * Each stripe is read atomically, but not all stripes at once.
+     * 
+     * @return List of all enrollments sorted
+     */
+    public List<Enrollment> getAllEnrollments() {
+        List<Enrollment> result = new ArrayList<>();
+        for (University shard : shards) {
+            result.addAll(shard.getAllEnrollments());
+        }
+        result.sort(Comparator.comparingInt(Enrollment::getStudentId)
+                .thenComparing(Enrollment::getCourseCode));
+        return result;
+    }
+
+    /**
+     * Gets enrollments for a specific student, sorted by course code.
+     * 
+     * @param studentId Student ID
+     * @return List of student's enrollments
+     */
+    public List<Enrollment> getStudentEnrollments(int studentId) {
+        return shardFor(studentId).getStudentEnrollments(studentId);
+    }
+
+    /**
+     * Gets the total number of enrollments.
+     * 
+     * @return Enrollment count
+     */
+    public int getEnrollmentCount() {
+        int count = 0;
+        for (University shard : shards) {
+            count += shard.getEnrollmentCount();
+        }
+        return count;
+    }
+
+    // ==================== GPA CALCULATION ====================
+
+    /**
+     * Calculates the GPA for a student.
+     * 
+     * @param studentId Student ID
+     * @return GPA on 4.0 scale
+     * @throws IllegalArgumentException if student not found
+     * @see University#computeGpa(int)
+     */
+    public double computeGpa(int studentId) {
+        return shardFor(studentId).computeGpa(studentId);
+    }
+
+    /**
+     * Clears all data from every stripe.
+     */
+    public void clearAll() {
+        synchronized (courses) {
+            for (University shard : shards) {
+                shard.clearAll();
+            }
+            courses.clear();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package university.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A University's registry of course codes. Each normalized code (trimmed,
+ * upper case) of a registered course gets a small int ID, and the
+ * University indexes its per-course data by ID in arrays. Codes are only
+ * added for courses the University has accepted, so the IDs stay below
+ * its course count, and clear starts over with clearAll.
+ * Enrollment copies handed out by the University use the registry's
+ * String, so they share one String per code.
+ * Not thread-safe; the University uses it under its lock.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class CourseCodes {
+    private final Map<String, Integer> ids;
+    private String[] codes;
+
+    CourseCodes() {
+        this.ids = new HashMap<>();
+        this.codes = new String[64];
+    }
+
+    /**
+     * Gets the ID of a code, registering it if it is new.
+     */
+    int intern(String code) {
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        int next = ids.size();
+        if (next == codes.length) {
+            codes = Arrays.copyOf(codes, next * 2);
+        }
+        codes[next] = code;
+        ids.put(code, next);
+        return next;
+    }
+
+    /**
+     * @return ID of a code, or -1 if it is not registered
+     */
+    int find(String code) {
+        Integer id = ids.get(code);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @return The registered code of an ID
+     */
+    String code(int id) {
+        return codes[id];
+    }
+
+    /**
+     * @return Number of registered codes; IDs are below this
+     */
+    int size() {
+        return ids.size();
+    }
+
+    void clear() {
+        Arrays.fill(codes, 0, ids.size(), null);
+        ids.clear();
+    }
+}
@@ -0,0 +1,205 @@
+package university.service;
+
+import university.model.Course;
+import university.util.GradingScale;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+
+/**
+ * Aggregate queries over a University's enrollments, run in parallel on
+ * a fork-join pool. The enrollment columns split into contiguous slot
+ * ranges of about equal size (EnrollmentColumns.splitSlots), one per
+ * worker; each task scans its range into its own per-course arrays and
+ * the partial arrays are added together at the end, so tasks share
+ * nothing while they run. Per-course totals are then grouped by
+ * instructor or major, which costs O(courses) or O(students).
+ * A query holds the university's lock for its duration, so it sees one
+ * consistent state and changes wait until it is done.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentAnalytics {
+
+    /** Buckets of a grade distribution: 0-9.9, 10-19.9, ..., 80-89.9 and 90-100. */
+    public static final int DISTRIBUTION_BUCKETS = 10;
+
+    private static final int[] BUCKET_OF_GRADE = new int[GradingScale.MAX_GRADE_TENTHS + 1];
+
+    static {
+        for (int tenths = 0; tenths < BUCKET_OF_GRADE.length; tenths++) {
+            BUCKET_OF_GRADE[tenths] = Math.min(tenths / 100, DISTRIBUTION_BUCKETS - 1);
+        }
+    }
+
+    private final University university;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates analytics over a university on the common fork-join pool.
+     *
+     * @param university University to query
+     */
+    public EnrollmentAnalytics(University university) {
+        this(university, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates analytics over a university.
+     *
+     * @param university University to query
+     * @param pool Pool that runs the scan tasks
+     */
+    public EnrollmentAnalytics(University university, ForkJoinPool pool) {
+        this.university = university;
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Computes the average grade of each course over its graded enrollments.
+     *
+     * @return Average grade percentage by course code, sorted by code;
+     *         courses without graded enrollments are left out
+     */
+    public Map<String, Double> averageGradeByCourse() {
+        return university.query(() -> {
+            EnrollmentColumns columns = university.enrollmentColumns();
+            int courses = university.courseIdCount();
+            long[] sums = new long[courses];
+            int[] graded = new int[courses];
+            for (CourseTotals partial : sweep(columns, (from, to) -> {
+                CourseTotals totals = new CourseTotals(courses);
+                columns.sumGrades(totals.gradeTenths, totals.graded, from, to);
+                return totals;
+            })) {
+                for (int c = 0; c < courses; c++) {
+                    sums[c] += partial.gradeTenths[c];
+                    graded[c] += partial.graded[c];
+                }
+            }
+
+            Map<String, Double> averages = new TreeMap<>();
+            for (int c = 0; c < courses; c++) {
+                Course course = university.courseById(c);
+                if (course != null && graded[c] > 0) {
+                    averages.put(course.getCode(), sums[c] / (10.0 * graded[c]));
+                }
+            }
+            return averages;
+        });
+    }
+
+    /**
+     * Counts the graded enrollments of each instructor's courses by grade
+     * bucket (see DISTRIBUTION_BUCKETS).
+     *
+     * @return Counts by bucket, by instructor, sorted by instructor;
+     *         instructors without graded enrollments are left out
+     */
+    public Map<String, long[]> gradeDistributionByInstructor() {
+        return university.query(() -> {
+            EnrollmentColumns columns = university.enrollmentColumns();
+            int cells = university.courseIdCount() * DISTRIBUTION_BUCKETS;
+            long[] counts = new long[cells];
+            for (long[] partial : sweep(columns, (from, to) -> {
+                long[] partialCounts = new long[cells];
+                columns.countGrades(BUCKET_OF_GRADE, DISTRIBUTION_BUCKETS, partialCounts, from, to);
+                return partialCounts;
+            })) {
+                for (int i = 0; i < cells; i++) {
+                    counts[i] += partial[i];
+                }
+            }
+
+            Map<String, long[]> byInstructor = new TreeMap<>();
+            for (int c = 0; c * DISTRIBUTION_BUCKETS < cells; c++) {
+                Course course = university.courseById(c);
+                if (course == null) {
+                    continue;
+                }
+                long[] distribution = null;
+                for (int bucket = 0; bucket < DISTRIBUTION_BUCKETS; bucket++) {
+                    long count = counts[c * DISTRIBUTION_BUCKETS + bucket];
+                    if (count > 0) {
+                        if (distribution == null) {
+                            distribution = byInstructor.computeIfAbsent(course.getInstructor(),
+                                    instructor -> new long[DISTRIBUTION_BUCKETS]);
+                        }
+                        distribution[bucket] += count;
+                    }
+                }
+            }
+            return byInstructor;
+        });
+    }
+
+    /**
+     * Computes the average GPA of each major over its students with
+     * graded credits, from a parallel GPA sweep (University.computeAllGpas).
+     *
+     * @return Average GPA by major, sorted by major; majors without
+     *         graded students are left out
+     */
+    public Map<String, Double> gpaByMajor() {
+        return university.query(() -> {
+            GpaTable gpas = university.computeAllGpas(pool);
+            Map<String, double[]> totals = new HashMap<>();
+            for (int i = 0; i < gpas.size(); i++) {
+                if (gpas.getCredits(i) > 0) {
+                    String major = university.getStudent(gpas.getStudentId(i)).getMajor();
+                    double[] total = totals.computeIfAbsent(major, m -> new double[2]);
+                    total[0] += gpas.getGpa(i);
+                    total[1]++;
+                }
+            }
+            Map<String, Double> averages = new TreeMap<>();
+            totals.forEach((major, total) -> averages.put(major, total[0] / total[1]));
+            return averages;
+        });
+    }
+
+    /**
+     * Runs a scan over each slot range of the columns on the pool and
+     * returns the partial results in range order.
+     */
+    private <T> List<T> sweep(EnrollmentColumns columns, BiFunction<Integer, Integer, T> scan) {
+        int[] bounds = columns.splitSlots(pool.getParallelism(), University.MIN_SWEEP_SLOTS);
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            int from = bounds[i];
+            int to = bounds[i + 1];
+            tasks.add(pool.submit(() -> scan.apply(from, to)));
+        }
+        List<T> partials = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<T> task : tasks) {
+            partials.add(task.join());
+        }
+        return partials;
+    }
+
+    /**
+     * Sums of grades (in tenths of a percent) and counts of graded
+     * enrollments by course index, for one slot range.
+     */
+    private static final class CourseTotals {
+        private final long[] gradeTenths;
+        private final int[] graded;
+
+        private CourseTotals(int courses) {
+            this.gradeTenths = new long[courses];
+            this.graded = new int[courses];
+        }
+    }
+}
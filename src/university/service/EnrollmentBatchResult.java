@@ -0,0 +1,100 @@
+package university.service;
+
+import university.model.Enrollment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch enrollment (University.enrollAll).
+ * Holds the number of applied enrollments and one Failure per rejected request.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentBatchResult {
+    private final List<Failure> failures;
+    private int enrolledCount;
+
+    EnrollmentBatchResult() {
+        this.failures = new ArrayList<>();
+    }
+
+    // Getters
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Checks if every request in the batch was applied.
+     * @return true if there are no failures
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    void addEnrolled(int count) {
+        enrolledCount += count;
+    }
+
+    void addFailure(int index, Enrollment request, String reason) {
+        failures.add(new Failure(index, request, reason));
+    }
+
+    /**
+     * Sorts failures by their position in the request collection.
+     */
+    void sortFailures() {
+        failures.sort((a, b) -> Integer.compare(a.index, b.index));
+    }
+
+    /**
+     * Returns a summary such as "Enrolled 10, failed 2".
+     */
+    @Override
+    public String toString() {
+        return String.format("Enrolled %d, failed %d", enrolledCount, failures.size());
+    }
+
+    /**
+     * A rejected request: its position in the batch, the request itself
+     * and the reason it was rejected.
+     */
+    public static final class Failure {
+        private final int index;
+        private final Enrollment request;
+        private final String reason;
+
+        Failure(int index, Enrollment request, String reason) {
+            this.index = index;
+            this.request = request;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Enrollment getRequest() {
+            return request;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            if (request == null) {
+                return String.format("#%d: %s", index, reason);
+            }
+            return String.format("#%d %d,%s: %s", index, request.getStudentId(), request.getCourseCode(), reason);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package university.service;
+
+import university.model.Enrollment;
+import university.util.GradingScale;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Columnar (struct-of-arrays) store of enrollment records.
+ * A record lives in a slot: the same index into three parallel arrays
+ * holding the student index, the course index and the grade in tenths of
+ * a percent (NO_GRADE if ungraded), 10 bytes per record with no object
+ * headers or references. Scans such as GPA totals and course averages
+ * are plain loops over the arrays.
+ * The indexes are whatever dense numbering the owner uses (University
+ * numbers students in order of first appearance and uses its CourseCodes
+ * ID for courses), so per-student and per-course results fit in arrays.
+ * Slots keep their index until the record is removed; a removed slot is
+ * marked free (student index -1) and reused by a later add. The arrays
+ * double when full, up to the largest array length; adding past it
+ * throws IllegalStateException.
+ * With OFF_HEAP storage the records are instead fixed-width 10-byte rows
+ * (int student index, int course index, short grade) in a direct
+ * ByteBuffer outside the Java heap, so the garbage collector never scans
+ * or copies them. The buffer also doubles when full, up to the 2 GB of
+ * one buffer (Integer.MAX_VALUE / 10 records); the old one is released
+ * when it is collected. Direct memory is limited by
+ * -XX:MaxDirectMemorySize (by default the maximum heap size).
+ * Not thread-safe; University uses it under its instance lock.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentColumns {
+    /** Grade of an ungraded record. */
+    public static final short NO_GRADE = (short) Enrollment.NO_GRADE;
+
+    /**
+     * Where the records are kept.
+     */
+    public enum Storage {
+        /** Primitive arrays on the Java heap. */
+        HEAP,
+        /** Fixed-width rows in a direct ByteBuffer. */
+        OFF_HEAP
+    }
+
+    private static final int FREE = -1;
+    private static final int RECORD_BYTES = 10;
+    /** Largest array length the JVMs in use allocate. */
+    private static final int MAX_HEAP_RECORDS = Integer.MAX_VALUE - 8;
+    private static final int MAX_OFF_HEAP_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+
+    private final Storage storage;
+    private int[] studentIdx;
+    private int[] courseIdx;
+    private short[] grade;
+    private ByteBuffer records;
+    private int capacity;
+    private int end;
+    private int size;
+    private int[] freeSlots;
+    private int freeCount;
+
+    /**
+     * Creates an empty heap store with room for 16 records.
+     */
+    public EnrollmentColumns() {
+        this(Storage.HEAP, 16);
+    }
+
+    /**
+     * Creates an empty heap store.
+     *
+     * @param initialCapacity Records to allocate room for
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public EnrollmentColumns(int initialCapacity) {
+        this(Storage.HEAP, initialCapacity);
+    }
+
+    /**
+     * Creates an empty store.
+     *
+     * @param storage Where to keep the records
+     * @param initialCapacity Records to allocate room for
+     * @throws IllegalArgumentException if initialCapacity is negative, or too
+     *         large for one array (HEAP) or one direct buffer (OFF_HEAP)
+     */
+    public EnrollmentColumns(Storage storage, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        if (initialCapacity > maxCapacity(storage)) {
+            throw new IllegalArgumentException(storage + " capacity is at most " + maxCapacity(storage) + " records");
+        }
+        this.storage = storage;
+        this.freeSlots = new int[16];
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Adds a record, reusing a free slot if there is one.
+     *
+     * @param studentIndex Student index (0 or more)
+     * @param courseIndex Course index (0 or more)
+     * @param gradeTenths Grade in tenths of a percent (0-1000), or NO_GRADE
+     * @return Slot of the record
+     * @throws IllegalArgumentException if an index or the grade is out of range
+     * @throws IllegalStateException if the store is full (see grow)
+     */
+    public int add(int studentIndex, int courseIndex, int gradeTenths) {
+        if (studentIndex < 0 || courseIndex < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        checkGrade(gradeTenths);
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (end == capacity) {
+                grow();
+            }
+            slot = end++;
+        }
+        if (records != null) {
+            int at = slot * RECORD_BYTES;
+            records.putInt(at, studentIndex);
+            records.putInt(at + 4, courseIndex);
+            records.putShort(at + 8, (short) gradeTenths);
+        } else {
+            studentIdx[slot] = studentIndex;
+            courseIdx[slot] = courseIndex;
+            grade[slot] = (short) gradeTenths;
+        }
+        size++;
+        return slot;
+    }
+
+    /**
+     * Frees the slot of a record.
+     *
+     * @param slot Slot of a record
+     * @throws IllegalArgumentException if the slot holds no record
+     */
+    public void remove(int slot) {
+        checkSlot(slot);
+        if (records != null) {
+            records.putInt(slot * RECORD_BYTES, FREE);
+        } else {
+            studentIdx[slot] = FREE;
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Replaces the grade of a record.
+     *
+     * @param slot Slot of a record
+     * @param gradeTenths Grade in tenths of a percent (0-1000), or NO_GRADE
+     * @throws IllegalArgumentException if the slot holds no record or the grade is out of range
+     */
+    public void setGrade(int slot, int gradeTenths) {
+        checkSlot(slot);
+        checkGrade(gradeTenths);
+        if (records != null) {
+            records.putShort(slot * RECORD_BYTES + 8, (short) gradeTenths);
+        } else {
+            grade[slot] = (short) gradeTenths;
+        }
+    }
+
+    public int getStudentIndex(int slot) {
+        checkSlot(slot);
+        return studentAt(slot);
+    }
+
+    public int getCourseIndex(int slot) {
+        checkSlot(slot);
+        return records != null ? records.getInt(slot * RECORD_BYTES + 4) : courseIdx[slot];
+    }
+
+    public int getGradeTenths(int slot) {
+        checkSlot(slot);
+        return records != null ? records.getShort(slot * RECORD_BYTES + 8) : grade[slot];
+    }
+
+    /**
+     * Gets whether a slot holds a record.
+     *
+     * @param slot Slot index
+     * @return true if the slot is in use
+     */
+    public boolean isUsed(int slot) {
+        return slot >= 0 && slot < end && studentAt(slot) != FREE;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Gets the direct memory reserved for records.
+     *
+     * @return Bytes outside the heap, 0 with HEAP storage
+     */
+    public long getOffHeapBytes() {
+        return records != null ? records.capacity() : 0;
+    }
+
+    /**
+     * Gets the number of records.
+     *
+     * @return Record count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets one past the highest slot ever used; every record's slot is
+     * below it.
+     *
+     * @return Slot bound
+     */
+    public int slotLimit() {
+        return end;
+    }
+
+    /**
+     * Splits the slots below slotLimit() into contiguous ranges of about
+     * equal size for a parallel scan: as many as maxRanges, but none
+     * smaller than minSlots (except a single range). Range i is
+     * bounds[i] (inclusive) to bounds[i + 1] (exclusive).
+     *
+     * @param maxRanges Largest number of ranges (1 or more)
+     * @param minSlots Smallest range size (1 or more)
+     * @return Range bounds, starting at 0 and ending at slotLimit()
+     * @throws IllegalArgumentException if maxRanges or minSlots is less than 1
+     */
+    public int[] splitSlots(int maxRanges, int minSlots) {
+        if (maxRanges < 1 || minSlots < 1) {
+            throw new IllegalArgumentException("Ranges and range size must be at least 1");
+        }
+        int ranges = Math.max(1, Math.min(maxRanges, end / minSlots));
+        int[] bounds = new int[ranges + 1];
+        for (int i = 1; i <= ranges; i++) {
+            bounds[i] = (int) ((long) end * i / ranges);
+        }
+        return bounds;
+    }
+
+    /**
+     * Removes all records, keeping the allocated capacity.
+     */
+    public void clear() {
+        end = 0;
+        size = 0;
+        freeCount = 0;
+    }
+
+    // ==================== SCANS ====================
+
+    /**
+     * Adds every graded record's grade points × credits (in tenths of a
+     * grade point) and credits to its student's totals, on the default
+     * 4.0 scale. Records of a course with no entry in creditsByCourse, or
+     * 0 credits, are skipped.
+     *
+     * @param creditsByCourse Credit hours by course index
+     * @param qualityPointTenths Added to, by student index
+     * @param credits Added to, by student index
+     * @throws ArrayIndexOutOfBoundsException if a total array is shorter than a student index
+     */
+    public void sumGradePoints(int[] creditsByCourse, long[] qualityPointTenths, int[] credits) {
+        sumGradePoints(GradingScale.DEFAULT, creditsByCourse, qualityPointTenths, credits);
+    }
+
+    /**
+     * Adds every graded record's grade points × credits (in tenths of a
+     * grade point) and credits to its student's totals. Records of a
+     * course with no entry in creditsByCourse, or 0 credits, are skipped.
+     *
+     * @param scale Grading scale giving the grade points
+     * @param creditsByCourse Credit hours by course index
+     * @param qualityPointTenths Added to, by student index
+     * @param credits Added to, by student index
+     * @throws ArrayIndexOutOfBoundsException if a total array is shorter than a student index
+     */
+    public void sumGradePoints(GradingScale scale, int[] creditsByCourse, long[] qualityPointTenths,
+                               int[] credits) {
+        sumGradePoints(scale, creditsByCourse, qualityPointTenths, credits, 0, end);
+    }
+
+    /**
+     * Like sumGradePoints, over the records in slots fromSlot (inclusive)
+     * to toSlot (exclusive) only. Calls on disjoint ranges with their own
+     * total arrays may run in parallel while no record is changed.
+     *
+     * @param scale Grading scale giving the grade points
+     * @param creditsByCourse Credit hours by course index
+     * @param qualityPointTenths Added to, by student index
+     * @param credits Added to, by student index
+     * @param fromSlot First slot
+     * @param toSlot Slot after the last
+     * @throws IndexOutOfBoundsException if the range is not within 0 to slotLimit()
+     */
+    public void sumGradePoints(GradingScale scale, int[] creditsByCourse, long[] qualityPointTenths,
+                               int[] credits, int fromSlot, int toSlot) {
+        checkRange(fromSlot, toSlot);
+        if (records != null) {
+            ByteBuffer rows = records;
+            for (int at = fromSlot * RECORD_BYTES, limit = toSlot * RECORD_BYTES; at < limit; at += RECORD_BYTES) {
+                int s = rows.getInt(at);
+                int c = rows.getInt(at + 4);
+                int g = rows.getShort(at + 8);
+                if (s == FREE || g == NO_GRADE || c >= creditsByCourse.length) {
+                    continue;
+                }
+                int courseCredits = creditsByCourse[c];
+                qualityPointTenths[s] += (long) scale.gradePointTenths(g) * courseCredits;
+                credits[s] += courseCredits;
+            }
+            return;
+        }
+        int[] students = studentIdx;
+        int[] courses = courseIdx;
+        short[] grades = grade;
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            int s = students[slot];
+            int g = grades[slot];
+            int c = courses[slot];
+            if (s == FREE || g == NO_GRADE || c >= creditsByCourse.length) {
+                continue;
+            }
+            int courseCredits = creditsByCourse[c];
+            qualityPointTenths[s] += (long) scale.gradePointTenths(g) * courseCredits;
+            credits[s] += courseCredits;
+        }
+    }
+
+    /**
+     * Adds every graded record's grade (in tenths of a percent) and a
+     * count of one to its course's totals.
+     *
+     * @param gradeTenths Added to, by course index
+     * @param graded Added to, by course index
+     * @throws ArrayIndexOutOfBoundsException if an array is shorter than a course index
+     */
+    public void sumGrades(long[] gradeTenths, int[] graded) {
+        sumGrades(gradeTenths, graded, 0, end);
+    }
+
+    /**
+     * Like sumGrades, over the records in slots fromSlot (inclusive) to
+     * toSlot (exclusive) only. Calls on disjoint ranges with their own
+     * total arrays may run in parallel while no record is changed.
+     *
+     * @param gradeTenths Added to, by course index
+     * @param graded Added to, by course index
+     * @param fromSlot First slot
+     * @param toSlot Slot after the last
+     * @throws IndexOutOfBoundsException if the range is not within 0 to slotLimit()
+     */
+    public void sumGrades(long[] gradeTenths, int[] graded, int fromSlot, int toSlot) {
+        checkRange(fromSlot, toSlot);
+        if (records != null) {
+            ByteBuffer rows = records;
+            for (int at = fromSlot * RECORD_BYTES, limit = toSlot * RECORD_BYTES; at < limit; at += RECORD_BYTES) {
+                int g = rows.getShort(at + 8);
+                if (rows.getInt(at) == FREE || g == NO_GRADE) {
+                    continue;
+                }
+                int c = rows.getInt(at + 4);
+                gradeTenths[c] += g;
+                graded[c]++;
+            }
+            return;
+        }
+        int[] students = studentIdx;
+        int[] courses = courseIdx;
+        short[] grades = grade;
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            int g = grades[slot];
+            if (students[slot] == FREE || g == NO_GRADE) {
+                continue;
+            }
+            int c = courses[slot];
+            gradeTenths[c] += g;
+            graded[c]++;
+        }
+    }
+
+    /**
+     * Counts the graded records in slots fromSlot (inclusive) to toSlot
+     * (exclusive) by course and grade bucket: the record of course c with
+     * grade g adds one to counts[c * buckets + bucketOfGrade[g]]. Calls on
+     * disjoint ranges with their own count arrays may run in parallel
+     * while no record is changed.
+     *
+     * @param bucketOfGrade Bucket (0 to buckets - 1) by grade in tenths of a percent (1001 entries)
+     * @param buckets Number of buckets per course
+     * @param counts Added to, by course index × buckets + bucket
+     * @param fromSlot First slot
+     * @param toSlot Slot after the last
+     * @throws IndexOutOfBoundsException if the range is not within 0 to slotLimit()
+     * @throws ArrayIndexOutOfBoundsException if counts is too short for a course index
+     */
+    public void countGrades(int[] bucketOfGrade, int buckets, long[] counts, int fromSlot, int toSlot) {
+        checkRange(fromSlot, toSlot);
+        if (records != null) {
+            ByteBuffer rows = records;
+            for (int at = fromSlot * RECORD_BYTES, limit = toSlot * RECORD_BYTES; at < limit; at += RECORD_BYTES) {
+                int g = rows.getShort(at + 8);
+                if (rows.getInt(at) == FREE || g == NO_GRADE) {
+                    continue;
+                }
+                counts[rows.getInt(at + 4) * buckets + bucketOfGrade[g]]++;
+            }
+            return;
+        }
+        int[] students = studentIdx;
+        int[] courses = courseIdx;
+        short[] grades = grade;
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            int g = grades[slot];
+            if (students[slot] == FREE || g == NO_GRADE) {
+                continue;
+            }
+            counts[courses[slot] * buckets + bucketOfGrade[g]]++;
+        }
+    }
+
+    private int studentAt(int slot) {
+        return records != null ? records.getInt(slot * RECORD_BYTES) : studentIdx[slot];
+    }
+
+    /**
+     * Doubles the capacity, copying the records in use. The doubling is
+     * capped at the largest array (HEAP) or direct buffer (OFF_HEAP), so
+     * it never overflows; a store already at that size is full.
+     */
+    private void grow() {
+        int max = maxCapacity(storage);
+        if (capacity >= max) {
+            throw new IllegalStateException(storage + " enrollment store is full (" + capacity + " records)");
+        }
+        int newCapacity = (int) Math.min((long) capacity * 2, max);
+        if (storage == Storage.OFF_HEAP) {
+            ByteBuffer used = records.duplicate();
+            used.limit(end * RECORD_BYTES);
+            used.position(0);
+            allocate(newCapacity);
+            records.put(used);
+        } else {
+            capacity = newCapacity;
+            studentIdx = Arrays.copyOf(studentIdx, capacity);
+            courseIdx = Arrays.copyOf(courseIdx, capacity);
+            grade = Arrays.copyOf(grade, capacity);
+        }
+    }
+
+    /**
+     * @return Most records one store of the given storage can hold
+     */
+    private static int maxCapacity(Storage storage) {
+        return storage == Storage.OFF_HEAP ? MAX_OFF_HEAP_RECORDS : MAX_HEAP_RECORDS;
+    }
+
+    /**
+     * Allocates empty storage (replacing any off-heap buffer) for the given capacity.
+     */
+    private void allocate(int newCapacity) {
+        if (storage == Storage.OFF_HEAP && (long) newCapacity * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap capacity " + newCapacity + " exceeds one direct buffer");
+        }
+        capacity = newCapacity;
+        if (storage == Storage.OFF_HEAP) {
+            records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        } else {
+            studentIdx = new int[capacity];
+            courseIdx = new int[capacity];
+            grade = new short[capacity];
+        }
+    }
+
+    private void checkSlot(int slot) {
+        if (!isUsed(slot)) {
+            throw new IllegalArgumentException("No record in slot " + slot);
+        }
+    }
+
+    private void checkRange(int fromSlot, int toSlot) {
+        if (fromSlot < 0 || fromSlot > toSlot || toSlot > end) {
+            throw new IndexOutOfBoundsException("Slots " + fromSlot + " to " + toSlot + ", limit " + end);
+        }
+    }
+
+    private static void checkGrade(int gradeTenths) {
+        if (gradeTenths != NO_GRADE && (gradeTenths < 0 || gradeTenths > GradingScale.MAX_GRADE_TENTHS)) {
+            throw new IllegalArgumentException("Grade must be between 0 and 1000 tenths");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package university.service;
+
+import university.model.Enrollment;
+
+/**
+ * Flyweight, read-only view of one enrollment record in a University's
+ * EnrollmentColumns. University.forEachEnrollment moves a single view from
+ * record to record, so reading all enrollments creates no object per
+ * record; this matters most with OFF_HEAP storage, where the records are
+ * not Java objects at all. A view is only valid inside the callback it
+ * was passed to; use toEnrollment to keep a record.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentView {
+    private final EnrollmentColumns columns;
+    private final CourseCodes courseCodes;
+    private int slot;
+    private int studentId;
+
+    EnrollmentView(EnrollmentColumns columns, CourseCodes courseCodes) {
+        this.columns = columns;
+        this.courseCodes = courseCodes;
+    }
+
+    /**
+     * Points the view at another record.
+     */
+    void moveTo(int slot, int studentId) {
+        this.slot = slot;
+        this.studentId = studentId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * @return ID of the course within the university (see EnrollmentColumns)
+     */
+    public int getCourseId() {
+        return columns.getCourseIndex(slot);
+    }
+
+    public String getCourseCode() {
+        return courseCodes.code(columns.getCourseIndex(slot));
+    }
+
+    /**
+     * @return Grade in tenths of a percent (0-1000), or Enrollment.NO_GRADE if not graded
+     */
+    public int getGradeTenths() {
+        return columns.getGradeTenths(slot);
+    }
+
+    public boolean isGraded() {
+        return columns.getGradeTenths(slot) != Enrollment.NO_GRADE;
+    }
+
+    /**
+     * Copies the current record into a new Enrollment.
+     *
+     * @return Enrollment with the record's values
+     */
+    public Enrollment toEnrollment() {
+        Enrollment enrollment = new Enrollment(studentId, getCourseCode());
+        int gradeTenths = getGradeTenths();
+        if (gradeTenths != Enrollment.NO_GRADE) {
+            enrollment.setGradePercent(gradeTenths / 10.0);
+        }
+        return enrollment;
+    }
+
+    @Override
+    public String toString() {
+        return toEnrollment().toString();
+    }
+}
@@ -0,0 +1,234 @@
+package university.service;
+
+import java.util.Arrays;
+
+/**
+ * Order-statistics tree of the students of one major, ordered by GPA
+ * (highest first) and then by student ID, used by GpaRanking. It is a
+ * treap - a binary search tree kept balanced by random node priorities -
+ * whose nodes also hold the size of their subtree, so inserting,
+ * removing and counting the students above or below a GPA take
+ * O(log n) expected time, and the first k students are read in
+ * O(log n + k). Nodes live in parallel primitive arrays and are
+ * referred to by index; removed nodes are reused.
+ * Not thread-safe; GpaRanking uses it under the university's lock.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class GpaRankTree {
+    static final int NIL = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+    private int[] studentIds;
+    private double[] gpas;
+    private int root = NIL;
+    private int allocated;
+    private int freeHead = NIL;
+    private int seed = 0x2545F491;
+    private int splitLeft;
+    private int splitRight;
+
+    GpaRankTree() {
+        left = new int[16];
+        right = new int[16];
+        size = new int[16];
+        priority = new int[16];
+        studentIds = new int[16];
+        gpas = new double[16];
+    }
+
+    /**
+     * Adds a student.
+     * @return Node of the student, for remove
+     */
+    int insert(int studentId, double gpa) {
+        int node = allocate();
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        priority[node] = nextPriority();
+        studentIds[node] = studentId;
+        gpas[node] = gpa;
+        split(root, node);
+        int before = splitLeft;
+        int after = splitRight;
+        root = merge(merge(before, node), after);
+        return node;
+    }
+
+    /**
+     * Removes the student of a node returned by insert.
+     */
+    void remove(int node) {
+        root = delete(root, node);
+        left[node] = freeHead;
+        freeHead = node;
+    }
+
+    int size() {
+        return root == NIL ? 0 : size[root];
+    }
+
+    /**
+     * @return Number of students with a GPA above the given one
+     */
+    int countAbove(double gpa) {
+        int count = 0;
+        for (int t = root; t != NIL; ) {
+            if (gpas[t] > gpa) {
+                count += sizeOf(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of students with a GPA below the given one
+     */
+    int countBelow(double gpa) {
+        int atLeast = 0;
+        for (int t = root; t != NIL; ) {
+            if (gpas[t] >= gpa) {
+                atLeast += sizeOf(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return size() - atLeast;
+    }
+
+    /**
+     * Gets the first nodes in order, by an in-order walk that stops after k.
+     * @return Up to k nodes, highest GPA first
+     */
+    int[] first(int k) {
+        int[] nodes = new int[Math.min(k, size())];
+        IntList path = new IntList();
+        int count = 0;
+        int t = root;
+        while (count < nodes.length) {
+            while (t != NIL) {
+                path.add(t);
+                t = left[t];
+            }
+            t = path.get(path.size() - 1);
+            path.removeAt(path.size() - 1);
+            nodes[count++] = t;
+            t = right[t];
+        }
+        return nodes;
+    }
+
+    int studentIdAt(int node) {
+        return studentIds[node];
+    }
+
+    double gpaAt(int node) {
+        return gpas[node];
+    }
+
+    /**
+     * Whether node a comes before node b: higher GPA, or the same GPA and a lower ID.
+     */
+    private boolean before(int a, int b) {
+        return gpas[a] > gpas[b] || gpas[a] == gpas[b] && studentIds[a] < studentIds[b];
+    }
+
+    /**
+     * Splits subtree t into the nodes before key (splitLeft) and the rest (splitRight).
+     */
+    private void split(int t, int key) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (before(t, key)) {
+            split(right[t], key);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], key);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    /**
+     * Joins two subtrees where every node of a comes before every node of b.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int delete(int t, int node) {
+        if (t == node) {
+            return merge(left[t], right[t]);
+        }
+        if (before(node, t)) {
+            left[t] = delete(left[t], node);
+        } else {
+            right[t] = delete(right[t], node);
+        }
+        update(t);
+        return t;
+    }
+
+    private void update(int t) {
+        size[t] = sizeOf(left[t]) + sizeOf(right[t]) + 1;
+    }
+
+    private int sizeOf(int t) {
+        return t == NIL ? 0 : size[t];
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = left[node];
+            return node;
+        }
+        if (allocated == left.length) {
+            int capacity = allocated * 2;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            size = Arrays.copyOf(size, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            gpas = Arrays.copyOf(gpas, capacity);
+        }
+        return allocated++;
+    }
+
+    /**
+     * Xorshift random numbers; the same sequence every run, so tree shapes are reproducible.
+     */
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -0,0 +1,230 @@
+package university.service;
+
+import university.model.Student;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Class rank and top-K lists of students by GPA within each major, kept
+ * up to date as grades and majors change. Each major has an
+ * order-statistics tree (GpaRankTree) of its students with graded
+ * credits; the University reports every change to a student's GPA
+ * totals or major (Student.setMajor), and the student's node is moved,
+ * in O(log n). So the top k of a major take O(log n + k) and a
+ * student's rank or percentile O(log n), with no GPA computed and
+ * nothing sorted per query.
+ * Students tie on an equal GPA: they share a rank, and the next rank is
+ * skipped (1, 2, 2, 4). Top lists order tied students by ID.
+ * Queries and updates run under the university's lock.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class GpaRanking {
+    private final University university;
+    private final Map<String, GpaRankTree> majors;
+    private final IntObjectHashMap<Ranked> students;
+
+    /**
+     * Creates a ranking of a university's students, filled from its
+     * current GPAs and updated with every later change.
+     *
+     * @param university University to rank
+     */
+    public GpaRanking(University university) {
+        this.university = university;
+        this.majors = new HashMap<>();
+        this.students = new IntObjectHashMap<>();
+        university.addRanking(this);
+    }
+
+    /**
+     * Gets the students with the highest GPAs in a major.
+     *
+     * @param major Major, as stored in the students
+     * @param k Maximum number of students
+     * @return Up to k entries, highest GPA first; empty for a major without ranked students
+     * @throws IllegalArgumentException if k is negative
+     */
+    public List<Entry> getTop(String major, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        return university.query(() -> {
+            List<Entry> top = new ArrayList<>();
+            GpaRankTree tree = majors.get(major);
+            if (tree == null) {
+                return top;
+            }
+            int rank = 0;
+            double previous = Double.NaN;
+            int[] nodes = tree.first(k);
+            for (int i = 0; i < nodes.length; i++) {
+                double gpa = tree.gpaAt(nodes[i]);
+                if (gpa != previous) {
+                    rank = i + 1;
+                    previous = gpa;
+                }
+                top.add(new Entry(tree.studentIdAt(nodes[i]), gpa, rank));
+            }
+            return top;
+        });
+    }
+
+    /**
+     * Gets a student's rank in their major: 1 plus the number of students
+     * of the major with a higher GPA.
+     *
+     * @param studentId Student ID
+     * @return Rank, 1 for the highest GPA
+     * @throws IllegalArgumentException if the student is not ranked (unknown or without graded credits)
+     */
+    public int getRank(int studentId) {
+        return university.query(() -> {
+            Ranked ranked = ranked(studentId);
+            return ranked.tree.countAbove(ranked.gpa) + 1;
+        });
+    }
+
+    /**
+     * Gets the percentage of the other students of a student's major who
+     * have a lower GPA.
+     *
+     * @param studentId Student ID
+     * @return Percentile from 0 to 100; 100 if the student is the only one ranked
+     * @throws IllegalArgumentException if the student is not ranked (unknown or without graded credits)
+     */
+    public double getPercentile(int studentId) {
+        return university.query(() -> {
+            Ranked ranked = ranked(studentId);
+            int others = ranked.tree.size() - 1;
+            return others == 0 ? 100.0 : 100.0 * ranked.tree.countBelow(ranked.gpa) / others;
+        });
+    }
+
+    /**
+     * @param major Major, as stored in the students
+     * @return Number of ranked students in the major
+     */
+    public int getRankedCount(String major) {
+        return university.query(() -> {
+            GpaRankTree tree = majors.get(major);
+            return tree == null ? 0 : tree.size();
+        });
+    }
+
+    /**
+     * @return Majors with ranked students, sorted
+     */
+    public List<String> getMajors() {
+        return university.query(() -> {
+            TreeSet<String> names = new TreeSet<>();
+            majors.forEach((major, tree) -> {
+                if (tree.size() > 0) {
+                    names.add(major);
+                }
+            });
+            return new ArrayList<>(names);
+        });
+    }
+
+    /**
+     * Stops updating this ranking; its lists keep the state at this point.
+     */
+    public void close() {
+        university.removeRanking(this);
+    }
+
+    /**
+     * Moves a student to the position of their current GPA totals and
+     * major, or out of the ranking if they have no graded credits or no
+     * Student. Called by the University under its lock.
+     */
+    void update(int studentId, Student student, long qualityPointTenths, int credits) {
+        Ranked ranked = students.get(studentId);
+        boolean rankable = student != null && credits > 0;
+        double gpa = rankable ? qualityPointTenths / (10.0 * credits) : 0.0;
+        if (ranked != null && ranked.node != GpaRankTree.NIL) {
+            if (rankable && ranked.gpa == gpa && ranked.major.equals(student.getMajor())) {
+                return;
+            }
+            ranked.tree.remove(ranked.node);
+            ranked.node = GpaRankTree.NIL;
+        }
+        if (!rankable) {
+            return;
+        }
+        if (ranked == null) {
+            ranked = new Ranked();
+            students.put(studentId, ranked);
+        }
+        ranked.major = student.getMajor();
+        ranked.tree = majors.computeIfAbsent(ranked.major, major -> new GpaRankTree());
+        ranked.gpa = gpa;
+        ranked.node = ranked.tree.insert(studentId, gpa);
+    }
+
+    /**
+     * Empties the ranking. Called by the University under its lock.
+     */
+    void clear() {
+        majors.clear();
+        students.clear();
+    }
+
+    private Ranked ranked(int studentId) {
+        Ranked ranked = students.get(studentId);
+        if (ranked == null || ranked.node == GpaRankTree.NIL) {
+            throw new IllegalArgumentException("Student not ranked: " + studentId);
+        }
+        return ranked;
+    }
+
+    /**
+     * A student's place in the ranking: major, tree, GPA and node (NIL if
+     * not ranked).
+     */
+    private static final class Ranked {
+        private String major;
+        private GpaRankTree tree;
+        private double gpa;
+        private int node = GpaRankTree.NIL;
+    }
+
+    /**
+     * One student of a top list.
+     */
+    public static final class Entry {
+        private final int studentId;
+        private final double gpa;
+        private final int rank;
+
+        private Entry(int studentId, double gpa, int rank) {
+            this.studentId = studentId;
+            this.gpa = gpa;
+            this.rank = rank;
+        }
+
+        public int getStudentId() {
+            return studentId;
+        }
+
+        public double getGpa() {
+            return gpa;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        @Override
+        public String toString() {
+            return rank + ". " + studentId + " (" + String.format("%.2f", gpa) + ")";
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package university.service;
+
+import java.util.Arrays;
+
+/**
+ * GPAs of all students at one point in time (University.computeAllGpas).
+ * Held as three parallel arrays sorted by student ID - the ID, the GPA
+ * and the graded credits - so a table of a million students is 16 MB
+ * with no object per student; a student's row is found by binary search.
+ * Students without graded credits have a GPA of 0.0, as with
+ * University.computeGpa. Immutable.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class GpaTable {
+    private final int[] studentIds;
+    private final double[] gpas;
+    private final int[] credits;
+
+    /**
+     * Takes ownership of the arrays, which must be sorted by student ID.
+     */
+    GpaTable(int[] studentIds, double[] gpas, int[] credits) {
+        this.studentIds = studentIds;
+        this.gpas = gpas;
+        this.credits = credits;
+    }
+
+    /**
+     * @return Number of students
+     */
+    public int size() {
+        return studentIds.length;
+    }
+
+    /**
+     * @param index Row, 0 to size() - 1, in student ID order
+     * @return Student ID of the row
+     */
+    public int getStudentId(int index) {
+        return studentIds[index];
+    }
+
+    /**
+     * @param index Row, 0 to size() - 1, in student ID order
+     * @return GPA of the row
+     */
+    public double getGpa(int index) {
+        return gpas[index];
+    }
+
+    /**
+     * @param index Row, 0 to size() - 1, in student ID order
+     * @return Graded credit hours of the row
+     */
+    public int getCredits(int index) {
+        return credits[index];
+    }
+
+    /**
+     * Finds the row of a student.
+     *
+     * @param studentId Student ID
+     * @return Row index, or -1 if the student is not in the table
+     */
+    public int indexOf(int studentId) {
+        int index = Arrays.binarySearch(studentIds, studentId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Gets the GPA of a student.
+     *
+     * @param studentId Student ID
+     * @return GPA
+     * @throws IllegalArgumentException if the student is not in the table
+     */
+    public double getGpaOf(int studentId) {
+        int index = indexOf(studentId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Student not found: " + studentId);
+        }
+        return gpas[index];
+    }
+}
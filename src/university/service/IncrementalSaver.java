@@ -0,0 +1,222 @@
+package university.service;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.util.CSVExporter;
+import university.util.CSVImporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Saves a University to the three CSV files of a directory, writing only
+ * the records changed since the previous save (University.drainChanges).
+ * Changes are appended to students.delta.csv, courses.delta.csv and
+ * enrollments.delta.csv; removed enrollments become D rows there. Once
+ * the delta files grow past a fraction of the base files, they are
+ * compacted: the base files are rewritten in full and the deltas deleted.
+ * Replaying a delta is idempotent, so a crash between rewriting the base
+ * files and deleting the deltas loads the same data.
+ * A full save is also made on the first save, after clearAll, when a base
+ * file is missing, and after a failed save.
+ * Saves work from point-in-time copies (University.drainChanges and
+ * drainAll), so the university is locked only while those are taken and
+ * may keep changing while the files are written. Methods are
+ * synchronized, so an AutoSaver and explicit saves can share one saver;
+ * use one saver per directory.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class IncrementalSaver {
+    private static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+    private final Path directory;
+    private final Path studentsFile;
+    private final Path coursesFile;
+    private final Path enrollmentsFile;
+    private final Path studentsDelta;
+    private final Path coursesDelta;
+    private final Path enrollmentsDelta;
+    private final double compactionRatio;
+    private boolean fullSaveRequired;
+
+    /**
+     * Creates a saver that compacts once the deltas reach half the size
+     * of the base files.
+     * 
+     * @param directory Directory of the CSV files
+     */
+    public IncrementalSaver(Path directory) {
+        this(directory, DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * Creates a saver with the given compaction threshold.
+     * 
+     * @param directory Directory of the CSV files
+     * @param compactionRatio Delta size, as a fraction of the base size, that triggers compaction
+     * @throws IllegalArgumentException if compactionRatio is negative
+     */
+    public IncrementalSaver(Path directory, double compactionRatio) {
+        if (!(compactionRatio >= 0)) {
+            throw new IllegalArgumentException("Compaction ratio must not be negative");
+        }
+        this.directory = directory;
+        this.studentsFile = directory.resolve(CSVExporter.STUDENTS_FILE);
+        this.coursesFile = directory.resolve(CSVExporter.COURSES_FILE);
+        this.enrollmentsFile = directory.resolve(CSVExporter.ENROLLMENTS_FILE);
+        this.studentsDelta = directory.resolve("students.delta.csv");
+        this.coursesDelta = directory.resolve("courses.delta.csv");
+        this.enrollmentsDelta = directory.resolve("enrollments.delta.csv");
+        this.compactionRatio = compactionRatio;
+    }
+
+    /**
+     * Saves the changes since the previous save, or everything when a
+     * full save is needed, compacting the deltas when they grow too large.
+     * 
+     * @param university University to save
+     * @return Number of records written
+     * @throws IOException if file writing fails
+     */
+    public synchronized int save(University university) throws IOException {
+        ChangeSet changes = university.drainChanges();
+        if (changes == null || changes.isCleared() || fullSaveRequired || !baseFilesExist()) {
+            return saveFull(university);
+        }
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            CSVExporter.appendStudents(changes.getStudents(), studentsDelta);
+            CSVExporter.appendCourses(changes.getCourses(), coursesDelta);
+            CSVExporter.appendEnrollmentChanges(changes.getEnrollments(), changes.getRemovedEnrollments(),
+                    enrollmentsDelta);
+        } catch (IOException e) {
+            // The drained changes are only partly on disk
+            fullSaveRequired = true;
+            throw e;
+        }
+
+        if (size(studentsDelta) + size(coursesDelta) + size(enrollmentsDelta)
+                > compactionRatio * (size(studentsFile) + size(coursesFile) + size(enrollmentsFile))) {
+            return saveFull(university);
+        }
+        return changes.size();
+    }
+
+    /**
+     * Rewrites the base files in full, as one crash-safe generation
+     * (CSVExporter.exportAll), and deletes the delta files.
+     * 
+     * @param university University to save
+     * @return Number of records written
+     * @throws IOException if file writing fails
+     */
+    public synchronized int saveFull(University university) throws IOException {
+        fullSaveRequired = true;
+        ChangeSet all = university.drainAll();
+
+        List<Student> students = all.getStudents();
+        List<Course> courses = all.getCourses();
+        List<Enrollment> enrollments = all.getEnrollments();
+        CSVExporter.exportAll(students, courses, enrollments, directory);
+        Files.deleteIfExists(studentsDelta);
+        Files.deleteIfExists(coursesDelta);
+        Files.deleteIfExists(enrollmentsDelta);
+
+        fullSaveRequired = false;
+        return students.size() + courses.size() + enrollments.size();
+    }
+
+    /**
+     * Replaces the contents of the university with the saved data: checks
+     * the base files against their export manifest, clears the university,
+     * loads the base files in parallel, then applies the delta files.
+     * If the check fails, the university is left unchanged.
+     * Change tracking starts over, so the next save only writes what
+     * changes after the load.
+     * 
+     * @param university University to load into
+     * @return Batch result of the base enrollment merge
+     * @throws IOException if reading any file fails or a base file does not match the manifest
+     */
+    public synchronized EnrollmentBatchResult load(University university) throws IOException {
+        CSVImporter.recoverExport(directory);
+        university.clearAll();
+        EnrollmentBatchResult result = new ParallelLoader().load(university, studentsFile, coursesFile,
+                enrollmentsFile);
+
+        if (CSVImporter.fileExists(studentsDelta)) {
+            CSVImporter.importStudents(studentsDelta, student -> applyStudent(university, student));
+        }
+        if (CSVImporter.fileExists(coursesDelta)) {
+            CSVImporter.importCourses(coursesDelta, course -> applyCourse(university, course));
+        }
+        if (CSVImporter.fileExists(enrollmentsDelta)) {
+            CSVImporter.importEnrollmentChanges(enrollmentsDelta,
+                    enrollment -> applyEnrollment(university, enrollment),
+                    removed -> removeEnrollment(university, removed));
+        }
+
+        university.drainChanges();
+        fullSaveRequired = false;
+        return result;
+    }
+
+    private static void applyStudent(University university, Student student) {
+        Student existing = university.getStudent(student.getId());
+        if (existing == null) {
+            university.addStudent(student);
+        } else {
+            existing.setName(student.getName());
+            existing.setMajor(student.getMajor());
+        }
+    }
+
+    private static void applyCourse(University university, Course course) {
+        Course existing = university.getCourse(course.getCode());
+        if (existing == null) {
+            university.addCourse(course);
+        } else {
+            existing.setTitle(course.getTitle());
+            existing.setCredits(course.getCredits());
+            existing.setInstructor(course.getInstructor());
+        }
+    }
+
+    private static void applyEnrollment(University university, Enrollment enrollment) {
+        try {
+            if (university.getEnrollment(enrollment.getStudentId(), enrollment.getCourseCode()) == null) {
+                university.addEnrollment(enrollment);
+            } else if (enrollment.getGradePercent() != null) {
+                university.assignGrade(enrollment.getStudentId(), enrollment.getCourseCode(),
+                        enrollment.getGradePercent());
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Skipping enrollment change " + enrollment.getStudentId() + ","
+                    + enrollment.getCourseCode() + ": " + e.getMessage());
+        }
+    }
+
+    private static void removeEnrollment(University university, Enrollment removed) {
+        // Already gone if the delta was replayed over a compacted base
+        if (university.getEnrollment(removed.getStudentId(), removed.getCourseCode()) != null) {
+            university.removeEnrollment(removed.getStudentId(), removed.getCourseCode());
+        }
+    }
+
+    private boolean baseFilesExist() {
+        return Files.exists(studentsFile) && Files.exists(coursesFile) && Files.exists(enrollmentsFile);
+    }
+
+    private static long size(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+}
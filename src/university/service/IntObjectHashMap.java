@@ -0,0 +1,119 @@
+package university.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing hash map from int keys to objects, without boxing.
+ * University keeps its students and per-student entries in it, keyed by
+ * student ID, so a lookup costs no Integer and an entry no Node. Key 0
+ * marks an empty cell and cannot be stored (student IDs are positive).
+ * Linear probing in power-of-two tables kept at most half full. There is
+ * no single-key removal; University only ever clears the whole map.
+ * Not thread-safe.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class IntObjectHashMap<V> {
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    IntObjectHashMap() {
+        allocate(16);
+    }
+
+    /**
+     * @return Value of the key, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        for (int i = cell(key); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores a value, replacing any value of the same key.
+     * @throws IllegalArgumentException if key is 0 or value is null
+     */
+    void put(int key, V value) {
+        if (key == 0 || value == null) {
+            throw new IllegalArgumentException("Key must not be 0 and value must not be null");
+        }
+        int i = cell(key);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return New list of the values, in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int cell(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = cell(oldKeys[i]);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,128 @@
+package university.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to int values, without boxing.
+ * University uses it to find an enrollment's slot by (studentId, course
+ * ID) packed into one long. Keys must not be 0, which marks an empty
+ * cell; values must not be negative, since -1 means "absent".
+ * Linear probing in power-of-two tables kept at most half full; removal
+ * shifts later cells of the probe run back, so there are no tombstones.
+ * Not thread-safe.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class LongIntHashMap {
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap() {
+        allocate(16);
+    }
+
+    /**
+     * @return Value of the key, or -1 if absent
+     */
+    int get(long key) {
+        for (int i = cell(key); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return -1;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) >= 0;
+    }
+
+    void put(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key must not be 0");
+        }
+        int i = cell(key);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * @return Removed value, or -1 if the key was absent
+     */
+    int remove(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int i = cell(key);
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == 0) {
+                return -1;
+            }
+        }
+        int removed = values[i];
+        size--;
+
+        // Move back any later entry of the run that may no longer be
+        // reachable from its home cell
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            int home = cell(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    private int cell(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = cell(oldKeys[i]);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
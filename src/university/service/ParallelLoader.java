@@ -0,0 +1,165 @@
+package university.service;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.util.CSVImporter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Loads students, courses and enrollments CSV files in parallel.
+ * The three files are parsed concurrently; the enrollments file is also
+ * split into line-aligned byte ranges that are parsed as separate tasks
+ * on a fork-join pool, each through a memory mapping of its range.
+ * Parsed records are then merged into a University: students and
+ * courses first, then enrollments, one chunk at a time in file order,
+ * through batches that check that each student and course exists
+ * (failures are reported as warnings and skipped). At most one chunk
+ * per pool worker is parsed ahead of the chunk being applied, so the
+ * parsed enrollments held at once are bounded by the chunk size rather
+ * than the file size.
+ * Enrollment rows must not contain quoted line breaks, since ranges are
+ * cut at line breaks.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ParallelLoader {
+    private static final long DEFAULT_CHUNK_BYTES = 8L * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    private final long chunkBytes;
+
+    /**
+     * Creates a loader on the common fork-join pool with 8 MB enrollment chunks.
+     */
+    public ParallelLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates a loader with the given pool and enrollment chunk size.
+     * 
+     * @param pool Pool that runs the parse tasks
+     * @param chunkBytes Target size of an enrollments chunk in bytes (must be positive)
+     * @throws IllegalArgumentException if chunkBytes is not positive
+     */
+    public ParallelLoader(ForkJoinPool pool, long chunkBytes) {
+        if (chunkBytes <= 0 || chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Parses the files in parallel and adds their records to the university.
+     * Missing or unreadable files are skipped.
+     * 
+     * @param university University to load into
+     * @param studentsFile students.csv path
+     * @param coursesFile courses.csv path
+     * @param enrollmentsFile enrollments.csv path
+     * @return Batch result of the enrollment merge (applied count and rejected rows)
+     * @throws IOException if reading any file fails
+     */
+    public EnrollmentBatchResult load(University university, Path studentsFile, Path coursesFile,
+                                      Path enrollmentsFile) throws IOException {
+        Future<List<Student>> students = null;
+        if (CSVImporter.fileExists(studentsFile)) {
+            students = pool.submit(() -> CSVImporter.importStudents(studentsFile));
+        }
+        Future<List<Course>> courses = null;
+        if (CSVImporter.fileExists(coursesFile)) {
+            courses = pool.submit(() -> CSVImporter.importCourses(coursesFile));
+        }
+        long[] bounds = CSVImporter.fileExists(enrollmentsFile)
+                ? CSVImporter.splitAtLines(enrollmentsFile, chunkBytes) : new long[0];
+        Deque<Future<List<Enrollment>>> chunks = new ArrayDeque<>();
+        int nextChunk = 0;
+        while (nextChunk + 1 < bounds.length && chunks.size() < pool.getParallelism()) {
+            chunks.add(parseChunk(enrollmentsFile, bounds, nextChunk++));
+        }
+
+        for (Student student : await(students)) {
+            try {
+                university.addStudent(student);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: " + e.getMessage());
+            }
+        }
+        for (Course course : await(courses)) {
+            try {
+                university.addCourse(course);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: " + e.getMessage());
+            }
+        }
+
+        EnrollmentBatchResult result = new EnrollmentBatchResult();
+        int position = 0;
+        while (!chunks.isEmpty()) {
+            List<Enrollment> chunk = await(chunks.poll());
+            if (nextChunk + 1 < bounds.length) {
+                chunks.add(parseChunk(enrollmentsFile, bounds, nextChunk++));
+            }
+            university.enrollAll(chunk, position, result);
+            position += chunk.size();
+        }
+        result.sortFailures();
+        for (EnrollmentBatchResult.Failure failure : result.getFailures()) {
+            System.err.println("Warning: Skipping enrollment " + failure.getRequest().getStudentId() + ","
+                    + failure.getRequest().getCourseCode() + ": " + failure.getReason());
+        }
+        return result;
+    }
+
+    /**
+     * Submits the parsing of the enrollments between bounds[chunk] and bounds[chunk + 1].
+     */
+    private Future<List<Enrollment>> parseChunk(Path enrollmentsFile, long[] bounds, int chunk) {
+        long start = bounds[chunk];
+        long end = bounds[chunk + 1];
+        return pool.submit(() -> {
+            List<Enrollment> parsed = new ArrayList<>();
+            CSVImporter.importEnrollmentsMapped(enrollmentsFile, start, end, parsed::add);
+            return parsed;
+        });
+    }
+
+    /**
+     * Waits for a parse task, rethrowing its IOException.
+     */
+    private static <T> List<T> await(Future<List<T>> task) throws IOException {
+        if (task == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Load interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
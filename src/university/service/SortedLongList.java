@@ -0,0 +1,103 @@
+package university.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of distinct longs, without boxing. University keeps its
+ * student entries in ID order in one, as (id << 32 | entry index).
+ * A value above the current last one is appended; any other value goes
+ * to an unsorted pending buffer that is sorted and merged into the list
+ * in one pass when it holds an eighth of the list, or before the next
+ * read. So values added in order cost O(1) each and values added in any
+ * order O(log n) amortized, with no per-insert shifting.
+ * Not thread-safe.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class SortedLongList {
+    private static final int MIN_PENDING = 1024;
+
+    private long[] values;
+    private int size;
+    private long[] pending;
+    private int pendingCount;
+
+    SortedLongList() {
+        this.values = new long[16];
+        this.pending = new long[16];
+    }
+
+    /**
+     * Adds a value that is not in the list yet.
+     */
+    void add(long value) {
+        if (pendingCount == 0 && (size == 0 || value > values[size - 1])) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            return;
+        }
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = value;
+        if (pendingCount >= Math.max(MIN_PENDING, size / 8)) {
+            merge();
+        }
+    }
+
+    long get(int index) {
+        merge();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return values[index];
+    }
+
+    int size() {
+        return size + pendingCount;
+    }
+
+    /**
+     * @return Position of the first value at or above the given one (size() if none)
+     */
+    int ceiling(long value) {
+        merge();
+        int position = Arrays.binarySearch(values, 0, size, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    void clear() {
+        size = 0;
+        pendingCount = 0;
+    }
+
+    /**
+     * Sorts the pending values and merges them in from the back, so each
+     * value of the list moves at most once.
+     */
+    private void merge() {
+        if (pendingCount == 0) {
+            return;
+        }
+        Arrays.sort(pending, 0, pendingCount);
+        int total = size + pendingCount;
+        if (total > values.length) {
+            values = Arrays.copyOf(values, Math.max(total, values.length * 2));
+        }
+        int i = size - 1;
+        int j = pendingCount - 1;
+        for (int k = total - 1; j >= 0; k--) {
+            if (i >= 0 && values[i] > pending[j]) {
+                values[k] = values[i--];
+            } else {
+                values[k] = pending[j--];
+            }
+        }
+        size = total;
+        pendingCount = 0;
+    }
+}
@@ -3,35 +3,126 @@ package university.service;
 import university.model.Course;
 import university.model.Enrollment;
 import university.model.Student;
-import university.util.GradeUtils;
+import university.util.GradingScale;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Main service class for university operations.
  * Manages students, courses, and enrollments using composition.
+ * Enrollment records are kept in an EnrollmentColumns store (parallel
+ * primitive arrays) rather than as Enrollment objects; the indexes hold
+ * slots into it, and the Enrollment objects returned are copies, so
+ * grades are changed through assignGrade. Keeps running GPA totals per
+ * student and reports every change to them, and to a student's major,
+ * to the attached GpaRankings.
+ * With OFF_HEAP storage the records are kept outside the Java heap,
+ * leaving only the indexes for the garbage collector to trace;
+ * forEachEnrollment reads them through a flyweight view without copying.
+ * Each student ID has one entry holding the Student, its enrollment
+ * slots in course code order and its GPA totals. Entries are found
+ * through an int-keyed open-addressing map, so looking up a student ID
+ * does not box it, and are also kept in ID order as primitive
+ * (id << 32 | entry index) longs in a SortedLongList; courses are kept
+ * in a TreeMap by code. Listings therefore walk the records in order,
+ * with no sort, and can start at any key (getStudents, getCourses,
+ * getEnrollments).
+ * Each registered course gets a small int ID from the university's own
+ * CourseCodes registry, and per-course data is kept in an array indexed
+ * by it, so joining a stored enrollment to its course is an array index
+ * rather than a hash lookup on the code string.
+ * All operations are synchronized on the instance; see
+ * ConcurrentUniversity for a variant that serves different students
+ * in parallel.
+ * Mutations can be recorded in a WriteAheadLog. A record is appended
+ * under the instance lock, before the change is applied, and the caller
+ * waits for it to become durable after the lock is released, so
+ * concurrent callers can share one fsync.
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
  * @version 1.0
  */
 public final class University {
-    private final Map<Integer, Student> students;
-    private final Map<String, Course> courses;
-    private final List<Enrollment> enrollments;
+    /** Smallest slot range a parallel sweep gives one task. */
+    static final int MIN_SWEEP_SLOTS = 1 << 16;
+
+    private final GradingScale scale;
+    private final NavigableMap<String, Course> courses;
+    private final EnrollmentColumns enrollments;
+    private final LongIntHashMap enrollmentIndex;
+    private final IntObjectHashMap<StudentEntry> studentEntries;
+    private final SortedLongList entryOrder;
+    private int studentCount;
+    private StudentEntry[] entriesByIndex;
+    private int entryCount;
+    private final CourseCodes courseCodes;
+    private CourseRoster[] rosters;
+    private final ObjIntConsumer<Course> creditsListener;
+    private final Consumer<Student> majorListener;
+    private final List<GpaRanking> rankings;
+    private volatile WriteAheadLog log;
+    private volatile long modificationCount;
+    private boolean trackChanges;
+    private boolean clearedSinceDrain;
+    private final Map<Integer, Student> changedStudents;
+    private final Map<String, Course> changedCourses;
+    private final Set<Long> changedEnrollments;
 
     /**
-     * Creates a new University instance with empty collections.
+     * Creates a new University instance with empty collections and
+     * enrollment records on the heap.
      */
     public University() {
-        this.students = new HashMap<>();
-        this.courses = new HashMap<>();
-        this.enrollments = new ArrayList<>();
+        this(EnrollmentColumns.Storage.HEAP);
+    }
+
+    /**
+     * Creates a new University instance with empty collections, grading
+     * on the default 4.0 scale.
+     * 
+     * @param storage Where to keep enrollment records
+     */
+    public University(EnrollmentColumns.Storage storage) {
+        this(storage, GradingScale.DEFAULT);
+    }
+
+    /**
+     * Creates a new University instance with empty collections.
+     * 
+     * @param storage Where to keep enrollment records
+     * @param scale Grading scale used for GPAs
+     */
+    public University(EnrollmentColumns.Storage storage, GradingScale scale) {
+        this.scale = scale;
+        this.courses = new TreeMap<>();
+        this.enrollments = new EnrollmentColumns(storage, 16);
+        this.enrollmentIndex = new LongIntHashMap();
+        this.studentEntries = new IntObjectHashMap<>();
+        this.entryOrder = new SortedLongList();
+        this.entriesByIndex = new StudentEntry[64];
+        this.courseCodes = new CourseCodes();
+        this.rosters = new CourseRoster[64];
+        this.creditsListener = this::onCreditsChanged;
+        this.majorListener = this::onMajorChanged;
+        this.rankings = new ArrayList<>();
+        this.changedStudents = new HashMap<>();
+        this.changedCourses = new HashMap<>();
+        this.changedEnrollments = new HashSet<>();
     }
 
     // ==================== STUDENT OPERATIONS ====================
@@ -45,11 +136,16 @@ public final class University {
      * @throws IllegalArgumentException if student ID already exists
      */
     public void addStudent(int id, String name, String major) {
-        if (students.containsKey(id)) {
-            throw new IllegalArgumentException("Student with ID " + id + " already exists");
+        long lsn;
+        synchronized (this) {
+            if (findStudent(id) != null) {
+                throw new IllegalArgumentException("Student with ID " + id + " already exists");
+            }
+            Student student = new Student(id, name, major);
+            lsn = log != null ? log.logAddStudent(student) : 0;
+            putStudent(student);
         }
-        Student student = new Student(id, name, major);
-        students.put(id, student);
+        awaitDurable(lsn);
     }
 
     /**
@@ -59,10 +155,15 @@ public final class University {
      * @throws IllegalArgumentException if student ID already exists
      */
     public void addStudent(Student student) {
-        if (students.containsKey(student.getId())) {
-            throw new IllegalArgumentException("Student with ID " + student.getId() + " already exists");
+        long lsn;
+        synchronized (this) {
+            if (findStudent(student.getId()) != null) {
+                throw new IllegalArgumentException("Student with ID " + student.getId() + " already exists");
+            }
+            lsn = log != null ? log.logAddStudent(student) : 0;
+            putStudent(student);
         }
-        students.put(student.getId(), student);
+        awaitDurable(lsn);
     }
 
     /**
@@ -71,19 +172,43 @@ public final class University {
      * @param id Student ID
      * @return Student or null if not found
      */
-    public Student getStudent(int id) {
-        return students.get(id);
+    public synchronized Student getStudent(int id) {
+        return findStudent(id);
     }
 
     /**
      * Gets all students as a list, sorted by ID.
+     * Students are kept in ID order, so no sorting is needed.
      * 
      * @return List of all students sorted by id
      */
-    public List<Student> getAllStudents() {
-        return students.values().stream()
-                .sorted(Comparator.comparingInt(Student::getId))
-                .collect(Collectors.toList());
+    public synchronized List<Student> getAllStudents() {
+        return getStudents(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets a page of students, sorted by ID: at most limit students whose
+     * ID is fromId or more. The page after one ending with ID n starts at
+     * n + 1.
+     * 
+     * @param fromId Smallest ID to include
+     * @param limit Maximum number of students to return
+     * @return Students sorted by id
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public synchronized List<Student> getStudents(int fromId, int limit) {
+        checkLimit(limit);
+        List<Student> page = new ArrayList<>(Math.min(limit, studentCount));
+        for (int i = firstInOrder(fromId); i < entryOrder.size(); i++) {
+            if (page.size() == limit) {
+                break;
+            }
+            StudentEntry entry = entryInOrder(i);
+            if (entry.student != null) {
+                page.add(entry.student);
+            }
+        }
+        return page;
     }
 
     /**
@@ -91,8 +216,23 @@ public final class University {
      * 
      * @return Student count
      */
-    public int getStudentCount() {
-        return students.size();
+    public synchronized int getStudentCount() {
+        return studentCount;
+    }
+
+    private Student findStudent(int id) {
+        StudentEntry entry = studentEntries.get(id);
+        return entry != null ? entry.student : null;
+    }
+
+    private void putStudent(Student student) {
+        entry(student.getId()).student = student;
+        studentCount++;
+        if (!rankings.isEmpty()) {
+            student.addMajorListener(majorListener);
+        }
+        gpaChanged(entry(student.getId()));
+        studentChanged(student);
     }
 
     // ==================== COURSE OPERATIONS ====================
@@ -107,12 +247,17 @@ public final class University {
      * @throws IllegalArgumentException if course code already exists
      */
     public void addCourse(String code, String title, int credits, String instructor) {
-        String normalizedCode = code.trim().toUpperCase();
-        if (courses.containsKey(normalizedCode)) {
-            throw new IllegalArgumentException("Course with code " + normalizedCode + " already exists");
+        long lsn;
+        synchronized (this) {
+            String normalizedCode = code.trim().toUpperCase();
+            if (courses.containsKey(normalizedCode)) {
+                throw new IllegalArgumentException("Course with code " + normalizedCode + " already exists");
+            }
+            Course course = new Course(code, title, credits, instructor);
+            lsn = log != null ? log.logAddCourse(course) : 0;
+            register(course);
         }
-        Course course = new Course(code, title, credits, instructor);
-        courses.put(normalizedCode, course);
+        awaitDurable(lsn);
     }
 
     /**
@@ -122,11 +267,27 @@ public final class University {
      * @throws IllegalArgumentException if course code already exists
      */
     public void addCourse(Course course) {
-        String normalizedCode = course.getCode().toUpperCase();
-        if (courses.containsKey(normalizedCode)) {
-            throw new IllegalArgumentException("Course with code " + normalizedCode + " already exists");
+        long lsn;
+        synchronized (this) {
+            String normalizedCode = course.getCode().toUpperCase();
+            if (courses.containsKey(normalizedCode)) {
+                throw new IllegalArgumentException("Course with code " + normalizedCode + " already exists");
+            }
+            lsn = log != null ? log.logAddCourse(course) : 0;
+            register(course);
         }
-        courses.put(normalizedCode, course);
+        awaitDurable(lsn);
+    }
+
+    /**
+     * Stores a course and starts tracking its credit changes.
+     */
+    private void register(Course course) {
+        courses.put(course.getCode(), course);
+        roster(courseCodes.intern(course.getCode())).course = course;
+        course.addCreditsListener(creditsListener);
+        syncCredits(course);
+        courseChanged(course);
     }
 
     /**
@@ -135,19 +296,41 @@ public final class University {
      * @param code Course code
      * @return Course or null if not found
      */
-    public Course getCourse(String code) {
-        return courses.get(code.trim().toUpperCase());
+    public synchronized Course getCourse(String code) {
+        CourseRoster roster = rosterOrNull(courseCodes.find(code.trim().toUpperCase()));
+        return roster != null ? roster.course : null;
     }
 
     /**
      * Gets all courses as a list, sorted by code.
+     * Courses are kept in code order, so no sorting is needed.
      * 
      * @return List of all courses sorted by code
      */
-    public List<Course> getAllCourses() {
-        return courses.values().stream()
-                .sorted(Comparator.comparing(Course::getCode))
-                .collect(Collectors.toList());
+    public synchronized List<Course> getAllCourses() {
+        return new ArrayList<>(courses.values());
+    }
+
+    /**
+     * Gets a page of courses, sorted by code: at most limit courses whose
+     * code is fromCode or after it. The page after one ending with code c
+     * starts at c + "\0".
+     * 
+     * @param fromCode First code to include, compared upper-cased ("" for the start)
+     * @param limit Maximum number of courses to return
+     * @return Courses sorted by code
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public synchronized List<Course> getCourses(String fromCode, int limit) {
+        checkLimit(limit);
+        List<Course> page = new ArrayList<>(Math.min(limit, courses.size()));
+        for (Course course : courses.tailMap(fromCode.toUpperCase(), true).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(course);
+        }
+        return page;
     }
 
     /**
@@ -155,7 +338,7 @@ public final class University {
      * 
      * @return Course count
      */
-    public int getCourseCount() {
+    public synchronized int getCourseCount() {
         return courses.size();
     }
 
@@ -169,36 +352,181 @@ public final class University {
      * @throws IllegalArgumentException if validation fails
      */
     public void enroll(int studentId, String courseCode) {
-        Student student = getStudent(studentId);
-        if (student == null) {
-            throw new IllegalArgumentException("Student not found: " + studentId);
+        long lsn;
+        synchronized (this) {
+            Student student = getStudent(studentId);
+            if (student == null) {
+                throw new IllegalArgumentException("Student not found: " + studentId);
+            }
+
+            Course course = getCourse(courseCode);
+            if (course == null) {
+                throw new IllegalArgumentException("Course not found: " + courseCode);
+            }
+
+            // Check for duplicate enrollment
+            int courseId = courseCodes.find(course.getCode());
+            long key = key(studentId, courseId);
+            if (enrollmentIndex.containsKey(key)) {
+                throw new IllegalArgumentException("Student is already enrolled in " + course.getCode());
+            }
+
+            lsn = log != null ? log.logEnroll(new Enrollment(studentId, course.getCode())) : 0;
+            index(key, studentId, courseId, Enrollment.NO_GRADE);
         }
+        awaitDurable(lsn);
+    }
 
-        Course course = getCourse(courseCode);
-        if (course == null) {
-            throw new IllegalArgumentException("Course not found: " + courseCode);
+    /**
+     * Adds an existing Enrollment object. Its values are copied into the
+     * store; later changes to the object have no effect. The course must
+     * already exist, as with enroll and enrollAll.
+     * 
+     * @param enrollment Enrollment to add
+     * @throws IllegalArgumentException if the course is not found or the student is already enrolled in it
+     */
+    public void addEnrollment(Enrollment enrollment) {
+        long lsn;
+        synchronized (this) {
+            int courseId = courseCodes.find(enrollment.getCourseCode());
+            if (courseId < 0) {
+                throw new IllegalArgumentException("Course not found: " + enrollment.getCourseCode());
+            }
+            long key = key(enrollment.getStudentId(), courseId);
+            if (enrollmentIndex.containsKey(key)) {
+                throw new IllegalArgumentException("Student " + enrollment.getStudentId()
+                        + " is already enrolled in " + enrollment.getCourseCode());
+            }
+            lsn = log != null ? log.logEnroll(enrollment) : 0;
+            index(key, enrollment.getStudentId(), courseId, enrollment.getGradeTenths());
+        }
+        awaitDurable(lsn);
+    }
+
+    /**
+     * Enrolls a batch of (studentId, courseCode) requests.
+     * All requests are validated in a single pass against the indexes
+     * (student exists, course exists, not already enrolled, including by an
+     * earlier request of the same batch); courses are found by their ID
+     * in an array. Invalid requests are reported in the result and
+     * do not stop the batch. The pass runs under the instance lock, so other
+     * threads see either none or all of the valid requests applied.
+     * Grades carried by a request are kept, as with addEnrollment.
+     * With a write-ahead log, the whole batch waits for a single sync.
+     * 
+     * @param requests Enrollments to add, in request order
+     * @return Number applied and the failures with their batch positions
+     */
+    public EnrollmentBatchResult enrollAll(Collection<Enrollment> requests) {
+        EnrollmentBatchResult result = new EnrollmentBatchResult();
+        enrollAll(new ArrayList<>(requests), 0, result);
+        return result;
+    }
+
+    /**
+     * Validates and applies a batch whose requests take the positions
+     * firstPosition, firstPosition + 1, ... in the result (used by
+     * ParallelLoader to apply a file chunk by chunk into one result).
+     */
+    void enrollAll(List<Enrollment> batch, int firstPosition, EnrollmentBatchResult result) {
+        int[] positions = new int[batch.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = firstPosition + i;
         }
+        awaitDurable(enrollAll(batch, positions, result));
+    }
 
-        // Check for duplicate enrollment
-        String normalizedCode = courseCode.trim().toUpperCase();
-        boolean alreadyEnrolled = enrollments.stream()
-                .anyMatch(e -> e.getStudentId() == studentId && 
-                              e.getCourseCode().equals(normalizedCode));
-        if (alreadyEnrolled) {
-            throw new IllegalArgumentException("Student is already enrolled in " + normalizedCode);
+    /**
+     * Validates and applies a batch, recording failures under the given
+     * positions (used by ConcurrentUniversity for per-stripe sub-batches).
+     * Failures are added in batch order; callers whose positions are not
+     * ascending across calls sort the result once at the end.
+     * @return Log sequence number of the last logged request, or 0
+     */
+    synchronized long enrollAll(List<Enrollment> batch, int[] positions, EnrollmentBatchResult result) {
+        int enrolled = 0;
+        long lsn = 0;
+
+        for (int i = 0; i < batch.size(); i++) {
+            Enrollment request = batch.get(i);
+            if (request == null) {
+                result.addFailure(positions[i], null, "Request is null");
+                continue;
+            }
+            if (findStudent(request.getStudentId()) == null) {
+                result.addFailure(positions[i], request, "Student not found: " + request.getStudentId());
+                continue;
+            }
+            int courseId = courseCodes.find(request.getCourseCode());
+            if (courseId < 0) {
+                result.addFailure(positions[i], request, "Course not found: " + request.getCourseCode());
+                continue;
+            }
+            long key = key(request.getStudentId(), courseId);
+            if (enrollmentIndex.containsKey(key)) {
+                result.addFailure(positions[i], request, "Student is already enrolled in " + request.getCourseCode());
+                continue;
+            }
+            if (log != null) {
+                lsn = log.logEnroll(request);
+            }
+            index(key, request.getStudentId(), courseId, request.getGradeTenths());
+            enrolled++;
         }
 
-        Enrollment enrollment = new Enrollment(studentId, courseCode);
-        enrollments.add(enrollment);
+        result.addEnrolled(enrolled);
+        return lsn;
+    }
+
+    /**
+     * Stores an enrollment record and registers its slot in every
+     * enrollment index.
+     */
+    private void index(long key, int studentId, int courseId, int gradeTenths) {
+        StudentEntry student = entry(studentId);
+        int slot = enrollments.add(student.index, courseId, gradeTenths);
+        enrollmentIndex.put(key, slot);
+        student.slots.insert(courseOrderPosition(student.slots, courseCodes.code(courseId)), slot);
+        CourseRoster roster = rosters[courseId];
+        roster.slots.add(slot);
+        applyGrade(student, gradeTenths, roster.credits, 1);
+        gpaChanged(student);
+        enrollmentChanged(key);
     }
 
     /**
-     * Adds an existing Enrollment object.
+     * Removes a student's enrollment in a course.
      * 
-     * @param enrollment Enrollment to add
+     * @param studentId Student ID
+     * @param courseCode Course code
+     * @throws IllegalArgumentException if enrollment not found
      */
-    public void addEnrollment(Enrollment enrollment) {
-        enrollments.add(enrollment);
+    public void removeEnrollment(int studentId, String courseCode) {
+        long lsn;
+        synchronized (this) {
+            String normalizedCode = courseCode.trim().toUpperCase();
+            
+            long key = key(studentId, courseCodes.find(normalizedCode));
+            int slot = enrollmentIndex.get(key);
+            if (slot < 0) {
+                throw new IllegalArgumentException(
+                        "Enrollment not found for student " + studentId + " in course " + normalizedCode);
+            }
+            lsn = log != null ? log.logRemoveEnrollment(studentId, normalizedCode) : 0;
+            enrollmentIndex.remove(key);
+
+            StudentEntry student = studentEntries.get(studentId);
+            int courseId = enrollments.getCourseIndex(slot);
+            CourseRoster roster = rosters[courseId];
+            applyGrade(student, enrollments.getGradeTenths(slot), roster.credits, -1);
+            gpaChanged(student);
+            student.slots.removeAt(student.slots.indexOf(slot));
+
+            roster.slots.removeValue(slot);
+            enrollments.remove(slot);
+            enrollmentChanged(key);
+        }
+        awaitDurable(lsn);
     }
 
     /**
@@ -210,45 +538,100 @@ public final class University {
      * @throws IllegalArgumentException if enrollment not found or grade out of range
      */
     public void assignGrade(int studentId, String courseCode, double gradePercent) {
-        if (gradePercent < 0 || gradePercent > 100) {
-            throw new IllegalArgumentException("Grade must be between 0 and 100");
-        }
-        
-        String normalizedCode = courseCode.trim().toUpperCase();
-        
-        Enrollment enrollment = enrollments.stream()
-                .filter(e -> e.getStudentId() == studentId && 
-                            e.getCourseCode().equals(normalizedCode))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Enrollment not found for student " + studentId + " in course " + normalizedCode));
+        int gradeTenths = Enrollment.toTenths(gradePercent);
         
-        enrollment.setGradePercent(gradePercent);
+        long lsn;
+        synchronized (this) {
+            String normalizedCode = courseCode.trim().toUpperCase();
+            
+            long key = key(studentId, courseCodes.find(normalizedCode));
+            int slot = enrollmentIndex.get(key);
+            if (slot < 0) {
+                throw new IllegalArgumentException(
+                        "Enrollment not found for student " + studentId + " in course " + normalizedCode);
+            }
+            
+            lsn = log != null ? log.logAssignGrade(studentId, normalizedCode, gradePercent) : 0;
+            StudentEntry student = studentEntries.get(studentId);
+            int credits = rosters[enrollments.getCourseIndex(slot)].credits;
+            applyGrade(student, enrollments.getGradeTenths(slot), credits, -1);
+            enrollments.setGrade(slot, gradeTenths);
+            applyGrade(student, gradeTenths, credits, 1);
+            gpaChanged(student);
+            enrollmentChanged(key);
+        }
+        awaitDurable(lsn);
     }
 
     /**
-     * Gets all enrollments, sorted by (studentId, courseCode).
+     * Gets copies of all enrollments, sorted by (studentId, courseCode).
+     * Enrollments are kept in that order, so no sorting is needed.
      * 
      * @return List of all enrollments sorted
      */
-    public List<Enrollment> getAllEnrollments() {
-        return enrollments.stream()
-                .sorted(Comparator.comparingInt(Enrollment::getStudentId)
-                        .thenComparing(Enrollment::getCourseCode))
-                .collect(Collectors.toList());
+    public synchronized List<Enrollment> getAllEnrollments() {
+        return getEnrollments(Integer.MIN_VALUE, "", Integer.MAX_VALUE);
     }
 
     /**
-     * Gets enrollments for a specific student.
+     * Gets a page of enrollment copies, sorted by (studentId, courseCode):
+     * at most limit enrollments at or after (fromStudentId, fromCourseCode).
+     * The page after one ending with (s, c) starts at (s, c + "\0"), or
+     * simply at (s + 1, "") once student s is known to be complete.
+     * 
+     * @param fromStudentId Student ID of the first enrollment to include
+     * @param fromCourseCode First course code to include for fromStudentId, compared upper-cased ("" for all)
+     * @param limit Maximum number of enrollments to return
+     * @return Enrollments sorted by (studentId, courseCode)
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public synchronized List<Enrollment> getEnrollments(int fromStudentId, String fromCourseCode, int limit) {
+        checkLimit(limit);
+        List<Enrollment> page = new ArrayList<>(Math.min(limit, enrollments.size()));
+        String fromCode = fromCourseCode.toUpperCase();
+        for (int e = firstInOrder(fromStudentId); e < entryOrder.size(); e++) {
+            StudentEntry entry = entryInOrder(e);
+            IntList slots = entry.slots;
+            int i = entry.id == fromStudentId ? courseOrderPosition(slots, fromCode) : 0;
+            for (; i < slots.size(); i++) {
+                if (page.size() == limit) {
+                    return page;
+                }
+                page.add(toEnrollment(slots.get(i)));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets copies of a student's enrollments, sorted by course code.
+     * Runs in O(k) for a student with k enrollments.
      * 
      * @param studentId Student ID
      * @return List of student's enrollments
      */
-    public List<Enrollment> getStudentEnrollments(int studentId) {
-        return enrollments.stream()
-                .filter(e -> e.getStudentId() == studentId)
-                .sorted(Comparator.comparing(Enrollment::getCourseCode))
-                .collect(Collectors.toList());
+    public synchronized List<Enrollment> getStudentEnrollments(int studentId) {
+        List<Enrollment> result = new ArrayList<>();
+        StudentEntry student = studentEntries.get(studentId);
+        if (student == null) {
+            return result;
+        }
+        for (int i = 0; i < student.slots.size(); i++) {
+            result.add(toEnrollment(student.slots.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a copy of a student's enrollment in a course.
+     * 
+     * @param studentId Student ID
+     * @param courseCode Course code
+     * @return Enrollment or null if the student is not enrolled in the course
+     */
+    public synchronized Enrollment getEnrollment(int studentId, String courseCode) {
+        int slot = enrollmentIndex.get(key(studentId, courseCodes.find(courseCode.trim().toUpperCase())));
+        return slot >= 0 ? toEnrollment(slot) : null;
     }
 
     /**
@@ -256,10 +639,117 @@ public final class University {
      * 
      * @return Enrollment count
      */
-    public int getEnrollmentCount() {
+    public synchronized int getEnrollmentCount() {
         return enrollments.size();
     }
 
+    /**
+     * Passes every enrollment, in no particular order, to an action
+     * through one flyweight view that is moved from record to record.
+     * Runs under the instance lock, so the action sees a consistent state
+     * and must not wait for other threads that use this University.
+     * 
+     * @param action Receives the view once per enrollment; it must not keep the view
+     */
+    public synchronized void forEachEnrollment(Consumer<EnrollmentView> action) {
+        EnrollmentView view = new EnrollmentView(enrollments, courseCodes);
+        for (int slot = 0; slot < enrollments.slotLimit(); slot++) {
+            if (enrollments.isUsed(slot)) {
+                view.moveTo(slot, entriesByIndex[enrollments.getStudentIndex(slot)].id);
+                action.accept(view);
+            }
+        }
+    }
+
+    /**
+     * Gets where enrollment records are kept.
+     * 
+     * @return Enrollment storage mode
+     */
+    public EnrollmentColumns.Storage getEnrollmentStorage() {
+        return enrollments.getStorage();
+    }
+
+    /**
+     * Gets the grading scale used for GPAs.
+     * 
+     * @return Grading scale
+     */
+    public GradingScale getGradingScale() {
+        return scale;
+    }
+
+    /**
+     * Builds an Enrollment from the record in a slot.
+     */
+    private Enrollment toEnrollment(int slot) {
+        Enrollment enrollment = new Enrollment(entriesByIndex[enrollments.getStudentIndex(slot)].id,
+                courseCodes.code(enrollments.getCourseIndex(slot)));
+        int gradeTenths = enrollments.getGradeTenths(slot);
+        if (gradeTenths != Enrollment.NO_GRADE) {
+            enrollment.setGradePercent(gradeTenths / 10.0);
+        }
+        return enrollment;
+    }
+
+    /**
+     * Finds where a course code belongs in a student's slots, which are
+     * kept in course code order: the position of the first slot whose
+     * code is not before it.
+     */
+    private int courseOrderPosition(IntList slots, String code) {
+        int low = 0;
+        int high = slots.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (courseCodes.code(enrollments.getCourseIndex(slots.get(mid))).compareTo(code) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Credit hours by course ID, 0 for IDs without a course
+     */
+    private int[] creditsByCourse() {
+        int[] credits = new int[rosters.length];
+        for (int courseId = 0; courseId < rosters.length; courseId++) {
+            if (rosters[courseId] != null) {
+                credits[courseId] = rosters[courseId].credits;
+            }
+        }
+        return credits;
+    }
+
+    /**
+     * Builds the GPA table of all students from totals by student index.
+     */
+    private GpaTable gpaTable(long[] qualityPointTenths, int[] credits) {
+        int[] ids = new int[studentCount];
+        double[] gpas = new double[studentCount];
+        int[] graded = new int[studentCount];
+        int row = 0;
+        for (int i = 0; i < entryOrder.size(); i++) {
+            StudentEntry entry = entryInOrder(i);
+            if (entry.student != null) {
+                ids[row] = entry.id;
+                graded[row] = credits[entry.index];
+                gpas[row] = graded[row] == 0 ? 0.0 : qualityPointTenths[entry.index] / (10.0 * graded[row]);
+                row++;
+            }
+        }
+        return new GpaTable(ids, gpas, graded);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+    }
+
     // ==================== GPA CALCULATION ====================
 
     /**
@@ -267,45 +757,524 @@ public final class University {
      * Uses ONLY graded enrollments.
      * Formula: GPA = Σ(gradePoint × credits) / Σ(credits)
      * If no graded enrollments, returns 0.0
+     * Reads the running totals, so the cost does not depend on the
+     * number of enrollments.
      * 
      * @param studentId Student ID
      * @return GPA on 4.0 scale
      * @throws IllegalArgumentException if student not found
      */
-    public double computeGpa(int studentId) {
+    public synchronized double computeGpa(int studentId) {
         if (getStudent(studentId) == null) {
             throw new IllegalArgumentException("Student not found: " + studentId);
         }
 
-        double totalPoints = 0.0;
-        int totalCredits = 0;
+        StudentEntry totals = studentEntries.get(studentId);
+        if (totals == null || totals.credits == 0) {
+            return 0.0;
+        }
 
-        for (Enrollment enrollment : enrollments) {
-            if (enrollment.getStudentId() == studentId && enrollment.isGraded()) {
-                Course course = getCourse(enrollment.getCourseCode());
-                if (course != null) {
-                    double gradePoint = GradeUtils.toGradePoint(enrollment.getGradePercent());
-                    int credits = course.getCredits();
-                    
-                    totalPoints += gradePoint * credits;
-                    totalCredits += credits;
+        return totals.qualityPointTenths / (10.0 * totals.credits);
+    }
+
+    /**
+     * Computes the GPA of every student in one sweep over the enrollment
+     * records, summing grade points and credits per student into
+     * primitive arrays, instead of one computeGpa call per student.
+     * The result is recomputed from the records, under this university's
+     * grading scale.
+     * 
+     * @return GPAs of all students, sorted by student ID
+     */
+    public synchronized GpaTable computeAllGpas() {
+        long[] qualityPointTenths = new long[entryCount];
+        int[] credits = new int[entryCount];
+        enrollments.sumGradePoints(scale, creditsByCourse(), qualityPointTenths, credits);
+        return gpaTable(qualityPointTenths, credits);
+    }
+
+    /**
+     * Computes the GPA of every student like computeAllGpas, splitting the
+     * sweep into up to one slot range per worker of the pool. Each task
+     * sums its range into its own arrays and the partial sums are then
+     * added together. Changes wait until the sweep is done.
+     * 
+     * @param pool Pool that runs the sweep tasks
+     * @return GPAs of all students, sorted by student ID
+     */
+    public synchronized GpaTable computeAllGpas(ForkJoinPool pool) {
+        int[] bounds = enrollments.splitSlots(pool.getParallelism(), MIN_SWEEP_SLOTS);
+        int tasks = bounds.length - 1;
+        if (tasks == 1) {
+            return computeAllGpas();
+        }
+        int[] creditsByCourse = creditsByCourse();
+        int students = entryCount;
+        List<ForkJoinTask<long[]>> pointTasks = new ArrayList<>(tasks);
+        List<int[]> partialCredits = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int from = bounds[i];
+            int to = bounds[i + 1];
+            int[] credits = new int[students];
+            partialCredits.add(credits);
+            pointTasks.add(pool.submit(() -> {
+                long[] points = new long[students];
+                enrollments.sumGradePoints(scale, creditsByCourse, points, credits, from, to);
+                return points;
+            }));
+        }
+
+        long[] qualityPointTenths = pointTasks.get(0).join();
+        int[] credits = partialCredits.get(0);
+        for (int i = 1; i < tasks; i++) {
+            long[] points = pointTasks.get(i).join();
+            int[] partial = partialCredits.get(i);
+            for (int s = 0; s < students; s++) {
+                qualityPointTenths[s] += points[s];
+                credits[s] += partial[s];
+            }
+        }
+        return gpaTable(qualityPointTenths, credits);
+    }
+
+    /**
+     * Calculates the average grade of a course over its graded enrollments.
+     * Reads the grades column at the course's slots, with no Enrollment
+     * objects involved.
+     * 
+     * @param courseCode Course code
+     * @return Average grade percentage, or 0.0 if no enrollment is graded
+     * @throws IllegalArgumentException if course not found
+     */
+    public synchronized double computeCourseAverage(String courseCode) {
+        Course course = getCourse(courseCode);
+        if (course == null) {
+            throw new IllegalArgumentException("Course not found: " + courseCode);
+        }
+
+        IntList slots = rosters[courseCodes.find(course.getCode())].slots;
+        long sum = 0;
+        int graded = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            int gradeTenths = enrollments.getGradeTenths(slots.get(i));
+            if (gradeTenths != Enrollment.NO_GRADE) {
+                sum += gradeTenths;
+                graded++;
+            }
+        }
+        return graded == 0 ? 0.0 : sum / (10.0 * graded);
+    }
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) a graded enrollment's
+     * contribution to its student's GPA totals. Ungraded enrollments
+     * contribute nothing.
+     */
+    private void applyGrade(StudentEntry student, int gradeTenths, int credits, int sign) {
+        if (credits == 0 || gradeTenths == Enrollment.NO_GRADE) {
+            return;
+        }
+        student.qualityPointTenths += sign * (long) scale.gradePointTenths(gradeTenths) * credits;
+        student.credits += sign * credits;
+    }
+
+    /**
+     * Called by Course.setCredits, possibly from another thread.
+     */
+    private void onCreditsChanged(Course course, int oldCredits) {
+        long lsn = 0;
+        synchronized (this) {
+            if (courses.get(course.getCode()) == course) {
+                if (log != null) {
+                    lsn = log.logSetCredits(course);
                 }
+                syncCredits(course);
+                courseChanged(course);
             }
         }
+        awaitDurable(lsn);
+    }
 
-        if (totalCredits == 0) {
-            return 0.0;
+    /**
+     * Re-weights every graded enrollment of a course to its current credits.
+     * The credits the totals were built with are kept in the roster, so a
+     * change made while another thread reads the course is counted once.
+     */
+    private void syncCredits(Course course) {
+        CourseRoster roster = rosters[courseCodes.find(course.getCode())];
+        int delta = course.getCredits() - roster.credits;
+        if (delta == 0) {
+            return;
         }
+        roster.credits += delta;
+        IntList slots = roster.slots;
+        for (int i = 0; i < slots.size(); i++) {
+            int slot = slots.get(i);
+            int gradeTenths = enrollments.getGradeTenths(slot);
+            if (gradeTenths != Enrollment.NO_GRADE) {
+                StudentEntry student = entriesByIndex[enrollments.getStudentIndex(slot)];
+                student.qualityPointTenths += (long) scale.gradePointTenths(gradeTenths) * delta;
+                student.credits += delta;
+                gpaChanged(student);
+            }
+        }
+    }
 
-        return totalPoints / totalCredits;
+    /**
+     * Reports a student's current GPA totals to every GpaRanking.
+     */
+    private void gpaChanged(StudentEntry entry) {
+        for (int i = 0; i < rankings.size(); i++) {
+            rankings.get(i).update(entry.id, entry.student, entry.qualityPointTenths, entry.credits);
+        }
     }
 
     /**
      * Clears all data from the university.
      */
     public void clearAll() {
-        students.clear();
-        courses.clear();
-        enrollments.clear();
+        long lsn;
+        synchronized (this) {
+            lsn = log != null ? log.logClear() : 0;
+            for (Course course : courses.values()) {
+                course.removeCreditsListener(creditsListener);
+            }
+            if (!rankings.isEmpty()) {
+                setMajorListeners(false);
+            }
+            courses.clear();
+            enrollments.clear();
+            enrollmentIndex.clear();
+            studentEntries.clear();
+            entryOrder.clear();
+            studentCount = 0;
+            Arrays.fill(entriesByIndex, 0, entryCount, null);
+            entryCount = 0;
+            Arrays.fill(rosters, null);
+            courseCodes.clear();
+            for (GpaRanking ranking : rankings) {
+                ranking.clear();
+            }
+            modificationCount++;
+            if (trackChanges) {
+                resetChanges();
+                clearedSinceDrain = true;
+            }
+        }
+        awaitDurable(lsn);
+    }
+
+    // ==================== ANALYTICS SUPPORT ====================
+
+    /**
+     * Runs a read-only query under the instance lock, for
+     * EnrollmentAnalytics. The query may hand the enrollment columns to
+     * other threads, provided it waits for them before returning.
+     */
+    synchronized <R> R query(Supplier<R> query) {
+        return query.get();
+    }
+
+    /**
+     * @return Enrollment columns; only to be read while holding the instance lock
+     */
+    EnrollmentColumns enrollmentColumns() {
+        return enrollments;
+    }
+
+    /**
+     * @return Number of course IDs in use; IDs are below it. Call while holding the instance lock
+     */
+    int courseIdCount() {
+        return courseCodes.size();
+    }
+
+    /**
+     * @return Course with a given course ID, or null; call while holding the instance lock
+     */
+    Course courseById(int courseId) {
+        CourseRoster roster = rosterOrNull(courseId);
+        return roster != null ? roster.course : null;
+    }
+
+    /**
+     * Starts updating a GpaRanking, after filling it with the current
+     * GPA totals of every student. Students' majors are listened to
+     * while at least one ranking is attached.
+     */
+    synchronized void addRanking(GpaRanking ranking) {
+        for (int i = 0; i < entryOrder.size(); i++) {
+            StudentEntry entry = entryInOrder(i);
+            ranking.update(entry.id, entry.student, entry.qualityPointTenths, entry.credits);
+        }
+        if (rankings.isEmpty()) {
+            setMajorListeners(true);
+        }
+        rankings.add(ranking);
+    }
+
+    /**
+     * Stops updating a GpaRanking.
+     */
+    synchronized void removeRanking(GpaRanking ranking) {
+        if (rankings.remove(ranking) && rankings.isEmpty()) {
+            setMajorListeners(false);
+        }
+    }
+
+    /**
+     * Registers or removes the major listener on every student.
+     */
+    private void setMajorListeners(boolean listen) {
+        for (int i = 0; i < entryOrder.size(); i++) {
+            Student student = entryInOrder(i).student;
+            if (student == null) {
+                continue;
+            }
+            if (listen) {
+                student.addMajorListener(majorListener);
+            } else {
+                student.removeMajorListener(majorListener);
+            }
+        }
+    }
+
+    /**
+     * Called by Student.setMajor, possibly from another thread; moves the
+     * student to the new major in every GpaRanking.
+     */
+    private synchronized void onMajorChanged(Student student) {
+        StudentEntry entry = studentEntries.get(student.getId());
+        if (entry != null && entry.student == student) {
+            gpaChanged(entry);
+        }
+    }
+
+    // ==================== CHANGE TRACKING ====================
+
+    /**
+     * Returns copies of the records changed since the previous call (or
+     * drainAll) and starts over. The copies are taken under the instance
+     * lock, so they are a consistent point-in-time view that later
+     * mutations do not affect, at a cost proportional to the number of
+     * changes only.
+     * Tracking starts with the first call, which returns null: changes
+     * made before it are unknown, so the caller has to save everything.
+     * Changes made directly on model objects are not tracked, except
+     * course credits.
+     * 
+     * @return Changes since the previous call, or null on the first call
+     */
+    public synchronized ChangeSet drainChanges() {
+        if (!trackChanges) {
+            trackChanges = true;
+            return null;
+        }
+
+        List<Enrollment> upserted = new ArrayList<>();
+        List<Enrollment> removed = new ArrayList<>();
+        for (long key : changedEnrollments) {
+            int slot = enrollmentIndex.get(key);
+            if (slot >= 0) {
+                upserted.add(toEnrollment(slot));
+            } else {
+                removed.add(new Enrollment((int) (key >>> 32), courseCodes.code((int) key)));
+            }
+        }
+        ChangeSet changes = new ChangeSet(clearedSinceDrain, copyStudents(changedStudents.values()),
+                copyCourses(changedCourses.values()), upserted, removed);
+        resetChanges();
+        return changes;
+    }
+
+    /**
+     * Returns copies of all records, sorted as by the getAll methods, as a
+     * change set marked cleared, and starts tracking changes from this
+     * point. Used for full saves; the copying is the only part done under
+     * the instance lock, so writing can happen elsewhere.
+     * 
+     * @return All records as of this call
+     */
+    public synchronized ChangeSet drainAll() {
+        ChangeSet all = new ChangeSet(true, copyStudents(getAllStudents()), copyCourses(courses.values()),
+                getAllEnrollments(), new ArrayList<>());
+        trackChanges = true;
+        resetChanges();
+        return all;
+    }
+
+    /**
+     * Gets the number of mutations so far; it only ever grows, including
+     * on clearAll. Can be polled without the instance lock.
+     * 
+     * @return Mutation count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    private void resetChanges() {
+        clearedSinceDrain = false;
+        changedStudents.clear();
+        changedCourses.clear();
+        changedEnrollments.clear();
+    }
+
+    private static List<Student> copyStudents(Collection<Student> source) {
+        List<Student> copies = new ArrayList<>(source.size());
+        for (Student student : source) {
+            copies.add(new Student(student.getId(), student.getName(), student.getMajor()));
+        }
+        return copies;
+    }
+
+    private static List<Course> copyCourses(Collection<Course> source) {
+        List<Course> copies = new ArrayList<>(source.size());
+        for (Course course : source) {
+            copies.add(new Course(course.getCode(), course.getTitle(), course.getCredits(), course.getInstructor()));
+        }
+        return copies;
+    }
+
+    private void studentChanged(Student student) {
+        modificationCount++;
+        if (trackChanges) {
+            changedStudents.put(student.getId(), student);
+        }
+    }
+
+    private void courseChanged(Course course) {
+        modificationCount++;
+        if (trackChanges) {
+            changedCourses.put(course.getCode(), course);
+        }
+    }
+
+    /**
+     * Records an added, updated or removed enrollment; which one it was
+     * is read from the index when the changes are drained.
+     */
+    private void enrollmentChanged(long key) {
+        modificationCount++;
+        if (trackChanges) {
+            changedEnrollments.add(key);
+        }
+    }
+
+    // ==================== DURABILITY ====================
+
+    /**
+     * Starts (or, with null, stops) recording mutations in a write-ahead log.
+     * Changes made directly on model objects are not recorded, except
+     * course credits.
+     * 
+     * @param log Log to append to, or null
+     */
+    public synchronized void setWriteAheadLog(WriteAheadLog log) {
+        this.log = log;
+    }
+
+    public WriteAheadLog getWriteAheadLog() {
+        return log;
+    }
+
+    /**
+     * Waits, outside the instance lock, until a logged mutation is durable.
+     */
+    private void awaitDurable(long lsn) {
+        WriteAheadLog current = log;
+        if (lsn > 0 && current != null) {
+            current.awaitDurable(lsn);
+        }
+    }
+
+    /**
+     * Packs (studentId, course ID) into the enrollment index key. Student
+     * IDs are positive, so a key is never 0; a course ID of -1 (an
+     * unknown code) matches no enrollment.
+     */
+    private static long key(int studentId, int courseId) {
+        return ((long) studentId << 32) | (courseId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the entry of a student ID, numbering it if it is new.
+     */
+    private StudentEntry entry(int studentId) {
+        StudentEntry entry = studentEntries.get(studentId);
+        if (entry == null) {
+            if (entryCount == entriesByIndex.length) {
+                entriesByIndex = Arrays.copyOf(entriesByIndex, entryCount * 2);
+            }
+            entry = new StudentEntry(studentId, entryCount);
+            entriesByIndex[entryCount++] = entry;
+            studentEntries.put(studentId, entry);
+            entryOrder.add((long) studentId << 32 | entry.index);
+        }
+        return entry;
+    }
+
+    /**
+     * @return Position in entryOrder of the first entry with an ID of fromId or more
+     */
+    private int firstInOrder(int fromId) {
+        return entryOrder.ceiling((long) fromId << 32);
+    }
+
+    /**
+     * @return Entry at a position of entryOrder
+     */
+    private StudentEntry entryInOrder(int position) {
+        return entriesByIndex[(int) entryOrder.get(position)];
+    }
+
+    /**
+     * A student ID: the Student (null if only enrollments use the ID),
+     * its index in the enrollment columns, the slots of its enrollments
+     * in course code order, and its running GPA totals: Σ(gradePoint ×
+     * credits) in tenths of a grade point and Σ(credits) over graded
+     * enrollments.
+     */
+    private static final class StudentEntry {
+        private final int id;
+        private final int index;
+        private Student student;
+        private final IntList slots = new IntList();
+        private long qualityPointTenths;
+        private int credits;
+
+        StudentEntry(int id, int index) {
+            this.id = id;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Gets the roster of a course ID, creating it (and growing the array) if needed.
+     */
+    private CourseRoster roster(int courseId) {
+        if (courseId >= rosters.length) {
+            rosters = Arrays.copyOf(rosters, Math.max(courseId + 1, rosters.length * 2));
+        }
+        CourseRoster roster = rosters[courseId];
+        if (roster == null) {
+            roster = new CourseRoster();
+            rosters[courseId] = roster;
+        }
+        return roster;
+    }
+
+    private CourseRoster rosterOrNull(int courseId) {
+        return courseId >= 0 && courseId < rosters.length ? rosters[courseId] : null;
+    }
+
+    /**
+     * The course with a given ID, the slots of its enrollments, and the
+     * credit hours the GPA totals currently use for it.
+     */
+    private static final class CourseRoster {
+        private final IntList slots = new IntList();
+        private Course course;
+        private int credits;
     }
 }
@@ -0,0 +1,610 @@
+package university.service;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.util.BinarySnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of University mutations.
+ * Together with a BinarySnapshot it makes every mutation durable at the
+ * cost of one small append: recovery loads the snapshot and replays the
+ * log on top of it, and a checkpoint writes a new snapshot and starts
+ * the log again.
+ *
+ * File format: a header (int magic "SUWL", int version, long base) and
+ * then one record per mutation: int payload length, int CRC32 of the
+ * payload, payload (byte operation and its arguments, strings as int
+ * length and UTF-8 bytes). The base is the checksum of the snapshot the
+ * log applies to, or -1 for an empty start; a log whose base does not
+ * match the snapshot is not replayed. A torn last record (crash during
+ * an append) is dropped.
+ *
+ * Thread-safe. Records are appended under a lock; with SyncPolicy.COMMIT,
+ * callers that wait for durability at the same time share one fsync
+ * (group commit).
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class WriteAheadLog {
+
+    /**
+     * When appended records are forced to disk.
+     */
+    public enum SyncPolicy {
+        /** A mutation returns once its record is on disk. */
+        COMMIT,
+        /** Records are written and forced by a background thread; a crash loses at most one interval. */
+        INTERVAL,
+        /** Records are passed to the OS on every mutation but never forced; survives a process crash only. */
+        NONE
+    }
+
+    private static final int MAGIC = 0x5355574C;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int FLUSH_BYTES = 64 * 1024;
+    private static final long NO_SNAPSHOT = -1;
+
+    private static final byte ADD_STUDENT = 1;
+    private static final byte ADD_COURSE = 2;
+    private static final byte ENROLL = 3;
+    private static final byte ASSIGN_GRADE = 4;
+    private static final byte REMOVE_ENROLLMENT = 5;
+    private static final byte SET_CREDITS = 6;
+    private static final byte CLEAR = 7;
+
+    private final Path file;
+    private final SyncPolicy policy;
+    private final Object syncLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService flusher;
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(FLUSH_BYTES);
+    private int recordStart;
+    private long written;
+    private long appended;
+    private volatile long durable;
+    private int recoveredCount;
+
+    private WriteAheadLog(Path file, long size, SyncPolicy policy, long intervalMillis) throws IOException {
+        this.file = file;
+        this.policy = policy;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.written = size;
+        if (policy == SyncPolicy.INTERVAL) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "wal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Rebuilds a university from the snapshot and the log, then opens the
+     * log for appending and attaches it to the university. Missing files
+     * count as empty. A log that does not belong to the snapshot is moved
+     * aside to "&lt;log&gt;.stale" and not replayed.
+     *
+     * @param university Empty university to recover into
+     * @param snapshotFile Snapshot written by checkpoint
+     * @param logFile Log file
+     * @param policy When records are forced to disk
+     * @param intervalMillis Sync interval for SyncPolicy.INTERVAL
+     * @return The open log
+     * @throws IOException if a file cannot be read or the log cannot be opened
+     */
+    public static WriteAheadLog recover(University university, Path snapshotFile, Path logFile,
+                                        SyncPolicy policy, long intervalMillis) throws IOException {
+        Path directory = logFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        long base = NO_SNAPSHOT;
+        if (Files.exists(snapshotFile)) {
+            base = loadSnapshot(university, snapshotFile);
+        }
+
+        // A checkpoint that crashed after installing its snapshot leaves the matching log here
+        Path pendingLog = sibling(logFile, ".tmp");
+        if (Files.exists(pendingLog)) {
+            if (readBase(pendingLog) == base) {
+                Files.move(pendingLog, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(pendingLog);
+            }
+        }
+
+        if (Files.exists(logFile) && readBase(logFile) != base) {
+            Path stale = sibling(logFile, ".stale");
+            System.err.println("Warning: " + logFile + " does not match the snapshot; moved to " + stale);
+            Files.move(logFile, stale, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        int[] replayed = new int[1];
+        long size;
+        if (Files.exists(logFile)) {
+            size = readRecords(logFile, record -> {
+                replayed[0]++;
+                apply(record, university, replayed[0]);
+            });
+        } else {
+            writeLog(pendingLog, base, null, 0, 0);
+            Files.move(pendingLog, logFile, StandardCopyOption.ATOMIC_MOVE);
+            size = HEADER_BYTES;
+        }
+
+        WriteAheadLog log = new WriteAheadLog(logFile, size, policy, intervalMillis);
+        log.channel.truncate(size);
+        log.recoveredCount = replayed[0];
+        university.setWriteAheadLog(log);
+        return log;
+    }
+
+    /**
+     * Writes the university's current state as a snapshot and restarts the
+     * log from it. Mutations may continue while the snapshot is written;
+     * the ones made after the state was copied stay in the log.
+     *
+     * @param university University this log is attached to
+     * @param snapshotFile Snapshot to replace
+     * @throws IOException if writing fails (the previous snapshot and log stay valid)
+     */
+    public void checkpoint(University university, Path snapshotFile) throws IOException {
+        List<Student> students;
+        List<Course> courses;
+        List<Enrollment> enrollments;
+        long cut;
+        synchronized (university) {
+            students = university.getAllStudents();
+            courses = university.getAllCourses();
+            enrollments = university.getAllEnrollments();
+            cut = position();
+        }
+
+        int checksum = BinarySnapshot.write(students, courses, enrollments, snapshotFile, false);
+        rebase(checksum & 0xFFFFFFFFL, cut, BinarySnapshot.pendingPath(snapshotFile), snapshotFile);
+    }
+
+    /**
+     * Replaces the university's state with a snapshot and restarts the
+     * log from it. The snapshot is read completely before anything changes.
+     *
+     * @param university University this log is attached to
+     * @param snapshotFile Snapshot to load
+     * @throws IOException if the snapshot cannot be read or the log cannot be restarted
+     */
+    public void restore(University university, Path snapshotFile) throws IOException {
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        int checksum = BinarySnapshot.read(snapshotFile, students::add, courses::add, enrollments::add);
+
+        synchronized (university) {
+            university.setWriteAheadLog(null);
+            try {
+                university.clearAll();
+                apply(university, students, courses, enrollments);
+            } finally {
+                university.setWriteAheadLog(this);
+            }
+            rebase(checksum & 0xFFFFFFFFL, position(), null, snapshotFile);
+        }
+    }
+
+    /**
+     * @return Number of records replayed by recover
+     */
+    public int getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return policy;
+    }
+
+    /**
+     * Writes all appended records and forces them to disk.
+     *
+     * @throws IOException if writing fails
+     */
+    public void sync() throws IOException {
+        long target;
+        synchronized (this) {
+            target = appended;
+        }
+        syncTo(target);
+    }
+
+    /**
+     * Syncs and closes the log. Later mutations of an attached university fail.
+     *
+     * @throws IOException if the final sync fails
+     */
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        try {
+            sync();
+        } finally {
+            synchronized (this) {
+                channel.close();
+            }
+        }
+    }
+
+    // ==================== APPEND (called by University) ====================
+
+    synchronized long logAddStudent(Student student) {
+        begin(ADD_STUDENT);
+        pending.putInt(student.getId());
+        putString(student.getName());
+        putString(student.getMajor());
+        return end();
+    }
+
+    synchronized long logAddCourse(Course course) {
+        begin(ADD_COURSE);
+        putString(course.getCode());
+        putString(course.getTitle());
+        pending.putInt(course.getCredits());
+        putString(course.getInstructor());
+        return end();
+    }
+
+    synchronized long logEnroll(Enrollment enrollment) {
+        begin(ENROLL);
+        pending.putInt(enrollment.getStudentId());
+        putString(enrollment.getCourseCode());
+        pending.putDouble(enrollment.isGraded() ? enrollment.getGradeTenths() / 10.0 : Double.NaN);
+        return end();
+    }
+
+    synchronized long logAssignGrade(int studentId, String courseCode, double gradePercent) {
+        begin(ASSIGN_GRADE);
+        pending.putInt(studentId);
+        putString(courseCode);
+        pending.putDouble(gradePercent);
+        return end();
+    }
+
+    synchronized long logRemoveEnrollment(int studentId, String courseCode) {
+        begin(REMOVE_ENROLLMENT);
+        pending.putInt(studentId);
+        putString(courseCode);
+        return end();
+    }
+
+    synchronized long logSetCredits(Course course) {
+        begin(SET_CREDITS);
+        putString(course.getCode());
+        pending.putInt(course.getCredits());
+        return end();
+    }
+
+    synchronized long logClear() {
+        begin(CLEAR);
+        return end();
+    }
+
+    /**
+     * Waits until the record with the given sequence number is durable
+     * under the sync policy.
+     */
+    void awaitDurable(long lsn) {
+        if (policy != SyncPolicy.COMMIT || lsn <= durable) {
+            return;
+        }
+        try {
+            syncTo(lsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Write-ahead log sync failed", e);
+        }
+    }
+
+    private void begin(byte op) {
+        recordStart = pending.position();
+        ensureRemaining(9);
+        pending.position(recordStart + 8);
+        pending.put(op);
+    }
+
+    private void putString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensureRemaining(4 + bytes.length);
+        pending.putInt(bytes.length);
+        pending.put(bytes);
+    }
+
+    /**
+     * Fills in the record's length and checksum and hands it on per the policy.
+     */
+    private long end() {
+        ensureRemaining(8);
+        int length = pending.position() - recordStart - 8;
+        crc.reset();
+        crc.update(pending.array(), recordStart + 8, length);
+        pending.putInt(recordStart, length);
+        pending.putInt(recordStart + 4, (int) crc.getValue());
+        appended++;
+
+        if (policy == SyncPolicy.NONE || pending.position() >= FLUSH_BYTES) {
+            try {
+                writePending();
+            } catch (IOException e) {
+                pending.position(recordStart);
+                appended--;
+                throw new UncheckedIOException("Write-ahead log append failed", e);
+            }
+        }
+        return appended;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+    }
+
+    /**
+     * Writes buffered records to the file. Caller holds this lock.
+     * On failure nothing is consumed, so a retry rewrites the same bytes.
+     */
+    private void writePending() throws IOException {
+        ByteBuffer out = pending.duplicate();
+        out.flip();
+        long at = written;
+        while (out.hasRemaining()) {
+            at += channel.write(out, at);
+        }
+        written = at;
+        pending.clear();
+    }
+
+    /**
+     * Group commit: one caller writes and forces everything appended so
+     * far while later callers queue on syncLock; when their turn comes,
+     * their records are usually already durable.
+     */
+    private void syncTo(long lsn) throws IOException {
+        synchronized (syncLock) {
+            if (lsn <= durable) {
+                return;
+            }
+            long upTo;
+            synchronized (this) {
+                writePending();
+                upTo = appended;
+            }
+            channel.force(false);
+            durable = upTo;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Warning: Write-ahead log sync failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Log size in bytes including records not yet written
+     */
+    private synchronized long position() {
+        return written + pending.position();
+    }
+
+    /**
+     * Starts a new log for the given base that keeps the records after
+     * cut, installs the pending snapshot (if any) and then the new log.
+     * Each step leaves a snapshot and log pair that recover accepts.
+     */
+    private void rebase(long base, long cut, Path pendingSnapshot, Path snapshotFile) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                writePending();
+                Path pendingLog = sibling(file, ".tmp");
+                writeLog(pendingLog, base, channel, cut, written - cut);
+                if (pendingSnapshot != null) {
+                    Files.move(pendingSnapshot, snapshotFile,
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                Files.move(pendingLog, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                channel.close();
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                written = HEADER_BYTES + written - cut;
+                durable = appended;
+            }
+        }
+    }
+
+    // ==================== FILES AND REPLAY ====================
+
+    /**
+     * Writes a complete log file (header and the given records) and forces it.
+     */
+    private static void writeLog(Path target, long base, FileChannel source, long from, long count)
+            throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(base).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            long copied = 0;
+            while (copied < count) {
+                copied += source.transferTo(from + copied, count - copied, out);
+            }
+            out.force(true);
+        }
+    }
+
+    private static long readBase(Path logFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(logFile))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a write-ahead log: " + logFile);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported write-ahead log version " + version);
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            throw new IOException("Not a write-ahead log: " + logFile, e);
+        }
+    }
+
+    /**
+     * Passes each intact record to the handler, stopping at a torn or
+     * damaged record.
+     * @return Size of the intact part of the file
+     */
+    private static long readRecords(Path logFile, Consumer<ByteBuffer> handler) throws IOException {
+        long size = Files.size(logFile);
+        long position = HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            in.skipBytes(HEADER_BYTES);
+            while (size - position >= 8) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || length > size - position - 8) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                handler.accept(ByteBuffer.wrap(payload));
+                position += 8 + length;
+            }
+        }
+        if (position < size) {
+            System.err.println("Warning: Dropping " + (size - position) + " bytes of incomplete log records");
+        }
+        return position;
+    }
+
+    /**
+     * Replays one record; a record that no longer applies is skipped with a warning.
+     */
+    private static void apply(ByteBuffer record, University university, int number) {
+        try {
+            byte op = record.get();
+            switch (op) {
+                case ADD_STUDENT:
+                    int id = record.getInt();
+                    String name = getString(record);
+                    university.addStudent(new Student(id, name, getString(record)));
+                    break;
+                case ADD_COURSE:
+                    String code = getString(record);
+                    String title = getString(record);
+                    int credits = record.getInt();
+                    university.addCourse(new Course(code, title, credits, getString(record)));
+                    break;
+                case ENROLL:
+                    int studentId = record.getInt();
+                    String courseCode = getString(record);
+                    double grade = record.getDouble();
+                    university.addEnrollment(new Enrollment(studentId, courseCode, Double.isNaN(grade) ? null : grade));
+                    break;
+                case ASSIGN_GRADE:
+                    int gradedId = record.getInt();
+                    String gradedCode = getString(record);
+                    university.assignGrade(gradedId, gradedCode, record.getDouble());
+                    break;
+                case REMOVE_ENROLLMENT:
+                    int removedId = record.getInt();
+                    university.removeEnrollment(removedId, getString(record));
+                    break;
+                case SET_CREDITS:
+                    Course course = university.getCourse(getString(record));
+                    if (course == null) {
+                        throw new IllegalArgumentException("Course not found");
+                    }
+                    course.setCredits(record.getInt());
+                    break;
+                case CLEAR:
+                    university.clearAll();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + op);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Warning: Skipping log record " + number + ": " + e.getMessage());
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        String s = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return s;
+    }
+
+    /**
+     * Loads a snapshot into an empty university.
+     * @return Snapshot checksum as a log base
+     */
+    private static long loadSnapshot(University university, Path snapshotFile) throws IOException {
+        List<Student> students = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        int checksum = BinarySnapshot.read(snapshotFile, students::add, courses::add, enrollments::add);
+        apply(university, students, courses, enrollments);
+        return checksum & 0xFFFFFFFFL;
+    }
+
+    private static void apply(University university, List<Student> students, List<Course> courses,
+                              List<Enrollment> enrollments) {
+        students.forEach(university::addStudent);
+        courses.forEach(university::addCourse);
+        EnrollmentBatchResult result = university.enrollAll(enrollments);
+        if (!result.isSuccessful()) {
+            System.err.println("Warning: Snapshot enrollments: " + result);
+        }
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+}
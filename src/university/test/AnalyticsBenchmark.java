@@ -0,0 +1,81 @@
+package university.test;
+
+import university.service.EnrollmentAnalytics;
+import university.service.University;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark for EnrollmentAnalytics over 10M enrollments. Runs each query
+ * on pools of 1, 2, 4, ... workers up to the number of processors and
+ * reports the time and the speedup over one worker.
+ * No inheritance - composition only design.
+ *
+ * Run: java -Xms3g -Xmx3g -cp out university.test.AnalyticsBenchmark
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class AnalyticsBenchmark {
+
+    private static final int STUDENTS = 250_000;
+    private static final int COURSES_PER_STUDENT = 40;
+    private static final int COURSES = 2_000;
+    private static final int ROUNDS = 5;
+
+    private AnalyticsBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println("========================================");
+        System.out.println("  Analytics Benchmark");
+        System.out.println("========================================");
+
+        University university = new University();
+        for (int c = 0; c < COURSES; c++) {
+            university.addCourse("AB" + (1000 + c), "Course " + c, 1 + c % 4, "Instructor " + c % 150);
+        }
+        Random random = new Random(3);
+        for (int id = 1; id <= STUDENTS; id++) {
+            university.addStudent(id, "Student " + id, "Major " + id % 40);
+            for (int k = 0; k < COURSES_PER_STUDENT; k++) {
+                String code = "AB" + (1000 + (id * 13 + k) % COURSES);
+                university.enroll(id, code);
+                university.assignGrade(id, code, random.nextInt(1001) / 10.0);
+            }
+        }
+        System.out.printf("  Enrollments: %,d%n", university.getEnrollmentCount());
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        long[] baseline = new long[3];
+        for (int workers = 1; workers <= processors; workers *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                EnrollmentAnalytics analytics = new EnrollmentAnalytics(university, pool);
+                long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    analytics.averageGradeByCourse();
+                    long courses = System.nanoTime();
+                    analytics.gradeDistributionByInstructor();
+                    long instructors = System.nanoTime();
+                    analytics.gpaByMajor();
+                    long majors = System.nanoTime();
+                    best[0] = Math.min(best[0], courses - start);
+                    best[1] = Math.min(best[1], instructors - courses);
+                    best[2] = Math.min(best[2], majors - instructors);
+                }
+                if (workers == 1) {
+                    baseline = best;
+                }
+                System.out.printf("  %2d workers: course avg %5d ms (%.1fx), instructor dist %5d ms (%.1fx), "
+                        + "major GPA %5d ms (%.1fx)%n", workers,
+                        best[0] / 1_000_000, (double) baseline[0] / best[0],
+                        best[1] / 1_000_000, (double) baseline[1] / best[1],
+                        best[2] / 1_000_000, (double) baseline[2] / best[2]);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package university.test;
+
+import university.service.AutoSaver;
+import university.service.IncrementalSaver;
+import university.service.University;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for AutoSaver class.
+ * Background saves are awaited by polling, with a generous timeout.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class AutoSaverTest {
+
+    private AutoSaverTest() {}
+
+    /**
+     * Reaching the mutation threshold saves without an explicit save.
+     */
+    public static boolean testMutationThreshold() {
+        Path dir = null;
+        AutoSaver autoSaver = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            University uni = new University();
+            autoSaver = new AutoSaver(uni, new IncrementalSaver(dir), 0, 10);
+            addSampleData(uni);
+            AutoSaver saving = autoSaver;
+            boolean saved = waitFor(() -> saving.getSaveCount() > 0);
+
+            University loaded = new University();
+            new IncrementalSaver(dir).load(loaded);
+            return saved &&
+                   loaded.getEnrollmentCount() == 3 &&
+                   loaded.computeGpa(1001) == uni.computeGpa(1001);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            closeQuietly(autoSaver);
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * A change below the threshold is saved once the interval passes.
+     */
+    public static boolean testInterval() {
+        Path dir = null;
+        AutoSaver autoSaver = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            University uni = new University();
+            addSampleData(uni);
+            new IncrementalSaver(dir).save(uni);
+            autoSaver = new AutoSaver(uni, new IncrementalSaver(dir), 100, 1000);
+            uni.assignGrade(1002, "CS101", 55);
+            AutoSaver saving = autoSaver;
+            boolean saved = waitFor(() -> saving.getSaveCount() == 1);
+
+            University loaded = new University();
+            new IncrementalSaver(dir).load(loaded);
+            return saved && loaded.getEnrollment(1002, "CS101").getGradePercent() == 55.0;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            closeQuietly(autoSaver);
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * close saves changes that did not reach a limit yet.
+     */
+    public static boolean testCloseSavesRemainingChanges() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            University uni = new University();
+            AutoSaver autoSaver = new AutoSaver(uni, new IncrementalSaver(dir), 60_000, 1000);
+            addSampleData(uni);
+            autoSaver.close();
+
+            University loaded = new University();
+            new IncrementalSaver(dir).load(loaded);
+            return autoSaver.getSaveCount() == 0 &&
+                   loaded.getStudentCount() == 2 &&
+                   loaded.getEnrollmentCount() == 3;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private static void addSampleData(University uni) {
+        uni.addStudent(1001, "Ali Yilmaz", "Bilgisayar Muhendisligi");
+        uni.addStudent(1002, "Ayse Demir", "Yazilim Muhendisligi");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Lineer Cebir", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.assignGrade(1001, "CS101", 86);
+        uni.assignGrade(1001, "MATH201", 72.5);
+        uni.assignGrade(1002, "CS101", 90);
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void closeQuietly(AutoSaver autoSaver) {
+        if (autoSaver == null) {
+            return;
+        }
+        try {
+            autoSaver.close();
+        } catch (IOException e) {
+            // test cleanup
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+}
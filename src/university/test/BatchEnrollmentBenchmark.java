@@ -0,0 +1,100 @@
+package university.test;
+
+import university.model.Enrollment;
+import university.service.EnrollmentBatchResult;
+import university.service.University;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark comparing batch enrollment (University.enrollAll) with a loop
+ * of single University.enroll calls over the same requests.
+ * No inheritance - composition only design.
+ * 
+ * Run: java -cp out university.test.BatchEnrollmentBenchmark
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class BatchEnrollmentBenchmark {
+
+    private static final int COURSES = 50;
+    private static final int STUDENTS = 4_000;
+    private static final int ROUNDS = 5;
+
+    private BatchEnrollmentBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println("========================================");
+        System.out.println("  Batch Enrollment Benchmark");
+        System.out.println("========================================");
+
+        long bestLoop = Long.MAX_VALUE;
+        long bestBatch = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            bestLoop = Math.min(bestLoop, runLoop());
+            bestBatch = Math.min(bestBatch, runBatch());
+        }
+
+        int total = COURSES * STUDENTS;
+        System.out.printf("  Per-call loop: %6d ms  (%,.0f enrollments/s)%n",
+                bestLoop / 1_000_000, total * 1e9 / bestLoop);
+        System.out.printf("  enrollAll:     %6d ms  (%,.0f enrollments/s)%n",
+                bestBatch / 1_000_000, total * 1e9 / bestBatch);
+        System.out.printf("  Speedup: %.2fx%n", (double) bestLoop / bestBatch);
+    }
+
+    private static University newUniversity() {
+        University uni = new University();
+        for (int c = 0; c < COURSES; c++) {
+            uni.addCourse("C" + c, "Course " + c, 3, "Dr. Bench");
+        }
+        for (int s = 1; s <= STUDENTS; s++) {
+            uni.addStudent(s, "Student " + s, "CS");
+        }
+        return uni;
+    }
+
+    private static long runLoop() {
+        University uni = newUniversity();
+        List<String[]> pairs = new ArrayList<>(COURSES * STUDENTS);
+        for (int s = 1; s <= STUDENTS; s++) {
+            for (int c = 0; c < COURSES; c++) {
+                pairs.add(new String[] {String.valueOf(s), "c" + c});
+            }
+        }
+
+        long start = System.nanoTime();
+        for (String[] pair : pairs) {
+            try {
+                uni.enroll(Integer.parseInt(pair[0]), pair[1]);
+            } catch (IllegalArgumentException e) {
+                // counted as a failure, same as in the batch
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runBatch() {
+        University uni = newUniversity();
+        List<String[]> pairs = new ArrayList<>(COURSES * STUDENTS);
+        for (int s = 1; s <= STUDENTS; s++) {
+            for (int c = 0; c < COURSES; c++) {
+                pairs.add(new String[] {String.valueOf(s), "c" + c});
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Enrollment> requests = new ArrayList<>(pairs.size());
+        for (String[] pair : pairs) {
+            requests.add(new Enrollment(Integer.parseInt(pair[0]), pair[1]));
+        }
+        EnrollmentBatchResult result = uni.enrollAll(requests);
+        long elapsed = System.nanoTime() - start;
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException(result.toString());
+        }
+        return elapsed;
+    }
+}
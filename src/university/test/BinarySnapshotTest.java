@@ -0,0 +1,171 @@
+package university.test;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.service.University;
+import university.util.BinarySnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for BinarySnapshot class.
+ * Tests round trips and rejection of damaged files.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class BinarySnapshotTest {
+
+    private BinarySnapshotTest() {}
+
+    public static boolean testRoundTrip() {
+        try {
+            University uni = newUniversity();
+            Path file = Files.createTempFile("smartuniversity", ".snapshot");
+            BinarySnapshot.write(uni.getAllStudents(), uni.getAllCourses(), uni.getAllEnrollments(), file);
+
+            University restored = new University();
+            List<Enrollment> enrollments = new ArrayList<>();
+            BinarySnapshot.read(file, restored::addStudent, restored::addCourse, enrollments::add);
+            restored.enrollAll(enrollments);
+            Files.delete(file);
+
+            return restored.getStudentCount() == 3 &&
+                   restored.getCourseCount() == 2 &&
+                   restored.getEnrollmentCount() == 4 &&
+                   restored.getStudent(1002).getName().equals("Ayşe \"AJ\" Demir") &&
+                   restored.getStudent(1003).getMajor() == restored.getStudent(1001).getMajor() &&
+                   restored.getCourse("MATH201").getCredits() == 3 &&
+                   !restored.getStudentEnrollments(1003).get(0).isGraded() &&
+                   restored.computeGpa(1001) == uni.computeGpa(1001);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testEmptyRoundTrip() {
+        try {
+            Path file = Files.createTempFile("smartuniversity", ".snapshot");
+            BinarySnapshot.write(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), file);
+            int[] count = new int[1];
+            BinarySnapshot.read(file, s -> count[0]++, c -> count[0]++, e -> count[0]++);
+            Files.delete(file);
+            return count[0] == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testCorruptionDetected() {
+        Path file = null;
+        try {
+            University uni = newUniversity();
+            file = Files.createTempFile("smartuniversity", ".snapshot");
+            BinarySnapshot.write(uni.getAllStudents(), uni.getAllCourses(), uni.getAllEnrollments(), file);
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 0x01;
+            Files.write(file, bytes);
+
+            int[] count = new int[1];
+            BinarySnapshot.read(file, s -> count[0]++, c -> count[0]++, e -> count[0]++);
+            return false;
+        } catch (IOException e) {
+            return e.getMessage().contains("checksum");
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    public static boolean testNotASnapshotRejected() {
+        Path file = null;
+        try {
+            file = Files.createTempFile("smartuniversity", ".snapshot");
+            Files.write(file, "studentId,courseCode,gradePercent\n".getBytes("UTF-8"));
+            BinarySnapshot.read(file, s -> {}, c -> {}, e -> {});
+            return false;
+        } catch (IOException e) {
+            return true;
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * A write that fails part way (the student list throws on its second
+     * pass, after the temp file is opened) leaves the previous snapshot
+     * readable and no temp file behind.
+     */
+    public static boolean testFailedWriteKeepsPrevious() {
+        Path file = null;
+        try {
+            University uni = newUniversity();
+            file = Files.createTempFile("smartuniversity", ".snapshot");
+            BinarySnapshot.write(uni.getAllStudents(), uni.getAllCourses(), uni.getAllEnrollments(), file);
+            Student student = uni.getStudent(1001);
+            List<Student> failing = new AbstractList<Student>() {
+                private int reads;
+
+                @Override
+                public Student get(int index) {
+                    if (++reads > 1) {
+                        throw new IllegalStateException("disk full");
+                    }
+                    return student;
+                }
+
+                @Override
+                public int size() {
+                    return 1;
+                }
+            };
+            try {
+                BinarySnapshot.write(failing, uni.getAllCourses(), new ArrayList<>(), file);
+                return false;
+            } catch (IllegalStateException expected) {
+                // the previous snapshot must survive
+            }
+
+            int[] count = new int[1];
+            BinarySnapshot.read(file, s -> count[0]++, c -> count[0]++, e -> count[0]++);
+            return count[0] == 9 && !Files.exists(BinarySnapshot.pendingPath(file));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private static University newUniversity() {
+        University uni = new University();
+        uni.addStudent(1001, "Ali Yilmaz", "Bilgisayar Muhendisligi");
+        uni.addStudent(1002, "Ayşe \"AJ\" Demir", "Yazilim Muhendisligi");
+        uni.addStudent(1003, "Mehmet Kaya", "Bilgisayar Muhendisligi");
+        uni.addCourse("CS101", "Programming, Part 1", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Lineer Cebir", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.enroll(1003, "MATH201");
+        uni.assignGrade(1001, "CS101", 86.5);
+        uni.assignGrade(1001, "MATH201", 72);
+        uni.assignGrade(1002, "CS101", 90);
+        return uni;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            // temp file, left for the OS to clean up
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package university.test;
+
+import university.model.Enrollment;
+import university.util.CSVExporter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark for the enrollments export. Compares formatting rows with
+ * String.format (the former toCSV) against appendCSV into one reused
+ * StringBuilder, reporting rows/s and heap allocated per row, then times
+ * a full CSVExporter.exportEnrollments to a temp file.
+ * No inheritance - composition only design.
+ *
+ * Run: java -cp out university.test.CSVExportBenchmark
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVExportBenchmark {
+
+    private static final int ROWS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    private CSVExportBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("========================================");
+        System.out.println("  CSV Export Benchmark");
+        System.out.println("========================================");
+
+        List<Enrollment> enrollments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            enrollments.add(i % 5 == 0
+                    ? new Enrollment(100_000 + i / 40, "C" + (i % 400))
+                    : new Enrollment(100_000 + i / 40, "C" + (i % 400), 50.0 + i % 500 / 10.0));
+        }
+
+        long bestFormat = Long.MAX_VALUE;
+        long bestAppend = Long.MAX_VALUE;
+        long formatBytes = 0;
+        long appendBytes = 0;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (Enrollment e : enrollments) {
+                String grade = e.isGraded() ? String.format("%.1f", e.getGradePercent()) : "";
+                checksum += String.format("%d,%s,%s", e.getStudentId(), e.getCourseCode(), grade).length();
+            }
+            bestFormat = Math.min(bestFormat, System.nanoTime() - start);
+            formatBytes = allocated < 0 ? -1 : allocatedBytes() - allocated;
+
+            StringBuilder row = new StringBuilder(128);
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            for (Enrollment e : enrollments) {
+                row.setLength(0);
+                checksum -= e.appendCSV(row).length();
+            }
+            bestAppend = Math.min(bestAppend, System.nanoTime() - start);
+            appendBytes = allocated < 0 ? -1 : allocatedBytes() - allocated;
+        }
+        if (checksum != 0) {
+            throw new IllegalStateException("Formatted rows differ");
+        }
+
+        long bestExport = Long.MAX_VALUE;
+        Path file = Files.createTempFile("smartuniversity-bench", ".csv");
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                CSVExporter.exportEnrollments(enrollments, file);
+                bestExport = Math.min(bestExport, System.nanoTime() - start);
+            }
+            System.out.printf("  Rows: %,d (%,d bytes exported)%n", ROWS, Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        System.out.printf("  String.format: %6d ms  (%,.0f rows/s, %s bytes/row)%n",
+                bestFormat / 1_000_000, ROWS * 1e9 / bestFormat, perRow(formatBytes));
+        System.out.printf("  appendCSV:     %6d ms  (%,.0f rows/s, %s bytes/row)%n",
+                bestAppend / 1_000_000, ROWS * 1e9 / bestAppend, perRow(appendBytes));
+        System.out.printf("  Formatting speedup: %.2fx%n", (double) bestFormat / bestAppend);
+        System.out.printf("  exportEnrollments: %6d ms  (%,.0f rows/s)%n",
+                bestExport / 1_000_000, ROWS * 1e9 / bestExport);
+    }
+
+    /**
+     * @return Bytes allocated by this thread so far, or -1 if the JVM does not report it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static String perRow(long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1f", (double) bytes / ROWS);
+    }
+}
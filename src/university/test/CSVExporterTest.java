@@ -0,0 +1,200 @@
+package university.test;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.util.CSVExporter;
+import university.util.CSVImporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for CSVExporter class.
+ * A crash is simulated by leaving temp files in the export directory
+ * the way an interrupted export would.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVExporterTest {
+
+    private CSVExporterTest() {}
+
+    /**
+     * Each export is a new generation whose files pass verification.
+     */
+    public static boolean testExportAllRoundTrip() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            long first = exportSample(dir, 86.0);
+            long second = exportSample(dir, 55.5);
+            long verified = CSVImporter.recoverExport(dir);
+            List<Enrollment> enrollments = CSVImporter.importEnrollments(dir.resolve(CSVExporter.ENROLLMENTS_FILE));
+
+            return first == 1 && second == 2 && verified == 2 &&
+                   enrollments.size() == 1 &&
+                   enrollments.get(0).getGradePercent() == 55.5 &&
+                   !Files.exists(dir.resolve("enrollments.csv.tmp"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Temp files of a committed generation are moved into place on recovery.
+     */
+    public static boolean testCommittedExportRolledForward() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            exportSample(dir, 86.0);
+            Path enrollments = dir.resolve(CSVExporter.ENROLLMENTS_FILE);
+            byte[] oldFile = Files.readAllBytes(enrollments);
+            exportSample(dir, 55.5);
+
+            // Crash after the manifest was committed, before the rename
+            Files.move(enrollments, dir.resolve("enrollments.csv.tmp"), StandardCopyOption.REPLACE_EXISTING);
+            Files.write(enrollments, oldFile);
+
+            CSVImporter.recoverExport(dir);
+            return CSVImporter.importEnrollments(enrollments).get(0).getGradePercent() == 55.5 &&
+                   !Files.exists(dir.resolve("enrollments.csv.tmp"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Temp files of an export that never committed are discarded.
+     */
+    public static boolean testUncommittedExportDiscarded() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            exportSample(dir, 86.0);
+            Files.write(dir.resolve("students.csv.tmp"), "id,name,major\n1001,Ali".getBytes("UTF-8"));
+
+            long generation = CSVImporter.recoverExport(dir);
+            return generation == 1 &&
+                   !Files.exists(dir.resolve("students.csv.tmp")) &&
+                   CSVImporter.importStudents(dir.resolve(CSVExporter.STUDENTS_FILE)).size() == 1;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * A truncated file is reported instead of loaded.
+     */
+    public static boolean testTruncatedFileDetected() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            exportSample(dir, 86.0);
+            Path students = dir.resolve(CSVExporter.STUDENTS_FILE);
+            byte[] bytes = Files.readAllBytes(students);
+            Files.write(students, Arrays.copyOf(bytes, bytes.length - 5));
+
+            try {
+                CSVImporter.recoverExport(dir);
+                return false;
+            } catch (IOException e) {
+                return e.getMessage().contains("does not match");
+            }
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Quotes, commas and non-ASCII text survive an export and import;
+     * grades are written with one decimal.
+     */
+    public static boolean testQuotedAndUnicodeRoundTrip() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            String name = "Ay\u015fe \"Ace\" \u00c7elik \uD83C\uDF93";
+            CSVExporter.exportAll(
+                    Collections.singletonList(new Student(1001, name, "M\u00fchendislik")),
+                    Collections.singletonList(new Course("CS101", "Intro, \"Basics\"", 4, "Dr. \"Q\"")),
+                    Arrays.asList(new Enrollment(1001, "CS101", 100.0), new Enrollment(1002, "CS101", 0.0),
+                            new Enrollment(1003, "CS101", 86.5), new Enrollment(1004, "CS101")),
+                    dir);
+            CSVImporter.recoverExport(dir);
+            List<Student> students = CSVImporter.importStudents(dir.resolve(CSVExporter.STUDENTS_FILE));
+            List<Course> courses = CSVImporter.importCourses(dir.resolve(CSVExporter.COURSES_FILE));
+            List<String> lines = Files.readAllLines(dir.resolve(CSVExporter.ENROLLMENTS_FILE));
+
+            return students.get(0).getName().equals(name) &&
+                   students.get(0).getMajor().equals("M\u00fchendislik") &&
+                   courses.get(0).getTitle().equals("Intro, \"Basics\"") &&
+                   courses.get(0).getInstructor().equals("Dr. \"Q\"") &&
+                   lines.subList(1, lines.size()).equals(
+                           Arrays.asList("1001,CS101,100.0", "1002,CS101,0.0", "1003,CS101,86.5", "1004,CS101,"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Text that is not valid UTF-16 fails the export and leaves no file.
+     */
+    public static boolean testInvalidTextRejected() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            Path file = dir.resolve(CSVExporter.STUDENTS_FILE);
+            try {
+                CSVExporter.exportStudents(
+                        Collections.singletonList(new Student(1001, "Broken \uD83C name", "CS")), file);
+                return false;
+            } catch (IOException e) {
+                return !Files.exists(file) && !Files.exists(dir.resolve("students.csv.tmp"));
+            }
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private static long exportSample(Path dir, double grade) throws IOException {
+        return CSVExporter.exportAll(
+                Collections.singletonList(new Student(1001, "Ali Yilmaz", "Bilgisayar Muhendisligi")),
+                Collections.singletonList(new Course("CS101", "Programming", 4, "Dr. Smith")),
+                Collections.singletonList(new Enrollment(1001, "CS101", grade)),
+                dir);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+}
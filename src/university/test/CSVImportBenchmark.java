@@ -0,0 +1,68 @@
+package university.test;
+
+import university.util.CSVImporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark comparing the buffered enrollments import (line Strings
+ * through a UTF-8 reader) with the memory-mapped import over the same file.
+ * No inheritance - composition only design.
+ * 
+ * Run: java -cp out university.test.CSVImportBenchmark
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVImportBenchmark {
+
+    private static final int ROWS = 2_000_000;
+    private static final int ROUNDS = 10;
+
+    private CSVImportBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("========================================");
+        System.out.println("  CSV Import Benchmark");
+        System.out.println("========================================");
+
+        Path file = Files.createTempFile("smartuniversity-bench", ".csv");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("studentId,courseCode,gradePercent\n");
+                for (int i = 0; i < ROWS; i++) {
+                    writer.write((100_000 + i / 40) + ",C" + (i % 400) + "," + (i % 5 == 0 ? "" : (50 + i % 50) + ".5") + "\n");
+                }
+            }
+
+            long bestBuffered = Long.MAX_VALUE;
+            long bestMapped = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long[] count = new long[1];
+                long start = System.nanoTime();
+                CSVImporter.importEnrollments(file, e -> count[0]++);
+                bestBuffered = Math.min(bestBuffered, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                CSVImporter.importEnrollmentsMapped(file, e -> count[0]++);
+                bestMapped = Math.min(bestMapped, System.nanoTime() - start);
+                if (count[0] != 2L * ROWS) {
+                    throw new IllegalStateException("Imported " + count[0] + " of " + 2L * ROWS);
+                }
+            }
+
+            System.out.printf("  File: %,d rows, %,d bytes%n", ROWS, Files.size(file));
+            System.out.printf("  Buffered: %6d ms  (%,.0f rows/s)%n",
+                    bestBuffered / 1_000_000, ROWS * 1e9 / bestBuffered);
+            System.out.printf("  Mapped:   %6d ms  (%,.0f rows/s)%n",
+                    bestMapped / 1_000_000, ROWS * 1e9 / bestMapped);
+            System.out.printf("  Speedup: %.2fx%n", (double) bestBuffered / bestMapped);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package university.test;
+
+import university.model.Enrollment;
+import university.model.Student;
+import university.service.University;
+import university.util.CSVImporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for CSVImporter class.
+ * Tests list, sink and stream imports from temporary files.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVImporterTest {
+
+    private CSVImporterTest() {}
+
+    public static boolean testImportStudentsList() {
+        try {
+            Path file = writeTemp("id,name,major",
+                    "1001,\"Alice Johnson\",\"CS\"",
+                    "",
+                    "1002,\"Bob\",\"SE\"");
+            List<Student> students = CSVImporter.importStudents(file);
+            Files.delete(file);
+            return students.size() == 2 &&
+                   students.get(0).getName().equals("Alice Johnson") &&
+                   students.get(1).getId() == 1002;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testImportIntoSink() {
+        try {
+            Path students = writeTemp("id,name,major", "1001,\"Alice\",\"CS\"");
+            Path courses = writeTemp("code,title,credits,instructor", "\"CS101\",\"Programming\",4,\"Dr. Smith\"");
+            Path enrollments = writeTemp("studentId,courseCode,gradePercent", "1001,CS101,86.0");
+            
+            University uni = new University();
+            int count = CSVImporter.importStudents(students, uni::addStudent)
+                    + CSVImporter.importCourses(courses, uni::addCourse)
+                    + CSVImporter.importEnrollments(enrollments, uni::addEnrollment);
+            Files.delete(students);
+            Files.delete(courses);
+            Files.delete(enrollments);
+            
+            return count == 3 && Math.abs(uni.computeGpa(1001) - 3.7) < 0.001;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testStreamSkipsInvalidLines() {
+        try {
+            Path file = writeTemp("studentId,courseCode,gradePercent",
+                    "1001,CS101,86.0",
+                    "oops,CS101,",
+                    "1002,MATH201,");
+            List<Enrollment> enrollments;
+            try (Stream<Enrollment> stream = CSVImporter.streamEnrollments(file)) {
+                enrollments = stream.collect(Collectors.toList());
+            }
+            Files.delete(file);
+            return enrollments.size() == 2 &&
+                   enrollments.get(0).isGraded() &&
+                   !enrollments.get(1).isGraded();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testStreamIsLazy() {
+        try {
+            Path file = writeTemp("studentId,courseCode,gradePercent",
+                    "1001,CS101,86.0",
+                    "1002,CS101,70.0",
+                    "1003,CS101,50.0");
+            Enrollment first;
+            try (Stream<Enrollment> stream = CSVImporter.streamEnrollments(file)) {
+                first = stream.findFirst().orElse(null);
+            }
+            Files.delete(file);
+            return first != null && first.getStudentId() == 1001;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testQuotedLineBreak() {
+        try {
+            Path file = writeTemp("code,title,credits,instructor",
+                    "\"CS101\",\"Programming",
+                    "Part \"\"One\"\"\",4,\"Dr. Smith\"",
+                    "\"MATH201\",\"Math\",3,\"Dr. Ada\"");
+            List<university.model.Course> courses = CSVImporter.importCourses(file);
+            Files.delete(file);
+            return courses.size() == 2 &&
+                   courses.get(0).getTitle().equals("Programming\nPart \"One\"") &&
+                   courses.get(1).getCode().equals("MATH201");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testMappedMatchesBuffered() {
+        try {
+            Path file = writeTemp("studentId,courseCode,gradePercent",
+                    "",
+                    "1001,CS101,86.0",
+                    " 1002 , \"cs101\" , 70.25 ",
+                    "oops,CS101,",
+                    "-7,MATH201,",
+                    "1003,\"MATH201\",1e2\r");
+            List<Enrollment> buffered = CSVImporter.importEnrollments(file);
+            List<Enrollment> mapped = new java.util.ArrayList<>();
+            int count = CSVImporter.importEnrollmentsMapped(file, mapped::add);
+            Files.delete(file);
+            
+            if (count != 3 || mapped.size() != buffered.size()) {
+                return false;
+            }
+            for (int i = 0; i < mapped.size(); i++) {
+                Enrollment a = mapped.get(i);
+                Enrollment b = buffered.get(i);
+                if (a.getStudentId() != b.getStudentId() ||
+                    !a.getCourseCode().equals(b.getCourseCode()) ||
+                    !java.util.Objects.equals(a.getGradePercent(), b.getGradePercent())) {
+                    return false;
+                }
+            }
+            return mapped.get(1).getCourseCode().equals("CS101") &&
+                   mapped.get(1).getGradePercent() == 70.2 &&
+                   mapped.get(2).getGradePercent() == 100.0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static boolean testMappedByteRanges() {
+        try {
+            List<String> lines = new java.util.ArrayList<>();
+            lines.add("studentId,courseCode,gradePercent");
+            for (int i = 1; i <= 200; i++) {
+                lines.add(i + ",CS" + (i % 7) + "," + (i % 3 == 0 ? "" : "75.5"));
+            }
+            Path file = writeTemp(lines.toArray(new String[0]));
+            
+            long[] bounds = CSVImporter.splitAtLines(file, 100);
+            List<Enrollment> ranged = new java.util.ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                CSVImporter.importEnrollmentsMapped(file, bounds[i], bounds[i + 1], ranged::add);
+            }
+            List<Enrollment> whole = new java.util.ArrayList<>();
+            CSVImporter.importEnrollmentsMapped(file, whole::add);
+            Files.delete(file);
+            
+            if (ranged.size() != 200) {
+                return false;
+            }
+            for (int i = 0; i < 200; i++) {
+                Enrollment e = ranged.get(i);
+                if (e.getStudentId() != i + 1 || e.isGraded() == ((i + 1) % 3 == 0)) {
+                    return false;
+                }
+            }
+            // Repeated course codes share one String
+            return whole.get(0).getCourseCode() == whole.get(7).getCourseCode();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path writeTemp(String... lines) throws IOException {
+        Path file = Files.createTempFile("smartuniversity", ".csv");
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
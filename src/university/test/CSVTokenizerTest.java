@@ -0,0 +1,92 @@
+package university.test;
+
+import university.model.Student;
+import university.util.CSVTokenizer;
+
+/**
+ * Unit tests for CSVTokenizer class.
+ * Tests RFC 4180 quoting, trimming and numeric field parsing.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVTokenizerTest {
+
+    private CSVTokenizerTest() {}
+
+    public static boolean testSplitsQuotedAndPlainFields() {
+        CSVTokenizer t = new CSVTokenizer();
+        boolean complete = t.reset("1001, \"Alice, Johnson\" ,CS,");
+        return complete &&
+               t.getFieldCount() == 4 &&
+               t.getString(0).equals("1001") &&
+               t.getString(1).equals("Alice, Johnson") &&
+               t.getString(2).equals("CS") &&
+               t.isEmpty(3);
+    }
+
+    public static boolean testEscapedQuotes() {
+        CSVTokenizer t = new CSVTokenizer();
+        t.reset("\"Say \"\"hi\"\"\",\"\"\"\"");
+        return t.getFieldCount() == 2 &&
+               t.getString(0).equals("Say \"hi\"") &&
+               t.getString(1).equals("\"");
+    }
+
+    public static boolean testQuotedLineBreak() {
+        CSVTokenizer t = new CSVTokenizer();
+        boolean first = t.reset("1001,\"Line one");
+        boolean second = t.append("line two\",CS");
+        return !first && second &&
+               t.getFieldCount() == 3 &&
+               t.getString(1).equals("Line one\nline two");
+    }
+
+    public static boolean testReuseAcrossRecords() {
+        CSVTokenizer t = new CSVTokenizer();
+        t.reset("\"a very long first record that grows the buffer\",1,2,3,4,5,6,7,8,9,10");
+        t.reset("x,y");
+        return t.getFieldCount() == 2 && t.getString(0).equals("x") && t.getString(1).equals("y");
+    }
+
+    public static boolean testParseNumbers() {
+        CSVTokenizer t = new CSVTokenizer();
+        t.reset("1001,-42,86.5,0.05,1e2,100,2147483647,-2147483648");
+        return t.getInt(0) == 1001 &&
+               t.getInt(1) == -42 &&
+               t.getDouble(2) == 86.5 &&
+               t.getDouble(3) == 0.05 &&
+               t.getDouble(4) == 100.0 &&
+               t.getDouble(5) == 100.0 &&
+               t.getInt(6) == Integer.MAX_VALUE &&
+               t.getInt(7) == Integer.MIN_VALUE;
+    }
+
+    public static boolean testInvalidNumbersThrow() {
+        CSVTokenizer t = new CSVTokenizer();
+        t.reset("12a,,2147483648,abc");
+        int thrown = 0;
+        for (int i = 0; i < 4; i++) {
+            try {
+                if (i == 3) {
+                    t.getDouble(i);
+                } else {
+                    t.getInt(i);
+                }
+            } catch (NumberFormatException e) {
+                thrown++;
+            }
+        }
+        return thrown == 4;
+    }
+
+    public static boolean testStudentFromCSVWithEscapedQuote() {
+        try {
+            Student s = Student.fromCSV("1001,\"Ali \"\"Deli\"\" Veli\",\"CS\"");
+            return s.getId() == 1001 && s.getName().equals("Ali \"Deli\" Veli");
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package university.test;
+
+import university.model.Enrollment;
+import university.service.EnrollmentColumns;
+import university.util.GradeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark comparing scans over 10 million enrollments stored as a list
+ * of Enrollment objects and as EnrollmentColumns, on and off the heap:
+ * credit-weighted grade point totals per student (the GPA sweep) and
+ * grade totals per course (course averages). Both sides do the same
+ * arithmetic into the same primitive arrays. An Enrollment holds its
+ * course code, so the object scans map it to a course index through a
+ * HashMap, as a store of Enrollment objects has to; the columns hold
+ * the index. The object list is scanned in allocation order and
+ * shuffled, since a long-running University does not keep its
+ * enrollments in the order they were allocated. Each scan is warmed
+ * up, then the mean of the measured rounds is reported, along with the
+ * heap used per record.
+ * No inheritance - composition only design.
+ *
+ * Run: java -Xms3g -Xmx3g -XX:MaxDirectMemorySize=1g -cp out university.test.ColumnarStoreBenchmark
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ColumnarStoreBenchmark {
+
+    private static final int ENROLLMENTS = 10_000_000;
+    private static final int STUDENTS = 200_000;
+    private static final int COURSES = 2_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int[] POINT_TENTHS = new int[1001];
+
+    private static long[] qualityPoints = new long[STUDENTS];
+    private static int[] credits = new int[STUDENTS];
+    private static long[] gradeTotals;
+    private static int[] graded;
+    private static int[] creditsByCourse;
+    private static Map<String, Integer> courseIds = new HashMap<>();
+
+    private ColumnarStoreBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println("========================================");
+        System.out.println("  Columnar Store Benchmark");
+        System.out.println("========================================");
+
+        for (int tenths = 0; tenths < POINT_TENTHS.length; tenths++) {
+            POINT_TENTHS[tenths] = (int) Math.round(GradeUtils.toGradePoint(tenths / 10.0) * 10);
+        }
+        String[] codes = new String[COURSES];
+        creditsByCourse = new int[COURSES];
+        for (int c = 0; c < COURSES; c++) {
+            codes[c] = "BENCH" + c;
+            courseIds.put(codes[c], c);
+            creditsByCourse[c] = 2 + c % 4;
+        }
+        gradeTotals = new long[COURSES];
+        graded = new int[COURSES];
+
+        long before = usedHeap();
+        List<Enrollment> objects = new ArrayList<>(ENROLLMENTS);
+        Random random = new Random(42);
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            Double grade = random.nextInt(10) == 0 ? null : random.nextInt(1001) / 10.0;
+            objects.add(new Enrollment(i % STUDENTS + 1, codes[random.nextInt(COURSES)], grade));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        EnrollmentColumns columns = new EnrollmentColumns(ENROLLMENTS);
+        for (Enrollment e : objects) {
+            columns.add(e.getStudentId() - 1, courseIds.get(e.getCourseCode()), e.getGradeTenths());
+        }
+        long columnBytes = usedHeap() - before;
+
+        before = usedHeap();
+        EnrollmentColumns offHeap = new EnrollmentColumns(EnrollmentColumns.Storage.OFF_HEAP, ENROLLMENTS);
+        for (Enrollment e : objects) {
+            offHeap.add(e.getStudentId() - 1, courseIds.get(e.getCourseCode()), e.getGradeTenths());
+        }
+        long offHeapBytes = usedHeap() - before;
+
+        System.out.printf("  %,d enrollments, %,d students, %,d courses%n", ENROLLMENTS, STUDENTS, COURSES);
+        System.out.printf("  Heap per record: objects %.1f bytes, columns %.1f bytes, off-heap %.1f bytes"
+                + " (+%.1f direct)%n", (double) objectBytes / ENROLLMENTS, (double) columnBytes / ENROLLMENTS,
+                (double) offHeapBytes / ENROLLMENTS, (double) offHeap.getOffHeapBytes() / ENROLLMENTS);
+        System.out.println();
+
+        long checksum = 0;
+        double objectGpa = measure(() -> gpaSweep(objects));
+        double columnGpa = measure(() -> columns.sumGradePoints(creditsByCourse, qualityPoints, credits));
+        checksum += qualityPoints[0];
+        double objectAverage = measure(() -> courseSweep(objects));
+        double columnAverage = measure(() -> columns.sumGrades(gradeTotals, graded));
+        checksum += gradeTotals[0];
+        double offHeapGpa = measure(() -> offHeap.sumGradePoints(creditsByCourse, qualityPoints, credits));
+        double offHeapAverage = measure(() -> offHeap.sumGrades(gradeTotals, graded));
+
+        Collections.shuffle(objects, random);
+        double shuffledGpa = measure(() -> gpaSweep(objects));
+        double shuffledAverage = measure(() -> courseSweep(objects));
+
+        System.out.println("  Scan                      GPA sweep    Course sweep");
+        print("Object list", objectGpa, objectAverage);
+        print("Object list (shuffled)", shuffledGpa, shuffledAverage);
+        print("Columns", columnGpa, columnAverage);
+        print("Columns (off-heap)", offHeapGpa, offHeapAverage);
+        System.out.println();
+        System.out.printf("  Columns vs object list:   %.1fx        %.1fx%n",
+                objectGpa / columnGpa, objectAverage / columnAverage);
+        System.out.printf("  Columns vs shuffled list: %.1fx        %.1fx%n",
+                shuffledGpa / columnGpa, shuffledAverage / columnAverage);
+        System.out.println("  (checksum " + checksum + ")");
+    }
+
+    private static void gpaSweep(List<Enrollment> enrollments) {
+        for (int i = 0, n = enrollments.size(); i < n; i++) {
+            Enrollment e = enrollments.get(i);
+            int g = e.getGradeTenths();
+            if (g == Enrollment.NO_GRADE) {
+                continue;
+            }
+            int c = creditsByCourse[courseIds.get(e.getCourseCode())];
+            int s = e.getStudentId() - 1;
+            qualityPoints[s] += (long) POINT_TENTHS[g] * c;
+            credits[s] += c;
+        }
+    }
+
+    private static void courseSweep(List<Enrollment> enrollments) {
+        for (int i = 0, n = enrollments.size(); i < n; i++) {
+            Enrollment e = enrollments.get(i);
+            int g = e.getGradeTenths();
+            if (g == Enrollment.NO_GRADE) {
+                continue;
+            }
+            int c = courseIds.get(e.getCourseCode());
+            gradeTotals[c] += g;
+            graded[c]++;
+        }
+    }
+
+    /**
+     * Runs a scan for the warm-up rounds, then returns the mean time of
+     * the measured rounds in milliseconds.
+     */
+    private static double measure(Runnable scan) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            scan.run();
+        }
+        long total = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            scan.run();
+            total += System.nanoTime() - start;
+        }
+        return total / (ROUNDS * 1e6);
+    }
+
+    private static void print(String name, double gpaMillis, double averageMillis) {
+        System.out.printf("  %-24s %7.1f ms   %7.1f ms%n", name, gpaMillis, averageMillis);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,210 @@
+package university.test;
+
+import university.model.Enrollment;
+import university.service.ConcurrentUniversity;
+import university.service.EnrollmentBatchResult;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit and stress tests for ConcurrentUniversity.
+ * Tests that concurrent registration loses and duplicates nothing.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ConcurrentUniversityTest {
+
+    private static final int THREADS = 8;
+    private static final int STUDENTS = 400;
+    private static final int COURSES = 20;
+
+    private ConcurrentUniversityTest() {}
+
+    public static boolean testSingleThreadedBehaviour() {
+        ConcurrentUniversity uni = new ConcurrentUniversity(4);
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.assignGrade(1001, "CS101", 86);
+        uni.assignGrade(1001, "MATH201", 72);
+
+        return Math.abs(uni.computeGpa(1001) - 3.27) < 0.01 &&
+               uni.getEnrollmentCount() == 2 &&
+               uni.getCourseCount() == 2 &&
+               uni.getStudentCount() == 1;
+    }
+
+    public static boolean testDuplicateCourseThrows() {
+        ConcurrentUniversity uni = new ConcurrentUniversity(4);
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+
+        try {
+            uni.addCourse("cs101", "Another Course", 3, "Dr. Jones");
+            return false;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().contains("already exists");
+        }
+    }
+
+    /**
+     * Every thread tries to enroll every student in every course, so each
+     * (student, course) pair is attempted THREADS times concurrently.
+     * Exactly one attempt per pair must succeed.
+     */
+    public static boolean testConcurrentEnrollNoLostOrDuplicate() {
+        ConcurrentUniversity uni = new ConcurrentUniversity(16);
+        for (int c = 0; c < COURSES; c++) {
+            uni.addCourse("C" + c, "Course " + c, 3, "Dr. Stress");
+        }
+        for (int s = 1; s <= STUDENTS; s++) {
+            uni.addStudent(s, "Student " + s, "CS");
+        }
+
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger unexpectedErrors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int offset = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < STUDENTS; i++) {
+                        int studentId = (i + offset * 37) % STUDENTS + 1;
+                        for (int c = 0; c < COURSES; c++) {
+                            String code = "C" + c;
+                            try {
+                                uni.enroll(studentId, code);
+                                successes.incrementAndGet();
+                            } catch (IllegalArgumentException e) {
+                                if (!e.getMessage().contains("already enrolled")) {
+                                    unexpectedErrors.incrementAndGet();
+                                }
+                            }
+                            uni.assignGrade(studentId, code, 50 + (studentId % 50));
+                            uni.computeGpa(studentId);
+                        }
+                    }
+                } catch (Exception e) {
+                    unexpectedErrors.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        if (!awaitTermination(pool)) {
+            return false;
+        }
+
+        int expected = STUDENTS * COURSES;
+        if (successes.get() != expected || unexpectedErrors.get() != 0) {
+            return false;
+        }
+        if (uni.getEnrollmentCount() != expected) {
+            return false;
+        }
+
+        List<Enrollment> all = uni.getAllEnrollments();
+        Set<String> seen = new HashSet<>();
+        for (Enrollment e : all) {
+            if (!seen.add(e.getStudentId() + ":" + e.getCourseCode()) || !e.isGraded()) {
+                return false;
+            }
+        }
+        return seen.size() == expected;
+    }
+
+    /**
+     * Concurrent credit changes and grading must leave every student's
+     * running GPA equal to the value for the final credits.
+     */
+    public static boolean testConcurrentGradeAndCreditChange() {
+        ConcurrentUniversity uni = new ConcurrentUniversity(8);
+        uni.addCourse("CS101", "Programming", 3, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        for (int s = 1; s <= STUDENTS; s++) {
+            uni.addStudent(s, "Student " + s, "CS");
+            uni.enroll(s, "CS101");
+            uni.enroll(s, "MATH201");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int s = 1; s <= STUDENTS; s++) {
+                        if (thread == 0 && s % 50 == 0) {
+                            uni.getCourse("CS101").setCredits(1 + (s / 50) % 4);
+                        }
+                        uni.assignGrade(s, "CS101", 90);
+                        uni.assignGrade(s, "MATH201", 50);
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        if (!awaitTermination(pool) || errors.get() != 0) {
+            return false;
+        }
+
+        int credits = uni.getCourse("CS101").getCredits();
+        double expected = (4.0 * credits + 1.0 * 3) / (credits + 3);
+        for (int s = 1; s <= STUDENTS; s++) {
+            if (Math.abs(uni.computeGpa(s) - expected) > 0.001) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean testEnrollAllAcrossStripes() {
+        ConcurrentUniversity uni = new ConcurrentUniversity(8);
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        List<Enrollment> batch = new java.util.ArrayList<>();
+        for (int s = 1; s <= 100; s++) {
+            uni.addStudent(s, "Student " + s, "CS");
+            batch.add(new Enrollment(s, "CS101"));
+        }
+        batch.add(new Enrollment(50, "CS101"));
+        batch.add(new Enrollment(500, "CS101"));
+
+        EnrollmentBatchResult result = uni.enrollAll(batch);
+        List<EnrollmentBatchResult.Failure> failures = result.getFailures();
+        return result.getEnrolledCount() == 100 &&
+               failures.size() == 2 &&
+               failures.get(0).getIndex() == 100 &&
+               failures.get(1).getIndex() == 101 &&
+               uni.getEnrollmentCount() == 100;
+    }
+
+    /**
+     * Shuts the pool down and waits for all submitted work to finish.
+     */
+    private static boolean awaitTermination(ExecutorService pool) {
+        pool.shutdown();
+        try {
+            return pool.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
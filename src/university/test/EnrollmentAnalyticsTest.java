@@ -0,0 +1,136 @@
+package university.test;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.service.EnrollmentAnalytics;
+import university.service.EnrollmentColumns;
+import university.service.University;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for EnrollmentAnalytics class.
+ * Queries run on a 4-worker pool over enough enrollments to be split
+ * into several ranges, and are checked against the serial methods of
+ * University.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentAnalyticsTest {
+
+    private static final String[] MAJORS = {"CS", "EE", "MATH"};
+    private static final String[] INSTRUCTORS = {"Dr. Smith", "Dr. Ada", "Dr. Curie"};
+
+    private EnrollmentAnalyticsTest() {}
+
+    /**
+     * Course averages and major GPAs match computeCourseAverage and
+     * computeGpa, with heap and off-heap storage.
+     */
+    public static boolean testAveragesMatchSerial() {
+        for (EnrollmentColumns.Storage storage : EnrollmentColumns.Storage.values()) {
+            University uni = sampleUniversity(storage);
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                EnrollmentAnalytics analytics = new EnrollmentAnalytics(uni, pool);
+                Map<String, Double> courseAverages = analytics.averageGradeByCourse();
+                Map<String, Double> majorGpas = analytics.gpaByMajor();
+
+                if (courseAverages.size() != 69 || courseAverages.containsKey("AN169")) {
+                    return false;
+                }
+                for (Map.Entry<String, Double> average : courseAverages.entrySet()) {
+                    if (Math.abs(average.getValue() - uni.computeCourseAverage(average.getKey())) > 1e-9) {
+                        return false;
+                    }
+                }
+                Map<String, double[]> expected = new HashMap<>();
+                for (Student student : uni.getAllStudents()) {
+                    if (student.getId() % 100 != 0) {
+                        double[] total = expected.computeIfAbsent(student.getMajor(), m -> new double[2]);
+                        total[0] += uni.computeGpa(student.getId());
+                        total[1]++;
+                    }
+                }
+                for (String major : MAJORS) {
+                    double[] total = expected.get(major);
+                    if (Math.abs(majorGpas.get(major) - total[0] / total[1]) > 1e-9) {
+                        return false;
+                    }
+                }
+                if (majorGpas.size() != MAJORS.length) {
+                    return false;
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Instructor distributions count every graded enrollment of their
+     * courses in the right bucket.
+     */
+    public static boolean testGradeDistributionByInstructor() {
+        University uni = sampleUniversity(EnrollmentColumns.Storage.HEAP);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Map<String, long[]> distributions = new EnrollmentAnalytics(uni, pool).gradeDistributionByInstructor();
+
+            Map<String, long[]> expected = new HashMap<>();
+            for (Enrollment enrollment : uni.getAllEnrollments()) {
+                if (enrollment.isGraded()) {
+                    Course course = uni.getCourse(enrollment.getCourseCode());
+                    long[] counts = expected.computeIfAbsent(course.getInstructor(),
+                            i -> new long[EnrollmentAnalytics.DISTRIBUTION_BUCKETS]);
+                    counts[Math.min((int) (enrollment.getGradePercent() / 10), 9)]++;
+                }
+            }
+            if (distributions.size() != expected.size()) {
+                return false;
+            }
+            for (Map.Entry<String, long[]> entry : expected.entrySet()) {
+                if (!java.util.Arrays.equals(entry.getValue(), distributions.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return distributions.get("Dr. Smith")[9] > 0;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 2500 students, 60 enrollments each (about 80% graded) except for
+     * every 100th student, over 70 courses; the last course has no
+     * enrollments.
+     */
+    private static University sampleUniversity(EnrollmentColumns.Storage storage) {
+        University uni = new University(storage);
+        for (int c = 0; c < 70; c++) {
+            uni.addCourse("AN" + (100 + c), "Course " + c, 1 + c % 4, INSTRUCTORS[c % INSTRUCTORS.length]);
+        }
+        Random random = new Random(11);
+        for (int id = 1; id <= 2500; id++) {
+            uni.addStudent(id, "Student " + id, MAJORS[id % MAJORS.length]);
+            if (id % 100 == 0) {
+                continue;
+            }
+            for (int c = 0; c < 60; c++) {
+                String code = "AN" + (100 + (id + c) % 69);
+                uni.enroll(id, code);
+                if (random.nextInt(5) != 0) {
+                    uni.assignGrade(id, code, random.nextInt(1001) / 10.0);
+                }
+            }
+        }
+        return uni;
+    }
+}
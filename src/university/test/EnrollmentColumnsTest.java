@@ -0,0 +1,185 @@
+package university.test;
+
+import university.service.EnrollmentColumns;
+
+/**
+ * Unit tests for EnrollmentColumns class.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentColumnsTest {
+
+    private EnrollmentColumnsTest() {}
+
+    /**
+     * Records keep their slots as the arrays grow; a removed slot is
+     * reused by the next add.
+     */
+    public static boolean testAddRemoveReusesSlot() {
+        EnrollmentColumns columns = new EnrollmentColumns(2);
+        for (int i = 0; i < 100; i++) {
+            columns.add(i, i % 7, i % 3 == 0 ? EnrollmentColumns.NO_GRADE : i * 10);
+        }
+        columns.remove(40);
+        int reused = columns.add(500, 3, 955);
+
+        return reused == 40 &&
+               columns.size() == 100 &&
+               columns.slotLimit() == 100 &&
+               columns.getStudentIndex(41) == 41 &&
+               columns.getGradeTenths(41) == 410 &&
+               columns.getGradeTenths(99) == EnrollmentColumns.NO_GRADE &&
+               columns.getStudentIndex(40) == 500 &&
+               columns.getGradeTenths(40) == 955;
+    }
+
+    /**
+     * Free slots and invalid grades are rejected.
+     */
+    public static boolean testInvalidAccessThrows() {
+        EnrollmentColumns columns = new EnrollmentColumns();
+        int slot = columns.add(0, 0, 500);
+        columns.remove(slot);
+        try {
+            columns.getGradeTenths(slot);
+            return false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            columns.add(0, 0, 1001);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return columns.size() == 0 && !columns.isUsed(slot);
+        }
+    }
+
+    /**
+     * A capacity beyond one array or one direct buffer is rejected before
+     * anything is allocated.
+     */
+    public static boolean testCapacityLimits() {
+        try {
+            new EnrollmentColumns(EnrollmentColumns.Storage.HEAP, Integer.MAX_VALUE);
+            return false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new EnrollmentColumns(EnrollmentColumns.Storage.OFF_HEAP, Integer.MAX_VALUE / 10 + 1);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().contains("OFF_HEAP capacity is at most");
+        }
+    }
+
+    /**
+     * The scans total grade points per student and grades per course,
+     * skipping ungraded records, removed records and courses without credits.
+     */
+    public static boolean testScans() {
+        EnrollmentColumns columns = new EnrollmentColumns();
+        columns.add(0, 0, 860);      // 3.7 x 4
+        columns.add(0, 1, 720);      // 2.7 x 3
+        columns.add(1, 0, EnrollmentColumns.NO_GRADE);
+        int removed = columns.add(1, 1, 950);
+        columns.add(1, 2, 900);      // course without credits
+        columns.remove(removed);
+
+        long[] points = new long[2];
+        int[] credits = new int[2];
+        columns.sumGradePoints(new int[] {4, 3}, points, credits);
+        long[] gradeTenths = new long[3];
+        int[] graded = new int[3];
+        columns.sumGrades(gradeTenths, graded);
+
+        return points[0] == 37 * 4 + 27 * 3 && credits[0] == 7 &&
+               points[1] == 0 && credits[1] == 0 &&
+               gradeTenths[0] == 860 && graded[0] == 1 &&
+               gradeTenths[1] == 720 && graded[1] == 1 &&
+               gradeTenths[2] == 900 && graded[2] == 1;
+    }
+
+    /**
+     * Off-heap storage holds the same records as heap storage, through
+     * growth from a single record, removal and slot reuse.
+     */
+    public static boolean testOffHeapMatchesHeap() {
+        EnrollmentColumns heap = new EnrollmentColumns(EnrollmentColumns.Storage.HEAP, 1);
+        EnrollmentColumns offHeap = new EnrollmentColumns(EnrollmentColumns.Storage.OFF_HEAP, 1);
+        for (EnrollmentColumns columns : new EnrollmentColumns[] {heap, offHeap}) {
+            for (int i = 0; i < 1000; i++) {
+                columns.add(i % 50, i % 9, i % 4 == 0 ? EnrollmentColumns.NO_GRADE : i % 1001);
+            }
+            for (int slot = 0; slot < 1000; slot += 7) {
+                columns.remove(slot);
+            }
+            columns.add(49, 8, 1000);
+            columns.setGrade(1, 555);
+        }
+
+        for (int slot = 0; slot < heap.slotLimit(); slot++) {
+            if (heap.isUsed(slot) != offHeap.isUsed(slot) ||
+                    heap.isUsed(slot) && (heap.getStudentIndex(slot) != offHeap.getStudentIndex(slot) ||
+                            heap.getCourseIndex(slot) != offHeap.getCourseIndex(slot) ||
+                            heap.getGradeTenths(slot) != offHeap.getGradeTenths(slot))) {
+                return false;
+            }
+        }
+        int[] creditsByCourse = {1, 2, 3, 4, 0, 1, 2, 3, 4};
+        long[] heapPoints = new long[50];
+        long[] offHeapPoints = new long[50];
+        heap.sumGradePoints(creditsByCourse, heapPoints, new int[50]);
+        offHeap.sumGradePoints(creditsByCourse, offHeapPoints, new int[50]);
+        long[] heapGrades = new long[9];
+        long[] offHeapGrades = new long[9];
+        heap.sumGrades(heapGrades, new int[9]);
+        offHeap.sumGrades(offHeapGrades, new int[9]);
+
+        return offHeap.size() == heap.size() &&
+               heap.getOffHeapBytes() == 0 &&
+               offHeap.getOffHeapBytes() == 1024 * 10 &&
+               java.util.Arrays.equals(heapPoints, offHeapPoints) &&
+               java.util.Arrays.equals(heapGrades, offHeapGrades);
+    }
+
+    /**
+     * Sums over the ranges of splitSlots equal the sums over all slots;
+     * countGrades buckets graded records by course.
+     */
+    public static boolean testRangeScans() {
+        EnrollmentColumns columns = new EnrollmentColumns();
+        for (int i = 0; i < 1000; i++) {
+            columns.add(i % 10, i % 3, i % 7 == 0 ? EnrollmentColumns.NO_GRADE : i);
+        }
+        columns.remove(500);
+        int[] bounds = columns.splitSlots(4, 100);
+        int[] single = columns.splitSlots(8, 2000);
+
+        long[] all = new long[3];
+        columns.sumGrades(all, new int[3]);
+        long[] ranged = new long[3];
+        long[] counts = new long[3 * 2];
+        int[] bucketOfGrade = new int[1001];
+        java.util.Arrays.fill(bucketOfGrade, 500, 1001, 1);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            columns.sumGrades(ranged, new int[3], bounds[i], bounds[i + 1]);
+            columns.countGrades(bucketOfGrade, 2, counts, bounds[i], bounds[i + 1]);
+        }
+        try {
+            columns.sumGrades(ranged, new int[3], 0, 1001);
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        long graded = java.util.Arrays.stream(counts).sum();
+        return java.util.Arrays.equals(bounds, new int[] {0, 250, 500, 750, 1000}) &&
+               java.util.Arrays.equals(single, new int[] {0, 1000}) &&
+               java.util.Arrays.equals(all, ranged) &&
+               graded == 1000 - 143 - 1 &&
+               counts[0] + counts[2] + counts[4] == 500 - 72 &&
+               counts[1] == 143;
+    }
+}
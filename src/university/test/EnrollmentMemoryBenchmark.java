@@ -0,0 +1,79 @@
+package university.test;
+
+import university.model.Enrollment;
+
+/**
+ * Measures the heap used per Enrollment object, graded and ungraded,
+ * and with a freshly parsed course code String per row (as a CSV
+ * import produces). Allocates one million enrollments and compares used
+ * heap after full collections before and after. Run with a fixed heap
+ * (e.g. -Xms1g -Xmx1g) for stable numbers.
+ * No inheritance - composition only design.
+ * 
+ * Run: java -Xms1g -Xmx1g -cp out university.test.EnrollmentMemoryBenchmark
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class EnrollmentMemoryBenchmark {
+
+    private static final int COUNT = 1_000_000;
+    private static final String[] CODES = {"CS101", "MATH201", "PHYS101", "SE301"};
+
+    private EnrollmentMemoryBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println("========================================");
+        System.out.println("  Enrollment Memory Benchmark");
+        System.out.println("========================================");
+
+        // Warm up so class loading and JIT allocations are not counted
+        allocate(10_000, true, true);
+
+        double ungraded = bytesPerEnrollment(false, false);
+        double graded = bytesPerEnrollment(true, false);
+        double parsed = bytesPerEnrollment(true, true);
+        System.out.printf("  Ungraded enrollment: %5.1f bytes%n", ungraded);
+        System.out.printf("  Graded enrollment:   %5.1f bytes%n", graded);
+        System.out.printf("  Parsed course code:  %5.1f bytes%n", parsed);
+    }
+
+    private static double bytesPerEnrollment(boolean graded, boolean parsedCodes) {
+        long before = usedHeap();
+        Enrollment[] enrollments = allocate(COUNT, graded, parsedCodes);
+        long after = usedHeap();
+        // Keeps the array reachable until measured; the array itself is
+        // subtracted (4-byte references with compressed oops)
+        if (enrollments.length != COUNT) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / COUNT - 4;
+    }
+
+    private static Enrollment[] allocate(int count, boolean graded, boolean parsedCodes) {
+        Enrollment[] enrollments = new Enrollment[count];
+        for (int i = 0; i < count; i++) {
+            // Distinct grades, as real data has, so no boxed value is shared
+            Double grade = graded ? (i % 1000) / 10.0 : null;
+            String code = CODES[i % CODES.length];
+            if (parsedCodes) {
+                code = new String(code.toCharArray());
+            }
+            enrollments[i] = new Enrollment(i + 1, code, grade);
+        }
+        return enrollments;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -96,4 +96,48 @@ public final class EnrollmentTest {
                e.getCourseCode().equals("CS101") &&
                e.getGradePercent() == 85.0;
     }
+
+    public static boolean testGradeStoredInTenths() {
+        Enrollment e = new Enrollment(1001, "CS101", 72.46);
+        boolean rounded = e.getGradePercent() == 72.4 && e.getGradeTenths() == 724;
+        e.setGradePercent(null);
+        boolean cleared = !e.isGraded() && e.getGradeTenths() == Enrollment.NO_GRADE;
+        try {
+            e.setGradePercent(Double.NaN);
+            return false;
+        } catch (IllegalArgumentException ex) {
+            return rounded && cleared && !e.isGraded();
+        }
+    }
+
+    /**
+     * A grade just below a letter cutoff stays below it, and every
+     * one-decimal grade is stored as exactly its own tenths.
+     */
+    public static boolean testGradeBelowCutoffTruncated() {
+        Enrollment e = new Enrollment(1001, "CS101", 89.95);
+        if (e.getGradePercent() != 89.9 || Enrollment.toTenths(79.99) != 799
+                || Enrollment.toTenths(89.99999999999999) != 899) {
+            return false;
+        }
+        for (int tenths = 0; tenths <= 1000; tenths++) {
+            if (Enrollment.toTenths(tenths / 10.0) != tenths
+                    || Enrollment.toTenths(Double.parseDouble(tenths / 10 + "." + tenths % 10)) != tenths) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean testToCSVIgnoresLocale() {
+        java.util.Locale saved = java.util.Locale.getDefault();
+        try {
+            java.util.Locale.setDefault(java.util.Locale.GERMANY);
+            return new Enrollment(1001, "CS101", 86.5).toCSV().equals("1001,CS101,86.5") &&
+                   new Enrollment(1001, "CS101", 100.0).toCSV().equals("1001,CS101,100.0") &&
+                   new Enrollment(1001, "CS101").toCSV().equals("1001,CS101,");
+        } finally {
+            java.util.Locale.setDefault(saved);
+        }
+    }
 }
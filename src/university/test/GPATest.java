@@ -128,4 +128,73 @@ public final class GPATest {
         double gpa = uni.computeGpa(1001);
         return Math.abs(gpa - 4.0) < 0.001;
     }
+
+    /**
+     * Tests that a regrade replaces the old grade in the GPA
+     */
+    public static boolean testGPAAfterRegrade() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.assignGrade(1001, "CS101", 40);
+        uni.assignGrade(1001, "CS101", 86);
+        
+        double gpa = uni.computeGpa(1001);
+        return Math.abs(gpa - 3.7) < 0.001;
+    }
+
+    /**
+     * Tests that Course.setCredits re-weights the GPA.
+     * CS101: 1 credit, 90% -> 4.0; MATH201: 3 credits, 50% -> 1.0
+     * After CS101 goes to 3 credits: (4.0*3 + 1.0*3) / 6 = 2.5
+     */
+    public static boolean testGPAAfterCreditChange() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 1, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.assignGrade(1001, "CS101", 90);
+        uni.assignGrade(1001, "MATH201", 50);
+        
+        uni.getCourse("CS101").setCredits(3);
+        
+        double gpa = uni.computeGpa(1001);
+        return Math.abs(gpa - 2.5) < 0.001;
+    }
+
+    /**
+     * Tests that removing an enrollment removes it from the GPA
+     */
+    public static boolean testGPAAfterRemoveEnrollment() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.assignGrade(1001, "CS101", 90);
+        uni.assignGrade(1001, "MATH201", 50);
+        
+        uni.removeEnrollment(1001, "MATH201");
+        
+        double gpa = uni.computeGpa(1001);
+        return Math.abs(gpa - 4.0) < 0.001 && uni.getEnrollmentCount() == 1;
+    }
+
+    /**
+     * Tests that a grade just below the A cutoff (89.95) counts as an A-
+     */
+    public static boolean testGPAGradeBelowCutoff() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.assignGrade(1001, "CS101", 89.95);
+        
+        return Math.abs(uni.computeGpa(1001) - 3.7) < 0.001 &&
+               uni.getEnrollment(1001, "CS101").getGradePercent() == 89.9;
+    }
 }
@@ -0,0 +1,174 @@
+package university.test;
+
+import university.service.GpaRanking;
+import university.service.GpaTable;
+import university.service.University;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for GpaRanking class.
+ * Rankings are checked against a sort of the GPAs from computeAllGpas
+ * after each kind of change.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class GpaRankingTest {
+
+    private static final String[] MAJORS = {"CS", "EE", "MATH"};
+
+    private GpaRankingTest() {}
+
+    /**
+     * Top lists, ranks and percentiles match a full sort after grades,
+     * enrollments and course credits change.
+     */
+    public static boolean testIncrementalUpdatesMatchSort() {
+        University uni = new University();
+        for (int c = 0; c < 20; c++) {
+            uni.addCourse("RK" + (100 + c), "Course " + c, 1 + c % 4, "Dr. Smith");
+        }
+        Random random = new Random(5);
+        for (int id = 1; id <= 300; id++) {
+            uni.addStudent(id, "Student " + id, MAJORS[id % MAJORS.length]);
+        }
+        GpaRanking ranking = new GpaRanking(uni);
+        for (int id = 1; id <= 300; id++) {
+            for (int c = 0; c < 6; c++) {
+                String code = "RK" + (100 + (id + c * 3) % 20);
+                uni.enroll(id, code);
+                uni.assignGrade(id, code, random.nextInt(21) * 5);
+            }
+        }
+        if (!matchesSort(uni, ranking)) {
+            return false;
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int id = 1 + random.nextInt(300);
+            String code = "RK" + (100 + (id + random.nextInt(6) * 3) % 20);
+            uni.assignGrade(id, code, random.nextInt(21) * 5);
+        }
+        uni.removeEnrollment(7, "RK" + (100 + 7 % 20));
+        uni.getCourse("RK105").setCredits(6);
+        return matchesSort(uni, ranking);
+    }
+
+    /**
+     * Equal GPAs share a rank; students without graded credits are not
+     * ranked; clearAll empties the ranking.
+     */
+    public static boolean testTiesAndUnranked() {
+        University uni = new University();
+        uni.addCourse("RK100", "Course", 3, "Dr. Smith");
+        GpaRanking ranking = new GpaRanking(uni);
+        int[] grades = {95, 85, 95, 70};
+        for (int id = 1; id <= 4; id++) {
+            uni.addStudent(id, "Student " + id, "CS");
+            uni.enroll(id, "RK100");
+            uni.assignGrade(id, "RK100", grades[id - 1]);
+        }
+        uni.addStudent(5, "Student 5", "CS");
+        uni.enroll(5, "RK100");
+
+        List<GpaRanking.Entry> top = ranking.getTop("CS", 10);
+        if (top.size() != 4 || top.get(0).getStudentId() != 1 || top.get(1).getStudentId() != 3
+                || top.get(1).getRank() != 1 || top.get(2).getRank() != 3 || top.get(3).getRank() != 4) {
+            return false;
+        }
+        if (ranking.getRank(3) != 1 || ranking.getRank(2) != 3 || ranking.getPercentile(4) != 0.0
+                || Math.abs(ranking.getPercentile(2) - 100.0 / 3) > 1e-9 || ranking.getRankedCount("CS") != 4) {
+            return false;
+        }
+        try {
+            ranking.getRank(5);
+            return false;
+        } catch (IllegalArgumentException expected) {
+            // ungraded
+        }
+        if (!ranking.getTop("EE", 5).isEmpty() || !ranking.getMajors().contains("CS")) {
+            return false;
+        }
+
+        uni.clearAll();
+        return ranking.getRankedCount("CS") == 0 && ranking.getMajors().isEmpty();
+    }
+
+    /**
+     * Student.setMajor moves a student to the new major's ranking at once,
+     * for students added before and after the ranking; after close, a
+     * change no longer reaches the ranking.
+     */
+    public static boolean testMajorChangeMovesStudent() {
+        University uni = new University();
+        uni.addCourse("RK100", "Course", 3, "Dr. Smith");
+        uni.addStudent(1, "Student 1", "CS");
+        uni.addStudent(2, "Student 2", "CS");
+        uni.addStudent(3, "Student 3", "EE");
+        GpaRanking ranking = new GpaRanking(uni);
+        uni.addStudent(4, "Student 4", "EE");
+        int[] grades = {95, 80, 85, 70};
+        for (int id = 1; id <= 4; id++) {
+            uni.enroll(id, "RK100");
+            uni.assignGrade(id, "RK100", grades[id - 1]);
+        }
+
+        uni.getStudent(1).setMajor("EE");
+        uni.getStudent(4).setMajor("CS");
+        List<GpaRanking.Entry> cs = ranking.getTop("CS", 10);
+        List<GpaRanking.Entry> ee = ranking.getTop("EE", 10);
+        if (cs.size() != 2 || cs.get(0).getStudentId() != 2 || cs.get(1).getStudentId() != 4
+                || ee.size() != 2 || ee.get(0).getStudentId() != 1 || ee.get(1).getStudentId() != 3
+                || ranking.getRank(3) != 2 || ranking.getRank(2) != 1) {
+            return false;
+        }
+
+        ranking.close();
+        uni.getStudent(2).setMajor("MATH");
+        return ranking.getRankedCount("CS") == 2 && ranking.getRankedCount("MATH") == 0;
+    }
+
+    private static boolean matchesSort(University uni, GpaRanking ranking) {
+        GpaTable gpas = uni.computeAllGpas();
+        for (String major : MAJORS) {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < gpas.size(); i++) {
+                int id = gpas.getStudentId(i);
+                if (gpas.getCredits(i) > 0 && uni.getStudent(id).getMajor().equals(major)) {
+                    ids.add(id);
+                }
+            }
+            ids.sort((a, b) -> {
+                int byGpa = Double.compare(gpas.getGpaOf(b), gpas.getGpaOf(a));
+                return byGpa != 0 ? byGpa : Integer.compare(a, b);
+            });
+            List<GpaRanking.Entry> top = ranking.getTop(major, 25);
+            if (ranking.getRankedCount(major) != ids.size() || top.size() != 25) {
+                return false;
+            }
+            for (int i = 0; i < top.size(); i++) {
+                if (top.get(i).getStudentId() != ids.get(i)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                double gpa = gpas.getGpaOf(ids.get(i));
+                int above = 0;
+                int below = 0;
+                for (int other : ids) {
+                    above += gpas.getGpaOf(other) > gpa ? 1 : 0;
+                    below += gpas.getGpaOf(other) < gpa ? 1 : 0;
+                }
+                if (ranking.getRank(ids.get(i)) != above + 1
+                        || Math.abs(ranking.getPercentile(ids.get(i)) - 100.0 * below / (ids.size() - 1)) > 1e-9) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
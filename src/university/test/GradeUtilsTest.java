@@ -1,6 +1,7 @@
 package university.test;
 
 import university.util.GradeUtils;
+import university.util.GradingScale;
 
 /**
  * Unit tests for GradeUtils class.
@@ -72,4 +73,88 @@ public final class GradeUtilsTest {
         
         return allPass;
     }
+
+    /**
+     * The lookup table gives what the cutoff chain gives, for every
+     * stored grade and for grades between the tenths.
+     */
+    public static boolean testTableMatchesCutoffChain() {
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i <= 1000 + 100_000; i++) {
+            double percent = i <= 1000 ? i / 10.0 : random.nextDouble() * 100;
+            if (GradeUtils.toGradePoint(percent) != cutoffChain(percent) ||
+                    i <= 1000 && GradeUtils.gradePointTenths(i) != Math.round(cutoffChain(percent) * 10)) {
+                return false;
+            }
+        }
+        double belowCutoff = Math.nextDown(90.0);
+        try {
+            GradeUtils.toGradePoint(100.01);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return GradeUtils.toGradePoint(89.95) == 3.7 &&
+                   GradeUtils.toGradePoint(belowCutoff) == 3.7 &&
+                   GradeUtils.toGradePoint(100.0) == 4.0;
+        }
+    }
+
+    public static boolean testBulkConversion() {
+        double[] in = {95, 89.9, 72, 50, 49.9, 0};
+        double[] out = new double[in.length];
+        GradeUtils.toGradePoints(in, out);
+        try {
+            GradeUtils.toGradePoints(new double[] {80, -1}, out);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return java.util.Arrays.equals(out, new double[] {4.0, 3.7, 2.7, 1.0, 0.0, 0.0});
+        }
+    }
+
+    /**
+     * A scale with other cutoffs, including a cutoff between whole percents.
+     */
+    public static boolean testCustomScale() {
+        GradingScale scale = new GradingScale(
+                new double[] {89.5, 79.5, 69.5, 59.5},
+                new double[] {4.0, 3.0, 2.0, 1.0});
+        double[] out = new double[4];
+        scale.toGradePoints(new double[] {89.5, 89.4, 60, 59.4}, out);
+        return java.util.Arrays.equals(out, new double[] {4.0, 3.0, 1.0, 0.0}) &&
+               scale.gradePointTenths(795) == 30 &&
+               scale.gradePointTenths(794) == 20 &&
+               scale.toGradePoint(100) == 4.0;
+    }
+
+    public static boolean testInvalidScaleRejected() {
+        double[][][] invalid = {
+            {{90, 80}, {4.0}},
+            {{80, 90}, {3.0, 4.0}},
+            {{101}, {4.0}},
+            {{90.05}, {4.0}},
+            {{90}, {3.67}},
+            {{90}, {-1.0}}
+        };
+        for (double[][] args : invalid) {
+            try {
+                new GradingScale(args[0], args[1]);
+                return false;
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        return true;
+    }
+
+    private static double cutoffChain(double percent) {
+        if (percent >= 90) return 4.0;
+        if (percent >= 85) return 3.7;
+        if (percent >= 80) return 3.3;
+        if (percent >= 75) return 3.0;
+        if (percent >= 70) return 2.7;
+        if (percent >= 65) return 2.3;
+        if (percent >= 60) return 2.0;
+        if (percent >= 55) return 1.7;
+        if (percent >= 50) return 1.0;
+        return 0.0;
+    }
 }
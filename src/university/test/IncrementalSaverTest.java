@@ -0,0 +1,174 @@
+package university.test;
+
+import university.service.IncrementalSaver;
+import university.service.University;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for IncrementalSaver class.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class IncrementalSaverTest {
+
+    private IncrementalSaverTest() {}
+
+    /**
+     * The first save writes everything; the next one appends only the
+     * changed records and leaves the base files alone.
+     */
+    public static boolean testSaveWritesOnlyChanges() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            IncrementalSaver saver = new IncrementalSaver(dir);
+            University uni = new University();
+            addSampleData(uni);
+            int full = saver.save(uni);
+            byte[] base = Files.readAllBytes(dir.resolve("enrollments.csv"));
+
+            uni.assignGrade(1002, "CS101", 55);
+            uni.removeEnrollment(1001, "MATH201");
+            int delta = saver.save(uni);
+            int none = saver.save(uni);
+
+            return full == 7 && delta == 2 && none == 0 &&
+                   Arrays.equals(base, Files.readAllBytes(dir.resolve("enrollments.csv"))) &&
+                   Files.readAllLines(dir.resolve("enrollments.delta.csv")).size() == 3 &&
+                   !Files.exists(dir.resolve("students.delta.csv"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Loading base plus deltas restores every kind of change.
+     */
+    public static boolean testLoadAppliesDeltas() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            IncrementalSaver saver = new IncrementalSaver(dir, 100);
+            University uni = new University();
+            addSampleData(uni);
+            saver.save(uni);
+
+            uni.addStudent(1003, "Mehmet Kaya", "CS");
+            uni.enroll(1003, "CS101");
+            uni.assignGrade(1002, "CS101", 55);
+            uni.removeEnrollment(1001, "MATH201");
+            uni.getCourse("CS101").setCredits(5);
+            saver.save(uni);
+            uni.enroll(1001, "MATH201");
+            saver.save(uni);
+
+            University loaded = new University();
+            IncrementalSaver reader = new IncrementalSaver(dir);
+            reader.load(loaded);
+            int afterLoad = reader.save(loaded);
+
+            return loaded.getStudentCount() == 3 &&
+                   loaded.getEnrollmentCount() == 4 &&
+                   loaded.getEnrollment(1001, "MATH201").getGradePercent() == null &&
+                   loaded.getCourse("CS101").getCredits() == 5 &&
+                   loaded.computeGpa(1002) == uni.computeGpa(1002) &&
+                   afterLoad == 0;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Deltas past the compaction ratio are folded into the base files.
+     */
+    public static boolean testCompaction() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            IncrementalSaver saver = new IncrementalSaver(dir, 0.1);
+            University uni = new University();
+            addSampleData(uni);
+            saver.save(uni);
+            uni.assignGrade(1001, "CS101", 40);
+            uni.assignGrade(1001, "MATH201", 41);
+            saver.save(uni);
+
+            University loaded = new University();
+            new IncrementalSaver(dir).load(loaded);
+            return !Files.exists(dir.resolve("enrollments.delta.csv")) &&
+                   loaded.getEnrollment(1001, "CS101").getGradePercent() == 40.0 &&
+                   loaded.computeGpa(1001) == uni.computeGpa(1001);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * After clearAll the base files are rewritten and old deltas dropped.
+     */
+    public static boolean testClearForcesFullSave() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            IncrementalSaver saver = new IncrementalSaver(dir, 100);
+            University uni = new University();
+            addSampleData(uni);
+            saver.save(uni);
+            uni.assignGrade(1001, "CS101", 40);
+            saver.save(uni);
+            uni.clearAll();
+            uni.addStudent(2001, "New Student", "Math");
+            int written = saver.save(uni);
+
+            University loaded = new University();
+            new IncrementalSaver(dir).load(loaded);
+            return written == 1 &&
+                   !Files.exists(dir.resolve("enrollments.delta.csv")) &&
+                   loaded.getStudentCount() == 1 &&
+                   loaded.getCourseCount() == 0 &&
+                   loaded.getEnrollmentCount() == 0;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private static void addSampleData(University uni) {
+        uni.addStudent(1001, "Ali Yilmaz", "Bilgisayar Muhendisligi");
+        uni.addStudent(1002, "Ayse Demir", "Yazilim Muhendisligi");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Lineer Cebir", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.assignGrade(1001, "CS101", 86);
+        uni.assignGrade(1001, "MATH201", 72.5);
+        uni.assignGrade(1002, "CS101", 90);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+}
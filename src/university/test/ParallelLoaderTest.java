@@ -0,0 +1,209 @@
+package university.test;
+
+import university.service.EnrollmentBatchResult;
+import university.service.ParallelLoader;
+import university.service.University;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for ParallelLoader class.
+ * Tests chunked parallel loading and referential checks.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class ParallelLoaderTest {
+
+    private ParallelLoaderTest() {}
+
+    /**
+     * Loads 500 enrollments split into many small chunks and checks
+     * that every row arrives exactly once with its grade.
+     */
+    public static boolean testLoadManyChunks() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            List<String> students = new ArrayList<>();
+            students.add("id,name,major");
+            List<String> enrollments = new ArrayList<>();
+            enrollments.add("studentId,courseCode,gradePercent");
+            for (int s = 1; s <= 100; s++) {
+                students.add(s + ",\"Student " + s + "\",\"CS\"");
+                for (int c = 0; c < 5; c++) {
+                    enrollments.add(s + ",C" + c + "," + (c == 0 ? "90.0" : ""));
+                }
+            }
+            List<String> courses = new ArrayList<>();
+            courses.add("code,title,credits,instructor");
+            for (int c = 0; c < 5; c++) {
+                courses.add("\"C" + c + "\",\"Course " + c + "\",3,\"Dr. Test\"");
+            }
+            Path studentsFile = write(dir.resolve("students.csv"), students);
+            Path coursesFile = write(dir.resolve("courses.csv"), courses);
+            Path enrollmentsFile = write(dir.resolve("enrollments.csv"), enrollments);
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            University uni = new University();
+            EnrollmentBatchResult result = new ParallelLoader(pool, 97)
+                    .load(uni, studentsFile, coursesFile, enrollmentsFile);
+            pool.shutdown();
+
+            return result.isSuccessful() &&
+                   uni.getStudentCount() == 100 &&
+                   uni.getCourseCount() == 5 &&
+                   uni.getEnrollmentCount() == 500 &&
+                   Math.abs(uni.computeGpa(42) - 4.0) < 0.001 &&
+                   uni.getStudentEnrollments(100).size() == 5;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Enrollments that reference unknown students or courses are skipped.
+     */
+    public static boolean testReferentialChecks() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            List<String> students = new ArrayList<>();
+            students.add("1001,\"Alice\",\"CS\"");
+            List<String> courses = new ArrayList<>();
+            courses.add("\"CS101\",\"Programming\",4,\"Dr. Smith\"");
+            List<String> enrollments = new ArrayList<>();
+            enrollments.add("1001,CS101,86.0");
+            enrollments.add("1002,CS101,70.0");
+            enrollments.add("1001,FAKE999,");
+            Path studentsFile = write(dir.resolve("students.csv"), students);
+            Path coursesFile = write(dir.resolve("courses.csv"), courses);
+            Path enrollmentsFile = write(dir.resolve("enrollments.csv"), enrollments);
+
+            University uni = new University();
+            EnrollmentBatchResult result = new ParallelLoader()
+                    .load(uni, studentsFile, coursesFile, enrollmentsFile);
+
+            return result.getEnrolledCount() == 1 &&
+                   result.getFailures().size() == 2 &&
+                   uni.getEnrollmentCount() == 1;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Loads a file of many chunks with rejected rows scattered through it
+     * (unknown students, unknown courses, and repeats of rows from earlier
+     * chunks) and checks that the failures come out in file order with
+     * their positions in the file.
+     */
+    public static boolean testChunkedFailuresInFileOrder() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            List<String> students = new ArrayList<>();
+            for (int s = 1; s <= 50; s++) {
+                students.add(s + ",\"Student " + s + "\",\"CS\"");
+            }
+            List<String> courses = new ArrayList<>();
+            for (int c = 0; c < 6; c++) {
+                courses.add("\"C" + c + "\",\"Course " + c + "\",3,\"Dr. Test\"");
+            }
+            List<String> enrollments = new ArrayList<>();
+            List<Integer> expectedFailures = new ArrayList<>();
+            for (int row = 0; row < 300; row++) {
+                if (row % 7 == 3) {
+                    enrollments.add("9999,C1,");
+                    expectedFailures.add(row);
+                } else if (row % 11 == 5) {
+                    enrollments.add((1 + row % 50) + ",NOPE" + row + ",");
+                    expectedFailures.add(row);
+                } else if (row >= 150 && row % 10 == 0) {
+                    enrollments.add(enrollments.get(row - 150));
+                    expectedFailures.add(row);
+                } else {
+                    enrollments.add((1 + row % 50) + ",C" + row / 50 + "," + row % 100);
+                }
+            }
+            Path studentsFile = write(dir.resolve("students.csv"), students);
+            Path coursesFile = write(dir.resolve("courses.csv"), courses);
+            Path enrollmentsFile = write(dir.resolve("enrollments.csv"), enrollments);
+
+            ForkJoinPool pool = new ForkJoinPool(2);
+            University uni = new University();
+            EnrollmentBatchResult result;
+            try {
+                result = new ParallelLoader(pool, 64).load(uni, studentsFile, coursesFile, enrollmentsFile);
+            } finally {
+                pool.shutdown();
+            }
+
+            List<EnrollmentBatchResult.Failure> failures = result.getFailures();
+            if (failures.size() != expectedFailures.size()
+                    || result.getEnrolledCount() != 300 - expectedFailures.size()
+                    || uni.getEnrollmentCount() != result.getEnrolledCount()) {
+                return false;
+            }
+            for (int i = 0; i < failures.size(); i++) {
+                EnrollmentBatchResult.Failure failure = failures.get(i);
+                String line = enrollments.get(expectedFailures.get(i));
+                if (failure.getIndex() != expectedFailures.get(i)
+                        || !line.startsWith(failure.getRequest().getStudentId() + ","
+                                + failure.getRequest().getCourseCode() + ",")) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Missing files are skipped rather than failing the load.
+     */
+    public static boolean testMissingFilesSkipped() {
+        try {
+            Path dir = Files.createTempDirectory("smartuniversity");
+            University uni = new University();
+            new ParallelLoader().load(uni, dir.resolve("students.csv"),
+                    dir.resolve("courses.csv"), dir.resolve("enrollments.csv"));
+            Files.delete(dir);
+            return uni.getStudentCount() == 0 && uni.getEnrollmentCount() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path write(Path file, List<String> lines) throws IOException {
+        return Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try {
+            for (String name : new String[] {"students.csv", "courses.csv", "enrollments.csv"}) {
+                Files.deleteIfExists(dir.resolve(name));
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+}
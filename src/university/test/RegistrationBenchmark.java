@@ -0,0 +1,85 @@
+package university.test;
+
+import university.service.University;
+
+/**
+ * Regression benchmark for enrollment registration.
+ * Measures the cost of enroll + assignGrade at growing enrollment counts
+ * and fails if the per-operation cost grows with the data set size
+ * (i.e. if registration is no longer linear overall).
+ * No inheritance - composition only design.
+ * 
+ * Run: java -cp out university.test.RegistrationBenchmark
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class RegistrationBenchmark {
+
+    private static final int COURSES = 100;
+    private static final int[] SIZES = {50_000, 100_000, 200_000, 400_000};
+    private static final double MAX_PER_OP_GROWTH = 4.0;
+
+    private RegistrationBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println("========================================");
+        System.out.println("  Registration Benchmark");
+        System.out.println("========================================");
+
+        // Warm up the JIT before measuring
+        runOnce(SIZES[0]);
+
+        double firstPerOp = 0.0;
+        double lastPerOp = 0.0;
+        for (int size : SIZES) {
+            long elapsed = runOnce(size);
+            double perOp = (double) elapsed / size;
+            if (firstPerOp == 0.0) {
+                firstPerOp = perOp;
+            }
+            lastPerOp = perOp;
+            System.out.printf("  %,9d enrollments: %6d ms  (%.0f ns/enrollment)%n",
+                    size, elapsed / 1_000_000, perOp);
+        }
+
+        double growth = lastPerOp / firstPerOp;
+        System.out.printf("  Per-enrollment cost growth: %.2fx (limit %.1fx)%n", growth, MAX_PER_OP_GROWTH);
+        if (growth > MAX_PER_OP_GROWTH) {
+            System.out.println("  [FAIL] Registration time grows faster than linear");
+            System.exit(1);
+        }
+        System.out.println("  [PASS] Registration time grows linearly");
+    }
+
+    /**
+     * Registers the given number of enrollments and grades each one.
+     * 
+     * @param enrollmentCount Number of enrollments to create
+     * @return Elapsed time in nanoseconds
+     */
+    private static long runOnce(int enrollmentCount) {
+        University uni = new University();
+        for (int c = 0; c < COURSES; c++) {
+            uni.addCourse("C" + c, "Course " + c, 3, "Dr. Bench");
+        }
+        int studentCount = enrollmentCount / COURSES;
+        for (int s = 1; s <= studentCount; s++) {
+            uni.addStudent(s, "Student " + s, "CS");
+        }
+
+        String[] codes = new String[COURSES];
+        for (int c = 0; c < COURSES; c++) {
+            codes[c] = "C" + c;
+        }
+
+        long start = System.nanoTime();
+        for (int s = 1; s <= studentCount; s++) {
+            for (int c = 0; c < COURSES; c++) {
+                uni.enroll(s, codes[c]);
+                uni.assignGrade(s, codes[c], 75);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
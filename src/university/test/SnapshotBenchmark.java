@@ -0,0 +1,128 @@
+package university.test;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+import university.service.ParallelLoader;
+import university.service.University;
+import university.util.BinarySnapshot;
+import university.util.CSVExporter;
+import university.util.CSVImporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark comparing restore from the three CSV files (ParallelLoader)
+ * with restore from a binary snapshot (BinarySnapshot), both into a
+ * fresh University. Also reports the parse time of each format alone
+ * (CSV through the buffered single-threaded importer).
+ * No inheritance - composition only design.
+ * 
+ * Run: java -cp out university.test.SnapshotBenchmark
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class SnapshotBenchmark {
+
+    private static final int STUDENTS = 20_000;
+    private static final int COURSES = 400;
+    private static final int PER_STUDENT = 25;
+    private static final int ROUNDS = 8;
+
+    private SnapshotBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("========================================");
+        System.out.println("  Snapshot Benchmark");
+        System.out.println("========================================");
+
+        University source = newUniversity();
+        Path dir = Files.createTempDirectory("smartuniversity-bench");
+        Path students = dir.resolve("students.csv");
+        Path courses = dir.resolve("courses.csv");
+        Path enrollments = dir.resolve("enrollments.csv");
+        Path snapshot = dir.resolve("university.snapshot");
+        try {
+            CSVExporter.exportStudents(source.getAllStudents(), students);
+            CSVExporter.exportCourses(source.getAllCourses(), courses);
+            CSVExporter.exportEnrollments(source.getAllEnrollments(), enrollments);
+            BinarySnapshot.write(source.getAllStudents(), source.getAllCourses(),
+                    source.getAllEnrollments(), snapshot);
+
+            long bestCsv = Long.MAX_VALUE;
+            long bestBinary = Long.MAX_VALUE;
+            long bestCsvParse = Long.MAX_VALUE;
+            long bestBinaryParse = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                University csv = new University();
+                new ParallelLoader().load(csv, students, courses, enrollments);
+                bestCsv = Math.min(bestCsv, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                University binary = restore(snapshot);
+                bestBinary = Math.min(bestBinary, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                long[] count = new long[1];
+                CSVImporter.importStudents(students, s -> count[0]++);
+                CSVImporter.importCourses(courses, c -> count[0]++);
+                CSVImporter.importEnrollments(enrollments, e -> count[0]++);
+                bestCsvParse = Math.min(bestCsvParse, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                BinarySnapshot.read(snapshot, s -> count[0]++, c -> count[0]++, e -> count[0]++);
+                bestBinaryParse = Math.min(bestBinaryParse, System.nanoTime() - start);
+
+                if (csv.getEnrollmentCount() != binary.getEnrollmentCount()
+                        || csv.computeGpa(1) != binary.computeGpa(1)) {
+                    throw new IllegalStateException("Restored states differ");
+                }
+            }
+
+            long csvBytes = Files.size(students) + Files.size(courses) + Files.size(enrollments);
+            System.out.printf("  Data: %,d students, %,d enrollments%n", STUDENTS, STUDENTS * PER_STUDENT);
+            System.out.printf("  CSV size:      %,12d bytes%n", csvBytes);
+            System.out.printf("  Snapshot size: %,12d bytes%n", Files.size(snapshot));
+            System.out.printf("  CSV restore:      %6d ms  (parse only %d ms)%n",
+                    bestCsv / 1_000_000, bestCsvParse / 1_000_000);
+            System.out.printf("  Snapshot restore: %6d ms  (parse only %d ms)%n",
+                    bestBinary / 1_000_000, bestBinaryParse / 1_000_000);
+            System.out.printf("  Speedup: %.2fx restore, %.2fx parse%n",
+                    (double) bestCsv / bestBinary, (double) bestCsvParse / bestBinaryParse);
+        } finally {
+            for (Path file : new Path[] {students, courses, enrollments, snapshot}) {
+                Files.deleteIfExists(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static University restore(Path snapshot) throws IOException {
+        University uni = new University();
+        List<Enrollment> enrollments = new ArrayList<>();
+        BinarySnapshot.read(snapshot, uni::addStudent, uni::addCourse, enrollments::add);
+        uni.enrollAll(enrollments);
+        return uni;
+    }
+
+    private static University newUniversity() {
+        University uni = new University();
+        for (int c = 0; c < COURSES; c++) {
+            uni.addCourse(new Course("C" + c, "Course " + c, 1 + c % 5, "Dr. Bench"));
+        }
+        for (int s = 1; s <= STUDENTS; s++) {
+            uni.addStudent(new Student(s, "Student " + s, "Major " + s % 20));
+            for (int k = 0; k < PER_STUDENT; k++) {
+                String code = "C" + (s * 7 + k * 13) % COURSES;
+                uni.addEnrollment(new Enrollment(s, code, k % 4 == 0 ? null : 40.0 + (s + k) % 60));
+            }
+        }
+        return uni;
+    }
+}
@@ -24,6 +24,18 @@ public final class TestRunner {
         runEnrollmentTests();
         runUniversityTests();
         runGPATests();
+        runEnrollmentColumnsTests();
+        runEnrollmentAnalyticsTests();
+        runGpaRankingTests();
+        runCSVTokenizerTests();
+        runCSVImporterTests();
+        runCSVExporterTests();
+        runParallelLoaderTests();
+        runBinarySnapshotTests();
+        runWriteAheadLogTests();
+        runIncrementalSaverTests();
+        runAutoSaverTests();
+        runConcurrentUniversityTests();
 
         System.out.println("\n========================================");
         System.out.println("  TEST RESULTS");
@@ -57,6 +69,14 @@ public final class TestRunner {
             GradeUtilsTest.testBoundary899());
         test("toGradePoint boundary 85 == 3.7", 
             GradeUtilsTest.testBoundary85());
+        test("Lookup table matches cutoff chain", 
+            GradeUtilsTest.testTableMatchesCutoffChain());
+        test("Bulk grade point conversion", 
+            GradeUtilsTest.testBulkConversion());
+        test("Custom grading scale", 
+            GradeUtilsTest.testCustomScale());
+        test("Invalid grading scale rejected", 
+            GradeUtilsTest.testInvalidScaleRejected());
         
         System.out.println();
     }
@@ -112,6 +132,12 @@ public final class TestRunner {
             EnrollmentTest.testInvalidStudentIdThrows());
         test("Grade out of range throws exception", 
             EnrollmentTest.testGradeOutOfRangeThrows());
+        test("Grade stored in tenths", 
+            EnrollmentTest.testGradeStoredInTenths());
+        test("Grade below a cutoff is not rounded up", 
+            EnrollmentTest.testGradeBelowCutoffTruncated());
+        test("Enrollment CSV ignores locale", 
+            EnrollmentTest.testToCSVIgnoresLocale());
         
         System.out.println();
     }
@@ -137,6 +163,44 @@ public final class TestRunner {
             UniversityTest.testEnrollNonExistentStudentThrows());
         test("Enroll in non-existent course throws", 
             UniversityTest.testEnrollNonExistentCourseThrows());
+        test("Duplicate addEnrollment throws exception", 
+            UniversityTest.testAddEnrollmentDuplicateThrows());
+        test("addEnrollment rejects unknown course", 
+            UniversityTest.testAddEnrollmentUnknownCourseThrows());
+        test("Assign grade with unnormalized course code", 
+            UniversityTest.testAssignGradeNormalizesCourseCode());
+        test("clearAll resets enrollment index", 
+            UniversityTest.testClearAllResetsEnrollmentIndex());
+        test("Student enrollments sorted by course code", 
+            UniversityTest.testStudentEnrollmentsSortedByCourse());
+        test("Remove enrollment", 
+            UniversityTest.testRemoveEnrollment());
+        test("Batch enrollment reports per-item failures", 
+            UniversityTest.testEnrollAllReportsFailures());
+        test("Changes drained since last call", 
+            UniversityTest.testDrainChanges());
+        test("Drained changes are point-in-time copies", 
+            UniversityTest.testDrainedChangesArePointInTime());
+        test("Course average over graded enrollments", 
+            UniversityTest.testComputeCourseAverage());
+        test("Enrollment index after many removals", 
+            UniversityTest.testEnrollmentsAfterManyRemovals());
+        test("Off-heap enrollment storage", 
+            UniversityTest.testOffHeapStorage());
+        test("Student lookup with sparse IDs", 
+            UniversityTest.testStudentLookupWithSparseIds());
+        test("Paged student and course listings", 
+            UniversityTest.testPagedListings());
+        test("Enrollments kept in order", 
+            UniversityTest.testEnrollmentOrderMaintained());
+        test("Listings after shuffled inserts", 
+            UniversityTest.testListingsAfterShuffledInserts());
+        test("Course IDs numbered per university", 
+            UniversityTest.testCourseIdsPerUniversity());
+        test("GPA on a custom grading scale", 
+            UniversityTest.testCustomGradingScale());
+        test("All GPAs in one sweep", 
+            UniversityTest.testComputeAllGpas());
         
         System.out.println();
     }
@@ -152,6 +216,212 @@ public final class TestRunner {
             GPATest.testGPASingleCourse());
         test("GPA credit weighting is correct", 
             GPATest.testGPACreditWeighting());
+        test("GPA updated after regrade", 
+            GPATest.testGPAAfterRegrade());
+        test("GPA updated after course credit change", 
+            GPATest.testGPAAfterCreditChange());
+        test("GPA updated after enrollment removal", 
+            GPATest.testGPAAfterRemoveEnrollment());
+        test("GPA of grade just below a cutoff", 
+            GPATest.testGPAGradeBelowCutoff());
+        
+        System.out.println();
+    }
+
+    private static void runEnrollmentColumnsTests() {
+        System.out.println("[EnrollmentColumns Tests]");
+        
+        test("Add and remove reuses slot", 
+            EnrollmentColumnsTest.testAddRemoveReusesSlot());
+        test("Free slot and invalid grade rejected", 
+            EnrollmentColumnsTest.testInvalidAccessThrows());
+        test("Enrollment store capacity limits", 
+            EnrollmentColumnsTest.testCapacityLimits());
+        test("Grade point and course grade scans", 
+            EnrollmentColumnsTest.testScans());
+        test("Off-heap storage matches heap storage", 
+            EnrollmentColumnsTest.testOffHeapMatchesHeap());
+        test("Range scans add up to full scans", 
+            EnrollmentColumnsTest.testRangeScans());
+        
+        System.out.println();
+    }
+
+    private static void runEnrollmentAnalyticsTests() {
+        System.out.println("[EnrollmentAnalytics Tests]");
+        
+        test("Parallel averages match serial results", 
+            EnrollmentAnalyticsTest.testAveragesMatchSerial());
+        test("Grade distribution by instructor", 
+            EnrollmentAnalyticsTest.testGradeDistributionByInstructor());
+
+        System.out.println();
+    }
+
+    private static void runGpaRankingTests() {
+        System.out.println("[GpaRanking Tests]");
+
+        test("Incremental updates match a full sort",
+            GpaRankingTest.testIncrementalUpdatesMatchSort());
+        test("Ties and unranked students",
+            GpaRankingTest.testTiesAndUnranked());
+        test("Major change moves student",
+            GpaRankingTest.testMajorChangeMovesStudent());
+
+        System.out.println();
+    }
+
+    private static void runCSVTokenizerTests() {
+        System.out.println("[CSVTokenizer Tests]");
+        
+        test("Split quoted and plain fields", 
+            CSVTokenizerTest.testSplitsQuotedAndPlainFields());
+        test("Escaped quotes", 
+            CSVTokenizerTest.testEscapedQuotes());
+        test("Quoted field spanning lines", 
+            CSVTokenizerTest.testQuotedLineBreak());
+        test("Tokenizer reuse across records", 
+            CSVTokenizerTest.testReuseAcrossRecords());
+        test("Parse int and double fields", 
+            CSVTokenizerTest.testParseNumbers());
+        test("Invalid numbers throw", 
+            CSVTokenizerTest.testInvalidNumbersThrow());
+        test("Student fromCSV with escaped quote", 
+            CSVTokenizerTest.testStudentFromCSVWithEscapedQuote());
+        
+        System.out.println();
+    }
+
+    private static void runCSVImporterTests() {
+        System.out.println("[CSVImporter Tests]");
+        
+        test("Import students into list", 
+            CSVImporterTest.testImportStudentsList());
+        test("Import records into a sink", 
+            CSVImporterTest.testImportIntoSink());
+        test("Stream skips invalid lines", 
+            CSVImporterTest.testStreamSkipsInvalidLines());
+        test("Stream reads lazily", 
+            CSVImporterTest.testStreamIsLazy());
+        test("Import quoted field spanning lines", 
+            CSVImporterTest.testQuotedLineBreak());
+        test("Mapped import matches buffered import", 
+            CSVImporterTest.testMappedMatchesBuffered());
+        test("Mapped import of byte ranges", 
+            CSVImporterTest.testMappedByteRanges());
+        
+        System.out.println();
+    }
+
+    private static void runCSVExporterTests() {
+        System.out.println("[CSVExporter Tests]");
+        
+        test("Export generations round trip", 
+            CSVExporterTest.testExportAllRoundTrip());
+        test("Committed export rolled forward", 
+            CSVExporterTest.testCommittedExportRolledForward());
+        test("Uncommitted export discarded", 
+            CSVExporterTest.testUncommittedExportDiscarded());
+        test("Truncated file detected", 
+            CSVExporterTest.testTruncatedFileDetected());
+        test("Quoted and Unicode fields round trip", 
+            CSVExporterTest.testQuotedAndUnicodeRoundTrip());
+        test("Invalid text rejected", 
+            CSVExporterTest.testInvalidTextRejected());
+        
+        System.out.println();
+    }
+
+    private static void runParallelLoaderTests() {
+        System.out.println("[ParallelLoader Tests]");
+        
+        test("Parallel load across many chunks", 
+            ParallelLoaderTest.testLoadManyChunks());
+        test("Orphan enrollments skipped", 
+            ParallelLoaderTest.testReferentialChecks());
+        test("Missing files skipped", 
+            ParallelLoaderTest.testMissingFilesSkipped());
+        test("Chunked failures reported in file order", 
+            ParallelLoaderTest.testChunkedFailuresInFileOrder());
+        
+        System.out.println();
+    }
+
+    private static void runBinarySnapshotTests() {
+        System.out.println("[BinarySnapshot Tests]");
+        
+        test("Snapshot round trip", 
+            BinarySnapshotTest.testRoundTrip());
+        test("Empty snapshot round trip", 
+            BinarySnapshotTest.testEmptyRoundTrip());
+        test("Corrupted snapshot detected", 
+            BinarySnapshotTest.testCorruptionDetected());
+        test("Non-snapshot file rejected", 
+            BinarySnapshotTest.testNotASnapshotRejected());
+        test("Failed write keeps previous snapshot", 
+            BinarySnapshotTest.testFailedWriteKeepsPrevious());
+        
+        System.out.println();
+    }
+
+    private static void runWriteAheadLogTests() {
+        System.out.println("[WriteAheadLog Tests]");
+        
+        test("Mutations replayed after crash", 
+            WriteAheadLogTest.testReplayAfterCrash());
+        test("Checkpoint then replay", 
+            WriteAheadLogTest.testCheckpointThenReplay());
+        test("Torn record dropped", 
+            WriteAheadLogTest.testTornRecordDropped());
+        test("Log of another snapshot not replayed", 
+            WriteAheadLogTest.testMismatchedLogNotReplayed());
+        test("Concurrent commits all durable", 
+            WriteAheadLogTest.testConcurrentCommits());
+        
+        System.out.println();
+    }
+
+    private static void runIncrementalSaverTests() {
+        System.out.println("[IncrementalSaver Tests]");
+        
+        test("Save writes only changed records", 
+            IncrementalSaverTest.testSaveWritesOnlyChanges());
+        test("Load applies delta files", 
+            IncrementalSaverTest.testLoadAppliesDeltas());
+        test("Large deltas are compacted", 
+            IncrementalSaverTest.testCompaction());
+        test("clearAll forces a full save", 
+            IncrementalSaverTest.testClearForcesFullSave());
+        
+        System.out.println();
+    }
+
+    private static void runAutoSaverTests() {
+        System.out.println("[AutoSaver Tests]");
+        
+        test("Saves after mutation threshold", 
+            AutoSaverTest.testMutationThreshold());
+        test("Saves after interval", 
+            AutoSaverTest.testInterval());
+        test("close saves remaining changes", 
+            AutoSaverTest.testCloseSavesRemainingChanges());
+        
+        System.out.println();
+    }
+
+    private static void runConcurrentUniversityTests() {
+        System.out.println("[ConcurrentUniversity Tests]");
+        
+        test("Single-threaded operations and GPA", 
+            ConcurrentUniversityTest.testSingleThreadedBehaviour());
+        test("Duplicate course throws exception", 
+            ConcurrentUniversityTest.testDuplicateCourseThrows());
+        test("Concurrent enroll loses and duplicates nothing", 
+            ConcurrentUniversityTest.testConcurrentEnrollNoLostOrDuplicate());
+        test("Concurrent grading with credit changes keeps GPA exact", 
+            ConcurrentUniversityTest.testConcurrentGradeAndCreditChange());
+        test("Batch enrollment across stripes", 
+            ConcurrentUniversityTest.testEnrollAllAcrossStripes());
         
         System.out.println();
     }
@@ -1,8 +1,14 @@
 package university.test;
 
+import university.service.ChangeSet;
+import university.service.EnrollmentColumns;
+import university.service.EnrollmentBatchResult;
+import university.service.GpaTable;
 import university.service.University;
 import university.model.Student;
 import university.model.Course;
+import university.model.Enrollment;
+import university.util.GradingScale;
 
 /**
  * Unit tests for University service class.
@@ -155,4 +161,482 @@ public final class UniversityTest {
                courses.get(1).getCode().equals("EE301") &&
                courses.get(2).getCode().equals("MATH201");
     }
+
+    public static boolean testAddEnrollmentDuplicateThrows() {
+        University uni = new University();
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addEnrollment(new Enrollment(1001, "CS101"));
+        
+        try {
+            uni.addEnrollment(new Enrollment(1001, " cs101 "));
+            return false;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().contains("already enrolled") && uni.getEnrollmentCount() == 1;
+        }
+    }
+
+    /**
+     * An enrollment in an unknown course is rejected, as by enrollAll, so
+     * no stored enrollment lacks its course.
+     */
+    public static boolean testAddEnrollmentUnknownCourseThrows() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        try {
+            uni.addEnrollment(new Enrollment(1001, "CS101", 86.0));
+            return false;
+        } catch (IllegalArgumentException e) {
+            if (!e.getMessage().contains("Course not found") || uni.getEnrollmentCount() != 0) {
+                return false;
+            }
+        }
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addEnrollment(new Enrollment(1001, "CS101", 86.0));
+        return uni.getEnrollmentCount() == 1 && Math.abs(uni.computeGpa(1001) - 3.7) < 0.001;
+    }
+
+    public static boolean testAssignGradeNormalizesCourseCode() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "cs101");
+        uni.assignGrade(1001, " Cs101 ", 85.0);
+        
+        Enrollment e = uni.getStudentEnrollments(1001).get(0);
+        return e.isGraded() && e.getGradePercent() == 85.0;
+    }
+
+    public static boolean testClearAllResetsEnrollmentIndex() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.clearAll();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        
+        try {
+            uni.enroll(1001, "CS101");
+            return uni.getEnrollmentCount() == 1;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static boolean testStudentEnrollmentsSortedByCourse() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addStudent(1002, "Bob", "CS");
+        uni.addCourse("MATH201", "Math", 3, "Dr. A");
+        uni.addCourse("CS101", "CS", 4, "Dr. B");
+        uni.addCourse("EE301", "EE", 3, "Dr. C");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.enroll(1001, "EE301");
+        uni.enroll(1001, "CS101");
+        
+        java.util.List<Enrollment> enrollments = uni.getStudentEnrollments(1001);
+        return enrollments.size() == 3 &&
+               enrollments.get(0).getCourseCode().equals("CS101") &&
+               enrollments.get(1).getCourseCode().equals("EE301") &&
+               enrollments.get(2).getCourseCode().equals("MATH201") &&
+               uni.getStudentEnrollments(9999).isEmpty();
+    }
+
+    public static boolean testRemoveEnrollment() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.removeEnrollment(1001, "cs101");
+        
+        try {
+            uni.removeEnrollment(1001, "CS101");
+            return false;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().contains("not found") &&
+                   uni.getEnrollmentCount() == 0 &&
+                   uni.getStudentEnrollments(1001).isEmpty();
+        }
+    }
+
+    public static boolean testEnrollAllReportsFailures() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addStudent(1002, "Bob", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Math", 3, "Dr. Ada");
+        uni.enroll(1002, "MATH201");
+        
+        java.util.List<Enrollment> batch = java.util.Arrays.asList(
+                new Enrollment(1001, "cs101"),
+                new Enrollment(9999, "CS101"),
+                new Enrollment(1001, "FAKE999"),
+                new Enrollment(1002, "MATH201"),
+                new Enrollment(1001, "CS101"),
+                new Enrollment(1002, "CS101"));
+        EnrollmentBatchResult result = uni.enrollAll(batch);
+        
+        java.util.List<EnrollmentBatchResult.Failure> failures = result.getFailures();
+        return result.getEnrolledCount() == 2 &&
+               failures.size() == 4 &&
+               failures.get(0).getIndex() == 1 && failures.get(0).getReason().contains("not found") &&
+               failures.get(1).getIndex() == 2 && failures.get(1).getReason().contains("not found") &&
+               failures.get(2).getIndex() == 3 && failures.get(2).getReason().contains("already enrolled") &&
+               failures.get(3).getIndex() == 4 && failures.get(3).getReason().contains("already enrolled") &&
+               uni.getEnrollmentCount() == 3;
+    }
+
+    public static boolean testDrainChanges() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        if (uni.drainChanges() != null) {
+            return false;
+        }
+        
+        uni.addStudent(1002, "Bob", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1002, "CS101");
+        uni.assignGrade(1001, "CS101", 85);
+        uni.removeEnrollment(1002, "CS101");
+        ChangeSet changes = uni.drainChanges();
+        ChangeSet empty = uni.drainChanges();
+        uni.clearAll();
+        ChangeSet cleared = uni.drainChanges();
+        
+        return changes.getStudents().size() == 1 &&
+               changes.getCourses().size() == 1 &&
+               changes.getEnrollments().size() == 1 &&
+               changes.getEnrollments().get(0).getGradePercent() == 85.0 &&
+               changes.getRemovedEnrollments().size() == 1 &&
+               changes.getRemovedEnrollments().get(0).getStudentId() == 1002 &&
+               !changes.isCleared() &&
+               empty.isEmpty() &&
+               cleared.isCleared() && cleared.size() == 0;
+    }
+
+    public static boolean testDrainedChangesArePointInTime() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.enroll(1001, "CS101");
+        uni.drainChanges();
+        
+        uni.assignGrade(1001, "CS101", 85);
+        ChangeSet changes = uni.drainChanges();
+        uni.assignGrade(1001, "CS101", 40);
+        ChangeSet all = uni.drainAll();
+        uni.getCourse("CS101").setCredits(3);
+        
+        return changes.getEnrollments().get(0).getGradePercent() == 85.0 &&
+               all.isCleared() &&
+               all.getEnrollments().get(0).getGradePercent() == 40.0 &&
+               all.getCourses().get(0).getCredits() == 4 &&
+               uni.drainChanges().getCourses().size() == 1 &&
+               uni.getModificationCount() == 6;
+    }
+
+    public static boolean testComputeCourseAverage() {
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addStudent(1002, "Bob", "CS");
+        uni.addStudent(1003, "Carol", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Math", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1002, "CS101");
+        uni.enroll(1003, "CS101");
+        uni.assignGrade(1001, "CS101", 80);
+        uni.assignGrade(1002, "CS101", 95.5);
+        
+        try {
+            uni.computeCourseAverage("FAKE999");
+            return false;
+        } catch (IllegalArgumentException e) {
+            return uni.computeCourseAverage("cs101") == 87.75 &&
+                   uni.computeCourseAverage("MATH201") == 0.0;
+        }
+    }
+
+    public static boolean testEnrollmentsAfterManyRemovals() {
+        University uni = new University();
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Math", 3, "Dr. Ada");
+        for (int id = 1; id <= 300; id++) {
+            uni.addStudent(id, "Student " + id, "CS");
+            uni.enroll(id, "CS101");
+            uni.enroll(id, "MATH201");
+        }
+        for (int id = 1; id <= 300; id += 2) {
+            uni.removeEnrollment(id, "CS101");
+        }
+        for (int id = 1; id <= 300; id += 4) {
+            uni.enroll(id, "CS101");
+            uni.assignGrade(id, "CS101", 90);
+        }
+        
+        for (int id = 1; id <= 300; id++) {
+            boolean enrolled = id % 2 == 0 || id % 4 == 1;
+            Enrollment e = uni.getEnrollment(id, "CS101");
+            if (enrolled != (e != null) || uni.getEnrollment(id, "MATH201") == null) {
+                return false;
+            }
+        }
+        Enrollment regraded = uni.getEnrollment(5, "CS101");
+        // Returned enrollments are copies
+        regraded.setGradePercent(10.0);
+        return uni.getEnrollmentCount() == 300 + 150 + 75 &&
+               uni.getEnrollment(5, "CS101").getGradePercent() == 90.0 &&
+               uni.getStudentEnrollments(5).size() == 2 &&
+               uni.getStudentEnrollments(3).size() == 1;
+    }
+
+    public static boolean testOffHeapStorage() {
+        University uni = new University(EnrollmentColumns.Storage.OFF_HEAP);
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addStudent(1002, "Bob", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.assignGrade(1001, "CS101", 86);
+        uni.assignGrade(1001, "MATH201", 72);
+        uni.assignGrade(1002, "CS101", 55);
+        uni.removeEnrollment(1002, "CS101");
+        
+        int[] count = new int[1];
+        long[] gradeTenths = new long[1];
+        uni.forEachEnrollment(view -> {
+            count[0]++;
+            gradeTenths[0] += view.getGradeTenths();
+        });
+        Enrollment math = uni.getEnrollment(1001, "MATH201");
+        return uni.getEnrollmentStorage() == EnrollmentColumns.Storage.OFF_HEAP &&
+               count[0] == 2 && gradeTenths[0] == 860 + 720 &&
+               Math.abs(uni.computeGpa(1001) - 3.27) < 0.01 &&
+               math.getGradePercent() == 72.0 &&
+               uni.getStudentEnrollments(1002).isEmpty();
+    }
+
+    public static boolean testStudentLookupWithSparseIds() {
+        University uni = new University();
+        for (int i = 1; i <= 5000; i++) {
+            uni.addStudent(i * 7919, "Student " + i, "CS");
+        }
+        uni.addStudent(Integer.MAX_VALUE, "Last", "CS");
+        
+        for (int i = 1; i <= 5000; i++) {
+            Student s = uni.getStudent(i * 7919);
+            if (s == null || s.getId() != i * 7919 || uni.getStudent(i * 7919 + 1) != null) {
+                return false;
+            }
+        }
+        java.util.List<Student> all = uni.getAllStudents();
+        return uni.getStudentCount() == 5001 &&
+               all.size() == 5001 &&
+               all.get(0).getId() == 7919 &&
+               all.get(5000).getId() == Integer.MAX_VALUE &&
+               uni.getStudent(0) == null &&
+               uni.getStudent(-7919) == null;
+    }
+
+    public static boolean testPagedListings() {
+        University uni = new University();
+        for (int id = 50; id >= 1; id--) {
+            uni.addStudent(id * 10, "Student " + id, "CS");
+        }
+        uni.addCourse("PHYS101", "Physics", 4, "Dr. Curie");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 3, "Dr. Ada");
+        
+        java.util.List<Student> first = uni.getStudents(0, 20);
+        java.util.List<Student> next = uni.getStudents(first.get(19).getId() + 1, 20);
+        java.util.List<Student> last = uni.getStudents(next.get(19).getId() + 1, 20);
+        java.util.List<Course> courses = uni.getCourses("d", 5);
+        try {
+            uni.getStudents(0, -1);
+            return false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        return first.size() == 20 && first.get(0).getId() == 10 && first.get(19).getId() == 200 &&
+               next.size() == 20 && next.get(0).getId() == 210 &&
+               last.size() == 10 && last.get(9).getId() == 500 &&
+               uni.getStudents(255, 1).get(0).getId() == 260 &&
+               uni.getStudents(501, 10).isEmpty() &&
+               uni.getStudents(0, 0).isEmpty() &&
+               courses.size() == 2 && courses.get(0).getCode().equals("MATH201") &&
+               uni.getAllCourses().get(0).getCode().equals("CS101") &&
+               uni.getCourse("phys101").getTitle().equals("Physics") &&
+               uni.getCourse("NONE999") == null;
+    }
+
+    /**
+     * Students added in shuffled order, with listings read in between,
+     * come back complete and sorted, whole and page by page.
+     */
+    public static boolean testListingsAfterShuffledInserts() {
+        University uni = new University();
+        java.util.List<Integer> ids = new java.util.ArrayList<>();
+        for (int id = 1; id <= 5000; id++) {
+            ids.add(id * 3);
+        }
+        java.util.Collections.shuffle(ids, new java.util.Random(8));
+        for (int i = 0; i < ids.size(); i++) {
+            uni.addStudent(ids.get(i), "Student " + i, "CS");
+            if (i % 700 == 0 && uni.getStudents(ids.get(i), 1).get(0).getId() != ids.get(i)) {
+                return false;
+            }
+        }
+
+        java.util.List<Student> all = uni.getAllStudents();
+        int next = 0;
+        int pages = 0;
+        for (java.util.List<Student> page = uni.getStudents(0, 64); !page.isEmpty();
+                page = uni.getStudents(next, 64)) {
+            for (Student student : page) {
+                if (student.getId() != all.get(pages * 64 + page.indexOf(student)).getId()) {
+                    return false;
+                }
+            }
+            next = page.get(page.size() - 1).getId() + 1;
+            pages++;
+        }
+        for (int i = 0; i < all.size(); i++) {
+            if (all.get(i).getId() != (i + 1) * 3) {
+                return false;
+            }
+        }
+        return all.size() == 5000 && pages == (5000 + 63) / 64 && uni.getStudents(7, 1).get(0).getId() == 9;
+    }
+
+    public static boolean testEnrollmentOrderMaintained() {
+        University uni = new University();
+        uni.addStudent(3, "Carol", "CS");
+        uni.addStudent(1, "Alice", "CS");
+        uni.addStudent(2, "Bob", "CS");
+        String[] codes = {"PHYS101", "CS101", "MATH201", "BIO110", "ENG100"};
+        for (String code : codes) {
+            uni.addCourse(code, code, 3, "Dr. Who");
+        }
+        for (int id = 3; id >= 1; id--) {
+            for (String code : codes) {
+                uni.enroll(id, code);
+            }
+        }
+        uni.removeEnrollment(2, "CS101");
+        uni.removeEnrollment(1, "PHYS101");
+        uni.enroll(2, "CS101");
+        
+        java.util.List<Enrollment> all = uni.getAllEnrollments();
+        for (int i = 1; i < all.size(); i++) {
+            Enrollment a = all.get(i - 1);
+            Enrollment b = all.get(i);
+            if (a.getStudentId() > b.getStudentId() ||
+                    a.getStudentId() == b.getStudentId() && a.getCourseCode().compareTo(b.getCourseCode()) >= 0) {
+                return false;
+            }
+        }
+        java.util.List<Enrollment> page = uni.getEnrollments(2, "d", 3);
+        java.util.List<Enrollment> rest = uni.getEnrollments(2, "MATH201\0", 100);
+        return all.size() == 14 &&
+               all.get(0).getCourseCode().equals("BIO110") && all.get(3).getCourseCode().equals("MATH201") &&
+               uni.getStudentEnrollments(2).get(1).getCourseCode().equals("CS101") &&
+               page.size() == 3 && page.get(0).getCourseCode().equals("ENG100") &&
+               page.get(2).getCourseCode().equals("PHYS101") &&
+               rest.size() == 6 && rest.get(0).getCourseCode().equals("PHYS101") &&
+               rest.get(1).getStudentId() == 3;
+    }
+
+    /**
+     * Course IDs are numbered per university, from its registered courses
+     * only: codes of rejected requests and of other universities take no
+     * ID. Enrollment copies share the course's code String.
+     */
+    public static boolean testCourseIdsPerUniversity() {
+        University other = new University();
+        for (int c = 0; c < 50; c++) {
+            other.addCourse("OTHER" + c, "Other", 3, "Dr. Who");
+        }
+        University uni = new University();
+        uni.addStudent(1001, "Alice", "CS");
+        java.util.List<Enrollment> rejected = new java.util.ArrayList<>();
+        for (int c = 0; c < 50; c++) {
+            rejected.add(new Enrollment(1001, "NOPE" + c));
+        }
+        uni.enrollAll(rejected);
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Math", 3, "Dr. Ada");
+        uni.enroll(1001, "MATH201");
+        
+        int[] courseId = {-1};
+        uni.forEachEnrollment(view -> courseId[0] = view.getCourseId());
+        return courseId[0] == 1 &&
+               uni.getEnrollment(1001, "math201").getCourseCode() == uni.getCourse("MATH201").getCode();
+    }
+
+    public static boolean testCustomGradingScale() {
+        GradingScale passFail = new GradingScale(new double[] {60}, new double[] {4.0});
+        University uni = new University(EnrollmentColumns.Storage.HEAP, passFail);
+        uni.addStudent(1001, "Alice", "CS");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Discrete Math", 2, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.assignGrade(1001, "CS101", 61);
+        uni.assignGrade(1001, "MATH201", 59.9);
+        return Math.abs(uni.computeGpa(1001) - 4.0 * 4 / 6) < 0.001;
+    }
+
+    /**
+     * The one-pass GPA sweep, serial and split across a pool, matches
+     * computeGpa for every student, including students without grades.
+     */
+    public static boolean testComputeAllGpas() {
+        University uni = new University();
+        for (int c = 0; c < 70; c++) {
+            uni.addCourse("GPA" + (100 + c), "Course " + c, 1 + c % 4, "Dr. Smith");
+        }
+        java.util.Random random = new java.util.Random(7);
+        for (int id = 2500; id >= 1; id--) {
+            uni.addStudent(id, "Student " + id, "CS");
+            if (id % 100 == 0) {
+                continue;
+            }
+            for (int c = 0; c < 60; c++) {
+                uni.enroll(id, "GPA" + (100 + c));
+                if (random.nextInt(5) != 0) {
+                    uni.assignGrade(id, "GPA" + (100 + c), random.nextInt(1001) / 10.0);
+                }
+            }
+        }
+        uni.removeEnrollment(7, "GPA100");
+        uni.enroll(7, "GPA165");
+        uni.assignGrade(7, "GPA165", 91.5);
+
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            GpaTable serial = uni.computeAllGpas();
+            GpaTable parallel = uni.computeAllGpas(pool);
+            if (serial.size() != 2500 || parallel.size() != 2500) {
+                return false;
+            }
+            for (int i = 0; i < serial.size(); i++) {
+                int id = serial.getStudentId(i);
+                double expected = uni.computeGpa(id);
+                if (id != i + 1 || parallel.getStudentId(i) != id ||
+                        Math.abs(serial.getGpa(i) - expected) > 1e-9 ||
+                        Math.abs(parallel.getGpa(i) - expected) > 1e-9 ||
+                        serial.getCredits(i) != parallel.getCredits(i)) {
+                    return false;
+                }
+            }
+            return serial.getGpaOf(100) == 0.0 && serial.getCredits(99) == 0 &&
+                   serial.indexOf(2501) == -1;
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
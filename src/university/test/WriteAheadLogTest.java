@@ -0,0 +1,240 @@
+package university.test;
+
+import university.service.University;
+import university.service.WriteAheadLog;
+import university.service.WriteAheadLog.SyncPolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for WriteAheadLog class.
+ * A crash is simulated by recovering into a new University without
+ * closing the log that was in use.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class WriteAheadLogTest {
+
+    private WriteAheadLogTest() {}
+
+    /**
+     * Every kind of mutation is replayed after a crash.
+     */
+    public static boolean testReplayAfterCrash() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            University uni = new University();
+            WriteAheadLog crashed = WriteAheadLog.recover(uni, dir.resolve("university.snapshot"),
+                    dir.resolve("university.wal"), SyncPolicy.COMMIT, 0);
+            addSampleData(uni);
+            uni.removeEnrollment(1002, "CS101");
+            uni.getCourse("MATH201").setCredits(4);
+
+            University recovered = new University();
+            WriteAheadLog log = WriteAheadLog.recover(recovered, dir.resolve("university.snapshot"),
+                    dir.resolve("university.wal"), SyncPolicy.COMMIT, 0);
+            log.close();
+            crashed.close();
+
+            return log.getRecoveredCount() == 12 &&
+                   recovered.getStudentCount() == 2 &&
+                   recovered.getCourseCount() == 2 &&
+                   recovered.getEnrollmentCount() == 2 &&
+                   recovered.getCourse("MATH201").getCredits() == 4 &&
+                   recovered.computeGpa(1001) == uni.computeGpa(1001);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * A checkpoint empties the log; later mutations are replayed on top
+     * of the new snapshot.
+     */
+    public static boolean testCheckpointThenReplay() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            Path snapshot = dir.resolve("university.snapshot");
+            Path logFile = dir.resolve("university.wal");
+            University uni = new University();
+            WriteAheadLog log = WriteAheadLog.recover(uni, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            addSampleData(uni);
+            log.checkpoint(uni, snapshot);
+            long emptySize = Files.size(logFile);
+            uni.assignGrade(1002, "CS101", 55);
+            uni.clearAll();
+            uni.addStudent(2001, "New Student", "Math");
+
+            University recovered = new University();
+            WriteAheadLog second = WriteAheadLog.recover(recovered, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            second.close();
+
+            return emptySize == 16 &&
+                   second.getRecoveredCount() == 3 &&
+                   recovered.getStudentCount() == 1 &&
+                   recovered.getStudent(2001) != null &&
+                   recovered.getCourseCount() == 0;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * A record cut off by a crash is dropped, and appending continues
+     * after the last intact record.
+     */
+    public static boolean testTornRecordDropped() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            Path snapshot = dir.resolve("university.snapshot");
+            Path logFile = dir.resolve("university.wal");
+            University uni = new University();
+            WriteAheadLog crashed = WriteAheadLog.recover(uni, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            uni.addStudent(1001, "Ali Yilmaz", "CS");
+            crashed.close();
+            Files.write(logFile, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+            University second = new University();
+            WriteAheadLog log = WriteAheadLog.recover(second, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            second.addStudent(1002, "Ayse Demir", "SE");
+
+            University third = new University();
+            WriteAheadLog.recover(third, snapshot, logFile, SyncPolicy.COMMIT, 0).close();
+            log.close();
+
+            return third.getStudentCount() == 2 && third.getStudent(1002) != null;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * A log written for another snapshot is set aside instead of replayed.
+     */
+    public static boolean testMismatchedLogNotReplayed() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            Path snapshot = dir.resolve("university.snapshot");
+            Path logFile = dir.resolve("university.wal");
+            University uni = new University();
+            WriteAheadLog log = WriteAheadLog.recover(uni, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            addSampleData(uni);
+            log.checkpoint(uni, snapshot);
+            uni.addStudent(3001, "Late Student", "CS");
+            log.close();
+            byte[] oldLog = Files.readAllBytes(logFile);
+
+            // Replace the snapshot, then put back the log written for the old one
+            University other = new University();
+            other.addStudent(9001, "Other", "CS");
+            log = WriteAheadLog.recover(new University(), snapshot, logFile, SyncPolicy.COMMIT, 0);
+            log.checkpoint(other, snapshot);
+            log.close();
+            Files.write(logFile, oldLog);
+
+            University recovered = new University();
+            WriteAheadLog.recover(recovered, snapshot, logFile, SyncPolicy.COMMIT, 0).close();
+            return recovered.getStudentCount() == 1 &&
+                   recovered.getStudent(9001) != null &&
+                   Files.exists(dir.resolve("university.wal.stale"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Concurrent enrollments under COMMIT are all durable.
+     */
+    public static boolean testConcurrentCommits() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("smartuniversity");
+            Path snapshot = dir.resolve("university.snapshot");
+            Path logFile = dir.resolve("university.wal");
+            University uni = new University();
+            WriteAheadLog log = WriteAheadLog.recover(uni, snapshot, logFile, SyncPolicy.COMMIT, 0);
+            uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+            for (int s = 1; s <= 200; s++) {
+                uni.addStudent(s, "Student " + s, "CS");
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int s = 1; s <= 200; s++) {
+                int studentId = s;
+                pool.execute(() -> {
+                    uni.enroll(studentId, "CS101");
+                    uni.assignGrade(studentId, "CS101", 70 + studentId % 30);
+                });
+            }
+            pool.shutdown();
+            if (!awaitTermination(pool)) {
+                return false;
+            }
+
+            University recovered = new University();
+            WriteAheadLog.recover(recovered, snapshot, logFile, SyncPolicy.COMMIT, 0).close();
+            log.close();
+            return recovered.getEnrollmentCount() == 200 &&
+                   recovered.computeGpa(57) == uni.computeGpa(57);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private static void addSampleData(University uni) {
+        uni.addStudent(1001, "Ali Yilmaz", "Bilgisayar Muhendisligi");
+        uni.addStudent(1002, "Ayse Demir", "Yazilim Muhendisligi");
+        uni.addCourse("CS101", "Programming", 4, "Dr. Smith");
+        uni.addCourse("MATH201", "Lineer Cebir", 3, "Dr. Ada");
+        uni.enroll(1001, "CS101");
+        uni.enroll(1001, "MATH201");
+        uni.enroll(1002, "CS101");
+        uni.assignGrade(1001, "CS101", 86);
+        uni.assignGrade(1001, "MATH201", 72.5);
+        uni.assignGrade(1002, "CS101", 90);
+    }
+
+    private static boolean awaitTermination(ExecutorService pool) {
+        try {
+            return pool.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // temp directory, nothing else to do
+        }
+    }
+}
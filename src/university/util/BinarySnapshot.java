@@ -0,0 +1,324 @@
+package university.util;
+
+import university.model.Course;
+import university.model.Enrollment;
+import university.model.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Utility class for saving and restoring the full data set as one
+ * binary snapshot file, as a faster alternative to the three CSV files.
+ *
+ * Format (big-endian, version 2):
+ * <pre>
+ * int    magic "SUNI", int version
+ * int    n, n strings          string table: course codes and majors
+ * int    n, n x (int id, string name, int major ref)
+ * int    n, n x (int code ref, string title, int credits, string instructor)
+ * int    n, int[n] studentIds, int[n] course code refs, short[n] grades
+ * int    CRC32 of all preceding bytes
+ * </pre>
+ * Strings are an int byte length followed by UTF-8 bytes; a "ref" is an
+ * index into the string table. A grade is stored in tenths of a percent
+ * (86.5 as 865), as Enrollment keeps it, or -1 if not graded. The
+ * checksum is verified before any record is passed on, so a damaged
+ * file restores nothing.
+ * A snapshot is written to "<file>.tmp", forced to disk and renamed over
+ * the target in one atomic step, so a crash while saving leaves the
+ * previous snapshot intact.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class BinarySnapshot {
+
+    private static final int MAGIC = 0x53554E49;
+    private static final int VERSION = 2;
+    private static final short NO_GRADE = -1;
+
+    private BinarySnapshot() {}
+
+    /**
+     * Writes a snapshot of the given records, atomically replacing the file.
+     *
+     * @param students Students to save
+     * @param courses Courses to save
+     * @param enrollments Enrollments to save (course codes must be in courses)
+     * @param filePath Path to the output file
+     * @return CRC32 checksum of the snapshot, as stored in the file
+     * @throws IOException if file writing fails
+     * @throws IllegalArgumentException if an enrollment refers to a course not in courses
+     */
+    public static int write(List<Student> students, List<Course> courses, List<Enrollment> enrollments,
+                             Path filePath) throws IOException {
+        return write(students, courses, enrollments, filePath, true);
+    }
+
+    /**
+     * Writes a snapshot of the given records to the temp file of filePath
+     * (pendingPath) and forces it to disk.
+     *
+     * @param students Students to save
+     * @param courses Courses to save
+     * @param enrollments Enrollments to save (course codes must be in courses)
+     * @param filePath Path to the output file
+     * @param moveIntoPlace true to atomically replace filePath with the temp file;
+     *                      false to leave it for the caller to move
+     * @return CRC32 checksum of the snapshot, as stored in the file
+     * @throws IOException if file writing fails
+     * @throws IllegalArgumentException if an enrollment refers to a course not in courses
+     */
+    public static int write(List<Student> students, List<Course> courses, List<Enrollment> enrollments,
+                             Path filePath, boolean moveIntoPlace) throws IOException {
+        Path parent = filePath.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> refs = new HashMap<>();
+        for (Course course : courses) {
+            ref(course.getCode(), strings, refs);
+        }
+        for (Student student : students) {
+            ref(student.getMajor(), strings, refs);
+        }
+
+        int[] codeRefs = new int[enrollments.size()];
+        for (int i = 0; i < codeRefs.length; i++) {
+            Integer code = refs.get(enrollments.get(i).getCourseCode());
+            if (code == null) {
+                throw new IllegalArgumentException("Course not found: " + enrollments.get(i).getCourseCode());
+            }
+            codeRefs[i] = code;
+        }
+
+        Path pending = pendingPath(filePath);
+        int checksum;
+        try (FileChannel file = FileChannel.open(pending, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            checksum = writeRecords(students, courses, enrollments, strings, refs, codeRefs,
+                    Channels.newOutputStream(file));
+            file.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(pending);
+            throw e;
+        }
+        if (moveIntoPlace) {
+            Files.move(pending, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CSVFileWriter.syncDirectory(filePath.toAbsolutePath().getParent());
+        }
+        return checksum;
+    }
+
+    /**
+     * @return Path of the temp file a snapshot of filePath is written to
+     */
+    public static Path pendingPath(Path filePath) {
+        return CSVFileWriter.pendingPath(filePath);
+    }
+
+    /**
+     * Writes the records and their checksum to a stream.
+     * @return CRC32 checksum, as written
+     */
+    private static int writeRecords(List<Student> students, List<Course> courses, List<Enrollment> enrollments,
+                                    List<String> strings, Map<String, Integer> refs, int[] codeRefs,
+                                    OutputStream file) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeInt(strings.size());
+        for (String s : strings) {
+            writeString(out, s);
+        }
+
+        out.writeInt(students.size());
+        for (Student student : students) {
+            out.writeInt(student.getId());
+            writeString(out, student.getName());
+            out.writeInt(refs.get(student.getMajor()));
+        }
+
+        out.writeInt(courses.size());
+        for (Course course : courses) {
+            out.writeInt(refs.get(course.getCode()));
+            writeString(out, course.getTitle());
+            out.writeInt(course.getCredits());
+            writeString(out, course.getInstructor());
+        }
+
+        out.writeInt(enrollments.size());
+        for (Enrollment enrollment : enrollments) {
+            out.writeInt(enrollment.getStudentId());
+        }
+        for (int code : codeRefs) {
+            out.writeInt(code);
+        }
+        for (Enrollment enrollment : enrollments) {
+            out.writeShort(enrollment.isGraded() ? enrollment.getGradeTenths() : NO_GRADE);
+        }
+
+        out.flush();
+        // Taken before it is written, so the checksum covers the bytes before it
+        int checksum = (int) crc.getValue();
+        out.writeInt(checksum);
+        out.flush();
+        return checksum;
+    }
+
+    /**
+     * Reads a snapshot, verifies its checksum and passes its records to
+     * the sinks: all students, then all courses, then all enrollments.
+     *
+     * @param filePath Path to the snapshot file
+     * @param students Receives each student
+     * @param courses Receives each course
+     * @param enrollments Receives each enrollment
+     * @return CRC32 checksum of the snapshot
+     * @throws IOException if reading fails or the file is not a valid snapshot
+     */
+    public static int read(Path filePath, Consumer<Student> students, Consumer<Course> courses,
+                            Consumer<Enrollment> enrollments) throws IOException {
+        ByteBuffer buffer = readFully(filePath);
+        if (buffer.limit() < 12) {
+            throw new IOException("Not a snapshot file: " + filePath);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        int checksum = (int) crc.getValue();
+        if (buffer.getInt(buffer.limit() - 4) != checksum) {
+            throw new IOException("Snapshot checksum mismatch: " + filePath);
+        }
+        buffer.limit(buffer.limit() - 4);
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + filePath);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+
+            String[] strings = new String[count(buffer, 4)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+
+            int studentCount = count(buffer, 12);
+            for (int i = 0; i < studentCount; i++) {
+                int id = buffer.getInt();
+                String name = readString(buffer);
+                students.accept(new Student(id, name, lookup(strings, buffer.getInt())));
+            }
+
+            int courseCount = count(buffer, 16);
+            for (int i = 0; i < courseCount; i++) {
+                String code = lookup(strings, buffer.getInt());
+                String title = readString(buffer);
+                int credits = buffer.getInt();
+                courses.accept(new Course(code, title, credits, readString(buffer)));
+            }
+
+            // Columns are read side by side with absolute offsets
+            int enrollmentCount = count(buffer, 10);
+            int idsAt = buffer.position();
+            int codesAt = idsAt + enrollmentCount * 4;
+            int gradesAt = codesAt + enrollmentCount * 4;
+            for (int i = 0; i < enrollmentCount; i++) {
+                int studentId = buffer.getInt(idsAt + i * 4);
+                String code = lookup(strings, buffer.getInt(codesAt + i * 4));
+                short tenths = buffer.getShort(gradesAt + i * 2);
+                enrollments.accept(new Enrollment(studentId, code, tenths == NO_GRADE ? null : tenths / 10.0));
+            }
+            return checksum;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated snapshot: " + filePath, e);
+        }
+    }
+
+    private static ByteBuffer readFully(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + size + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot changed while reading: " + filePath);
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static void ref(String s, List<String> strings, Map<String, Integer> refs) {
+        if (!refs.containsKey(s)) {
+            refs.put(s, strings.size());
+            strings.add(s);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot string length " + length);
+        }
+        String s = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return s;
+    }
+
+    /**
+     * Reads a record count, checking it against the bytes left so a
+     * corrupt count cannot cause a huge allocation or loop.
+     */
+    private static int count(ByteBuffer buffer, int minRecordBytes) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * minRecordBytes > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot record count " + count);
+        }
+        return count;
+    }
+
+    private static String lookup(String[] strings, int ref) throws IOException {
+        if (ref < 0 || ref >= strings.length) {
+            throw new IOException("Corrupt snapshot string reference " + ref);
+        }
+        return strings[ref];
+    }
+}
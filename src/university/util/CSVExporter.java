@@ -4,16 +4,29 @@ import university.model.Course;
 import university.model.Enrollment;
 import university.model.Student;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Utility class for exporting data to CSV files.
  * Handles proper CSV formatting with quoted strings.
+ * Rows are formatted by the records' appendCSV methods into one reused
+ * StringBuilder and encoded straight into the file buffer, so exporting
+ * creates no garbage per row.
+ * Every export is crash-safe: the file is written to a temp file, forced
+ * to disk and atomically renamed over the old one (see CSVFileWriter).
+ * exportAll goes further and commits students, courses and enrollments
+ * together as one generation recorded in a manifest (see ExportManifest),
+ * which CSVImporter.recoverExport checks before loading.
+ * Besides full exports, records can be appended to delta files that
+ * CSVImporter reads back in order (later rows win).
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
@@ -21,6 +34,15 @@ import java.util.List;
  */
 public final class CSVExporter {
 
+    public static final String STUDENTS_FILE = "students.csv";
+    public static final String COURSES_FILE = "courses.csv";
+    public static final String ENROLLMENTS_FILE = "enrollments.csv";
+
+    private static final String STUDENT_HEADER = "id,name,major";
+    private static final String COURSE_HEADER = "code,title,credits,instructor";
+    private static final String ENROLLMENT_HEADER = "studentId,courseCode,gradePercent";
+    private static final String ENROLLMENT_CHANGE_HEADER = "op,studentId,courseCode,gradePercent";
+
     private CSVExporter() {}
 
     /**
@@ -32,17 +54,7 @@ public final class CSVExporter {
      * @throws IOException if file writing fails
      */
     public static void exportStudents(List<Student> students, Path filePath) throws IOException {
-        ensureDirectoryExists(filePath);
-        
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            writer.write("id,name,major");
-            writer.newLine();
-            
-            for (Student student : students) {
-                writer.write(student.toCSV());
-                writer.newLine();
-            }
-        }
+        export(filePath, STUDENT_HEADER, students, Student::appendCSV, true);
     }
 
     /**
@@ -54,17 +66,7 @@ public final class CSVExporter {
      * @throws IOException if file writing fails
      */
     public static void exportCourses(List<Course> courses, Path filePath) throws IOException {
-        ensureDirectoryExists(filePath);
-        
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            writer.write("code,title,credits,instructor");
-            writer.newLine();
-            
-            for (Course course : courses) {
-                writer.write(course.toCSV());
-                writer.newLine();
-            }
-        }
+        export(filePath, COURSE_HEADER, courses, Course::appendCSV, true);
     }
 
     /**
@@ -76,16 +78,154 @@ public final class CSVExporter {
      * @throws IOException if file writing fails
      */
     public static void exportEnrollments(List<Enrollment> enrollments, Path filePath) throws IOException {
+        export(filePath, ENROLLMENT_HEADER, enrollments, Enrollment::appendCSV, true);
+    }
+
+    /**
+     * Exports students.csv, courses.csv and enrollments.csv to a directory
+     * as one generation: after a crash the directory holds either all
+     * three old files or all three new ones.
+     * Concurrent exports to the same directory are not supported.
+     * 
+     * @param students Students to export
+     * @param courses Courses to export
+     * @param enrollments Enrollments to export
+     * @param directory Output directory
+     * @return Generation number of the export
+     * @throws IOException if file writing fails (the previous generation is kept)
+     */
+    public static long exportAll(List<Student> students, List<Course> courses, List<Enrollment> enrollments,
+                                 Path directory) throws IOException {
+        long generation = 1;
+        try {
+            ExportManifest previous = ExportManifest.read(directory);
+            if (previous != null) {
+                generation = previous.getGeneration() + 1;
+            }
+        } catch (IOException e) {
+            // A damaged manifest is replaced by the new one
+        }
+        ExportManifest manifest = new ExportManifest(generation);
+
+        CSVFileWriter[] writers = {
+            export(directory.resolve(STUDENTS_FILE), STUDENT_HEADER, students, Student::appendCSV, false),
+            export(directory.resolve(COURSES_FILE), COURSE_HEADER, courses, Course::appendCSV, false),
+            export(directory.resolve(ENROLLMENTS_FILE), ENROLLMENT_HEADER, enrollments, Enrollment::appendCSV, false)
+        };
+        String[] names = {STUDENTS_FILE, COURSES_FILE, ENROLLMENTS_FILE};
+        for (int i = 0; i < names.length; i++) {
+            manifest.add(names[i], writers[i].getSize(), writers[i].getCrc());
+        }
+
+        manifest.commit(directory);
+        manifest.recover(directory);
+        return manifest.getGeneration();
+    }
+
+    /**
+     * Appends students to a delta file, writing the header if the file is new.
+     * Format: id,name,major
+     * 
+     * @param students Added or updated students
+     * @param filePath Path to the delta file
+     * @throws IOException if file writing fails
+     */
+    public static void appendStudents(List<Student> students, Path filePath) throws IOException {
+        append(filePath, STUDENT_HEADER, students, Student::appendCSV);
+    }
+
+    /**
+     * Appends courses to a delta file, writing the header if the file is new.
+     * Format: code,title,credits,instructor
+     * 
+     * @param courses Added or updated courses
+     * @param filePath Path to the delta file
+     * @throws IOException if file writing fails
+     */
+    public static void appendCourses(List<Course> courses, Path filePath) throws IOException {
+        append(filePath, COURSE_HEADER, courses, Course::appendCSV);
+    }
+
+    /**
+     * Appends enrollment changes to a delta file, writing the header if
+     * the file is new. Each row starts with U (added or updated) or D
+     * (removed; the grade is left empty).
+     * Format: op,studentId,courseCode,gradePercent
+     * 
+     * @param enrollments Added or updated enrollments
+     * @param removed Removed enrollments
+     * @param filePath Path to the delta file
+     * @throws IOException if file writing fails
+     */
+    public static void appendEnrollmentChanges(List<Enrollment> enrollments, List<Enrollment> removed,
+                                               Path filePath) throws IOException {
+        append(filePath, ENROLLMENT_CHANGE_HEADER, enrollments, (e, row) -> e.appendCSV(row.append("U,")));
+        append(filePath, ENROLLMENT_CHANGE_HEADER, removed,
+                (e, row) -> row.append("D,").append(e.getStudentId()).append(',').append(e.getCourseCode()).append(','));
+    }
+
+    /**
+     * Writes records to the temp file of filePath and forces it to disk.
+     * @param moveIntoPlace true to rename the temp file over filePath
+     * @return the committed writer, for its size and CRC
+     */
+    private static <T> CSVFileWriter export(Path filePath, String header, List<T> records,
+                                            BiConsumer<T, StringBuilder> format, boolean moveIntoPlace)
+            throws IOException {
+        CSVFileWriter writer = new CSVFileWriter(filePath);
+        try {
+            writer.writeLine(header);
+            StringBuilder row = new StringBuilder(128);
+            for (T record : records) {
+                row.setLength(0);
+                format.accept(record, row);
+                writer.writeLine(row);
+            }
+            writer.commit(moveIntoPlace);
+            return writer;
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends records and forces them to disk. A line cut off by a crash
+     * during an earlier append is ended first, so it stays one invalid
+     * line that the importer skips instead of merging with the next record.
+     */
+    private static <T> void append(Path filePath, String header, List<T> records,
+                                   BiConsumer<T, StringBuilder> format)
+            throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
         ensureDirectoryExists(filePath);
-        
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            writer.write("studentId,courseCode,gradePercent");
-            writer.newLine();
-            
-            for (Enrollment enrollment : enrollments) {
-                writer.write(enrollment.toCSV());
-                writer.newLine();
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            StringBuilder text = new StringBuilder();
+            if (size == 0) {
+                text.append(header).append(System.lineSeparator());
+            } else {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                if (last.get(0) != '\n') {
+                    text.append(System.lineSeparator());
+                }
+            }
+            for (T record : records) {
+                format.accept(record, text);
+                text.append(System.lineSeparator());
+            }
+
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+            long position = size;
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
             }
+            channel.force(false);
         }
     }
 
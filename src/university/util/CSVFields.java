@@ -0,0 +1,51 @@
+package university.util;
+
+/**
+ * Appends CSV fields to a StringBuilder, for the toCSV/appendCSV methods
+ * of the model classes. Nothing is allocated beyond the builder's own
+ * growth, so CSVExporter can format every row into one reused builder.
+ * Quoted fields follow RFC 4180 (a quote is doubled), matching what
+ * CSVTokenizer reads back. Grades are written in fixed point from their
+ * tenths, always with a '.' separator whatever the default locale.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVFields {
+
+    private CSVFields() {}
+
+    /**
+     * Appends a field in quotes, doubling any quote inside it.
+     *
+     * @param out Row being built
+     * @param value Field text
+     * @return out
+     */
+    public static StringBuilder appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        int start = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', start)) {
+            out.append(value, start, i + 1).append('"');
+            start = i + 1;
+        }
+        return out.append(value, start, value.length()).append('"');
+    }
+
+    /**
+     * Appends a non-negative value given in tenths with one decimal
+     * (865 as 86.5, 1000 as 100.0).
+     *
+     * @param out Row being built
+     * @param tenths Value in tenths (0 or more)
+     * @return out
+     * @throws IllegalArgumentException if tenths is negative
+     */
+    public static StringBuilder appendTenths(StringBuilder out, int tenths) {
+        if (tenths < 0) {
+            throw new IllegalArgumentException("Tenths cannot be negative");
+        }
+        return out.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+    }
+}
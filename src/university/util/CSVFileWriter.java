@@ -0,0 +1,168 @@
+package university.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a CSV file crash-safely for CSVExporter. Lines are UTF-8
+ * encoded char by char into a 1 MB direct buffer that is written to a
+ * FileChannel when full, so large exports go to disk in a few large
+ * writes without an extra heap copy, and writing a line allocates
+ * nothing. The output goes to "<file>.tmp"; commit forces it to disk
+ * and renames it over the target in one atomic step, so a crash leaves
+ * either the old file or the new one, never a truncated mix.
+ * The CRC32 and size of the written bytes are kept for ExportManifest.
+ * Not thread-safe; one instance writes one file.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class CSVFileWriter {
+
+    private static final int BUFFER_BYTES = 1024 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Path target;
+    private final Path pending;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    private long size;
+
+    /**
+     * Opens the temp file of the target, replacing any left by an earlier crash.
+     *
+     * @param target File that commit replaces
+     * @throws IOException if the temp file cannot be created
+     */
+    CSVFileWriter(Path target) throws IOException {
+        Path parent = target.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        this.target = target;
+        this.pending = pendingPath(target);
+        this.channel = FileChannel.open(pending, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * @return Path of the temp file a writer for the target uses
+     */
+    static Path pendingPath(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    /**
+     * Writes one line followed by the line separator.
+     *
+     * @param line Line text, such as a reused StringBuilder
+     * @throws IOException if writing fails or the line is not valid UTF-16
+     */
+    void writeLine(CharSequence line) throws IOException {
+        encode(line);
+        encode(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes the rest of the buffer, forces the temp file to disk and,
+     * if moveIntoPlace is set, atomically replaces the target with it.
+     *
+     * @param moveIntoPlace false to leave the forced temp file for the caller to move
+     * @throws IOException if writing, forcing or renaming fails
+     */
+    void commit(boolean moveIntoPlace) throws IOException {
+        flush();
+        channel.force(true);
+        channel.close();
+        if (moveIntoPlace) {
+            Files.move(pending, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Closes and deletes the temp file after a failed write; the target is untouched.
+     */
+    void abort() {
+        try {
+            channel.close();
+            Files.deleteIfExists(pending);
+        } catch (IOException e) {
+            // the temp file is replaced by the next export
+        }
+    }
+
+    /**
+     * Forces a directory's entries (such as a rename) to disk where the
+     * platform allows opening a directory; elsewhere this does nothing.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on this platform
+        }
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int getCrc() {
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encodes text as UTF-8, flushing whenever fewer than 4 bytes (one
+     * code point) are left in the buffer.
+     */
+    private void encode(CharSequence text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < length ? text.charAt(i + 1) : 0;
+                if (!Character.isHighSurrogate(c) || !Character.isLowSurrogate(low)) {
+                    throw new MalformedInputException(1);
+                }
+                int codePoint = Character.toCodePoint(c, low);
+                i++;
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        size += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
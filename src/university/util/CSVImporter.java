@@ -6,15 +6,27 @@ import university.model.Student;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Utility class for importing data from CSV files.
- * Handles CSV parsing with quoted strings and various formats.
+ * Handles CSV parsing with quoted strings (RFC 4180, via CSVTokenizer).
+ * Records can be collected into a list, pushed one by one into a sink
+ * (e.g. university::addStudent), or read as a lazy Stream; the last two
+ * keep only the current line in memory.
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
@@ -22,6 +34,13 @@ import java.util.List;
  */
 public final class CSVImporter {
 
+    private static final Predicate<String> STUDENT_HEADER =
+            line -> line.contains("id") && line.contains("name");
+    private static final Predicate<String> COURSE_HEADER =
+            line -> line.contains("code") && line.contains("title");
+    private static final Predicate<String> ENROLLMENT_HEADER =
+            line -> line.contains("studentid") || (line.contains("student") && line.contains("course"));
+
     private CSVImporter() {}
 
     /**
@@ -34,39 +53,35 @@ public final class CSVImporter {
      */
     public static List<Student> importStudents(Path filePath) throws IOException {
         List<Student> students = new ArrayList<>();
-        
-        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    if (line.toLowerCase().contains("id") && line.toLowerCase().contains("name")) {
-                        continue;
-                    }
-                }
-                
-                try {
-                    Student student = Student.fromCSV(line);
-                    students.add(student);
-                } catch (Exception e) {
-                    System.err.println("Warning: Skipping invalid student at line " + lineNumber + ": " + e.getMessage());
-                }
-            }
-        }
-        
+        importStudents(filePath, students::add);
         return students;
     }
 
+    /**
+     * Reads students line by line and passes each valid one to the sink.
+     * Invalid lines are skipped with a warning.
+     * 
+     * @param filePath Path to the CSV file
+     * @param sink Receives each imported student
+     * @return Number of students passed to the sink
+     * @throws IOException if file reading fails
+     */
+    public static int importStudents(Path filePath, Consumer<Student> sink) throws IOException {
+        return forEachRecord(filePath, newStudentParser(), sink);
+    }
+
+    /**
+     * Opens a lazy stream of the students in a CSV file.
+     * The stream must be closed (try-with-resources) to release the file.
+     * 
+     * @param filePath Path to the CSV file
+     * @return Sequential stream of imported students
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<Student> streamStudents(Path filePath) throws IOException {
+        return stream(filePath, newStudentParser());
+    }
+
     /**
      * Imports courses from a CSV file.
      * Expected format: code,title,credits,instructor (with header row)
@@ -77,39 +92,35 @@ public final class CSVImporter {
      */
     public static List<Course> importCourses(Path filePath) throws IOException {
         List<Course> courses = new ArrayList<>();
-        
-        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    if (line.toLowerCase().contains("code") && line.toLowerCase().contains("title")) {
-                        continue;
-                    }
-                }
-                
-                try {
-                    Course course = Course.fromCSV(line);
-                    courses.add(course);
-                } catch (Exception e) {
-                    System.err.println("Warning: Skipping invalid course at line " + lineNumber + ": " + e.getMessage());
-                }
-            }
-        }
-        
+        importCourses(filePath, courses::add);
         return courses;
     }
 
+    /**
+     * Reads courses line by line and passes each valid one to the sink.
+     * Invalid lines are skipped with a warning.
+     * 
+     * @param filePath Path to the CSV file
+     * @param sink Receives each imported course
+     * @return Number of courses passed to the sink
+     * @throws IOException if file reading fails
+     */
+    public static int importCourses(Path filePath, Consumer<Course> sink) throws IOException {
+        return forEachRecord(filePath, newCourseParser(), sink);
+    }
+
+    /**
+     * Opens a lazy stream of the courses in a CSV file.
+     * The stream must be closed (try-with-resources) to release the file.
+     * 
+     * @param filePath Path to the CSV file
+     * @return Sequential stream of imported courses
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<Course> streamCourses(Path filePath) throws IOException {
+        return stream(filePath, newCourseParser());
+    }
+
     /**
      * Imports enrollments from a CSV file.
      * Expected format: studentId,courseCode,gradePercent (with header row)
@@ -120,38 +131,188 @@ public final class CSVImporter {
      */
     public static List<Enrollment> importEnrollments(Path filePath) throws IOException {
         List<Enrollment> enrollments = new ArrayList<>();
-        
-        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    if (line.toLowerCase().contains("studentid") || 
-                        (line.toLowerCase().contains("student") && line.toLowerCase().contains("course"))) {
-                        continue;
+        importEnrollments(filePath, enrollments::add);
+        return enrollments;
+    }
+
+    /**
+     * Reads enrollments line by line and passes each valid one to the sink.
+     * Invalid lines are skipped with a warning.
+     * 
+     * @param filePath Path to the CSV file
+     * @param sink Receives each imported enrollment
+     * @return Number of enrollments passed to the sink
+     * @throws IOException if file reading fails
+     */
+    public static int importEnrollments(Path filePath, Consumer<Enrollment> sink) throws IOException {
+        return forEachRecord(filePath, newEnrollmentParser(), sink);
+    }
+
+    /**
+     * Memory-mapped variant of importEnrollments(Path, Consumer) for large
+     * files. The file is mapped instead of decoded line by line: studentId
+     * and gradePercent are parsed directly from the bytes, and only course
+     * codes become Strings (reused across rows with the same code).
+     * Quoted fields may not contain line breaks in this mode.
+     * 
+     * @param filePath Path to the CSV file
+     * @param sink Receives each imported enrollment
+     * @return Number of enrollments passed to the sink
+     * @throws IOException if file reading fails
+     */
+    public static int importEnrollmentsMapped(Path filePath, Consumer<Enrollment> sink) throws IOException {
+        long size;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            size = channel.size();
+        }
+        return MappedCSVReader.readEnrollments(filePath, 0, size, sink);
+    }
+
+    /**
+     * Reads the enrollments whose lines lie in a byte range of the file,
+     * through a memory mapping as importEnrollmentsMapped(Path, Consumer)
+     * does, and passes each valid one to the sink. The range must start
+     * and end on line boundaries (see splitAtLines); only the range
+     * starting at byte 0 may contain the header. Independent ranges can be
+     * read in parallel. The range has no size limit; it is mapped in
+     * windows of up to 1 GB.
+     * 
+     * @param filePath Path to the CSV file
+     * @param startByte First byte of the range (inclusive)
+     * @param endByte End of the range (exclusive)
+     * @param sink Receives each imported enrollment
+     * @return Number of enrollments passed to the sink
+     * @throws IOException if file reading fails
+     */
+    public static int importEnrollmentsMapped(Path filePath, long startByte, long endByte,
+                                              Consumer<Enrollment> sink) throws IOException {
+        if (startByte < 0 || endByte < startByte) {
+            throw new IllegalArgumentException("Invalid byte range " + startByte + "-" + endByte);
+        }
+        return MappedCSVReader.readEnrollments(filePath, startByte, endByte, sink);
+    }
+
+    /**
+     * Splits a file into byte ranges of roughly chunkBytes each, with every
+     * boundary placed just after a line break.
+     * 
+     * @param filePath Path to the file
+     * @param chunkBytes Target range size in bytes (must be positive)
+     * @return Boundaries: range i is [result[i], result[i + 1])
+     * @throws IOException if file reading fails
+     */
+    public static long[] splitAtLines(Path filePath, long chunkBytes) throws IOException {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = chunkBytes;
+            while (position < size) {
+                long boundary = size;
+                scan:
+                while (position < size) {
+                    probe.clear();
+                    int read = channel.read(probe, position);
+                    if (read <= 0) {
+                        break;
+                    }
+                    for (int i = 0; i < read; i++) {
+                        if (probe.get(i) == '\n') {
+                            boundary = position + i + 1;
+                            break scan;
+                        }
                     }
+                    position += read;
                 }
-                
-                try {
-                    Enrollment enrollment = Enrollment.fromCSV(line);
-                    enrollments.add(enrollment);
-                } catch (Exception e) {
-                    System.err.println("Warning: Skipping invalid enrollment at line " + lineNumber + ": " + e.getMessage());
+                if (boundary >= size) {
+                    break;
                 }
+                boundaries.add(boundary);
+                position = boundary + chunkBytes;
             }
+            boundaries.add(size);
         }
-        
-        return enrollments;
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Opens a lazy stream of the enrollments in a CSV file.
+     * The stream must be closed (try-with-resources) to release the file.
+     * 
+     * @param filePath Path to the CSV file
+     * @return Sequential stream of imported enrollments
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<Enrollment> streamEnrollments(Path filePath) throws IOException {
+        return stream(filePath, newEnrollmentParser());
+    }
+
+    /**
+     * Prepares a directory written by CSVExporter.exportAll for loading:
+     * finishes an export that crashed after committing its manifest, and
+     * checks that each file matches the size and CRC32 recorded there, so
+     * a truncated or damaged file is reported instead of partly loaded.
+     * A directory without a manifest is left as it is.
+     * 
+     * @param directory Directory of the CSV files
+     * @return Generation number of the export, or 0 if there is no manifest
+     * @throws IOException if a file does not match the manifest or cannot be read
+     */
+    public static long recoverExport(Path directory) throws IOException {
+        ExportManifest manifest = ExportManifest.read(directory);
+        if (manifest == null) {
+            return 0;
+        }
+        manifest.recover(directory);
+        return manifest.getGeneration();
+    }
+
+    /**
+     * Reads an enrollment delta file written by
+     * CSVExporter.appendEnrollmentChanges and passes each row, in file
+     * order, to upserts (U rows) or removals (D rows).
+     * Expected format: op,studentId,courseCode,gradePercent (with header row)
+     * 
+     * @param filePath Path to the delta file
+     * @param upserts Receives each added or updated enrollment
+     * @param removals Receives each removed enrollment (ungraded)
+     * @return Number of rows passed on
+     * @throws IOException if file reading fails
+     */
+    public static int importEnrollmentChanges(Path filePath, Consumer<Enrollment> upserts,
+                                              Consumer<Enrollment> removals) throws IOException {
+        RecordParser<Runnable> parser = new RecordParser<>("enrollment change", ENROLLMENT_HEADER, tokens -> {
+            if (tokens.getFieldCount() < 3) {
+                throw new IllegalArgumentException("Invalid CSV format for enrollment change");
+            }
+            String op = tokens.getString(0);
+            int studentId = tokens.getInt(1);
+            String courseCode = tokens.getString(2);
+            if (op.equals("D")) {
+                Enrollment removed = new Enrollment(studentId, courseCode);
+                return () -> removals.accept(removed);
+            }
+            if (!op.equals("U")) {
+                throw new IllegalArgumentException("Unknown change type: " + op);
+            }
+            Double gradePercent = null;
+            if (tokens.getFieldCount() >= 4 && !tokens.isEmpty(3)) {
+                gradePercent = tokens.getDouble(3);
+            }
+            Enrollment enrollment = new Enrollment(studentId, courseCode, gradePercent);
+            return () -> upserts.accept(enrollment);
+        });
+        return forEachRecord(filePath, parser, Runnable::run);
     }
 
     /**
@@ -163,4 +324,143 @@ public final class CSVImporter {
     public static boolean fileExists(Path filePath) {
         return Files.exists(filePath) && Files.isReadable(filePath);
     }
+
+    /**
+     * @param line First non-blank line, lower-cased
+     * @return true if the line is an enrollments header
+     */
+    static boolean isEnrollmentHeader(String line) {
+        return ENROLLMENT_HEADER.test(line);
+    }
+
+    private static RecordParser<Student> newStudentParser() {
+        return new RecordParser<>("student", STUDENT_HEADER, Student::fromCSV);
+    }
+
+    private static RecordParser<Course> newCourseParser() {
+        return new RecordParser<>("course", COURSE_HEADER, Course::fromCSV);
+    }
+
+    private static RecordParser<Enrollment> newEnrollmentParser() {
+        return new RecordParser<>("enrollment", ENROLLMENT_HEADER, Enrollment::fromCSV);
+    }
+
+    /**
+     * Reads a file line by line, pushing each parsed record into the sink.
+     */
+    private static <T> int forEachRecord(Path filePath, RecordParser<T> parser, Consumer<T> sink)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            return forEachRecord(reader, parser, sink);
+        }
+    }
+
+    private static <T> int forEachRecord(BufferedReader reader, RecordParser<T> parser, Consumer<T> sink)
+            throws IOException {
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            T record = parser.parse(line);
+            if (record != null) {
+                sink.accept(record);
+                count++;
+            }
+        }
+        parser.finish();
+        return count;
+    }
+
+    /**
+     * Wraps a file in a lazy stream of parsed records that closes the file on close.
+     */
+    private static <T> Stream<T> stream(Path filePath, RecordParser<T> parser) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+        try {
+            return reader.lines()
+                    .map(parser::parse)
+                    .filter(Objects::nonNull)
+                    .onClose(() -> {
+                        parser.finish();
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Turns the lines of one file into records, one line at a time.
+     * Skips blank lines and a header on the first non-blank line, and
+     * warns about (and skips) lines that fail to parse. A quoted field
+     * spanning several lines is joined into one record. All lines share
+     * one CSVTokenizer, so parsing allocates only the text fields.
+     * Keeps the line number, so one instance serves exactly one file.
+     */
+    private static final class RecordParser<T> {
+        private final String kind;
+        private final Predicate<String> isHeader;
+        private final Function<CSVTokenizer, T> factory;
+        private final CSVTokenizer tokens = new CSVTokenizer();
+        private boolean isFirstLine = true;
+        private boolean inRecord = false;
+        private int lineNumber = 0;
+        private int recordLine = 0;
+
+        RecordParser(String kind, Predicate<String> isHeader, Function<CSVTokenizer, T> factory) {
+            this.kind = kind;
+            this.isHeader = isHeader;
+            this.factory = factory;
+        }
+
+        /**
+         * @return the parsed record, or null if the line is skipped or
+         *         does not complete a record yet
+         */
+        T parse(String line) {
+            lineNumber++;
+
+            boolean complete;
+            if (inRecord) {
+                complete = tokens.append(line);
+            } else {
+                recordLine = lineNumber;
+                complete = tokens.reset(line);
+            }
+            inRecord = !complete;
+            if (!complete || tokens.isBlank()) {
+                return null;
+            }
+
+            if (isFirstLine) {
+                isFirstLine = false;
+                if (isHeader.test(line.toLowerCase())) {
+                    return null;
+                }
+            }
+
+            try {
+                return factory.apply(tokens);
+            } catch (Exception e) {
+                System.err.println("Warning: Skipping invalid " + kind + " at line " + recordLine
+                        + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Reports a record left open by an unterminated quote at end of file.
+         */
+        void finish() {
+            if (inRecord) {
+                inRecord = false;
+                System.err.println("Warning: Skipping invalid " + kind + " at line " + recordLine
+                        + ": Unterminated quoted field");
+            }
+        }
+    }
 }
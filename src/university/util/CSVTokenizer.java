@@ -0,0 +1,266 @@
+package university.util;
+
+/**
+ * Reusable CSV record tokenizer (RFC 4180 quoting).
+ * The record is copied into an internal char buffer and split in place:
+ * quotes are removed, escaped quotes ("") become one quote, and each
+ * field is trimmed. Fields are then exposed as offsets and lengths into
+ * that buffer, so tokenizing allocates nothing once the buffers have
+ * grown to the record size. Only getString creates a String.
+ * 
+ * A quoted field may contain line breaks: reset returns false while a
+ * quote is still open, and the next line is added with append.
+ * 
+ * Not thread-safe; use one instance per reader.
+ * No inheritance - composition only design.
+ * 
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class CSVTokenizer {
+
+    private char[] buffer;
+    private byte[] numberBytes;
+    private int length;
+    private int quoteCount;
+    private int[] starts;
+    private int[] lengths;
+    private int fieldCount;
+
+    /**
+     * Creates a tokenizer with small initial buffers that grow as needed.
+     */
+    public CSVTokenizer() {
+        this.buffer = new char[256];
+        this.numberBytes = new byte[32];
+        this.starts = new int[8];
+        this.lengths = new int[8];
+    }
+
+    /**
+     * Starts a new record with the given line and tokenizes it.
+     * 
+     * @param line Record text without line terminator
+     * @return true if the record is complete, false if a quoted field is still open
+     */
+    public boolean reset(CharSequence line) {
+        length = 0;
+        quoteCount = 0;
+        fieldCount = 0;
+        copy(line);
+        return finish();
+    }
+
+    /**
+     * Continues a record whose quoted field spans lines.
+     * 
+     * @param line Next line of the record, without line terminator
+     * @return true if the record is now complete
+     */
+    public boolean append(CharSequence line) {
+        ensureCapacity(length + 1);
+        buffer[length++] = '\n';
+        copy(line);
+        return finish();
+    }
+
+    /**
+     * @return true if the current record is complete and tokenized
+     */
+    public boolean isComplete() {
+        return (quoteCount & 1) == 0;
+    }
+
+    /**
+     * @return true if the record is blank (a single empty field)
+     */
+    public boolean isBlank() {
+        return fieldCount == 1 && lengths[0] == 0;
+    }
+
+    // Field access
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    public int getFieldStart(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getFieldLength(int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    /**
+     * @param index Field index
+     * @return true if the field is empty after trimming
+     */
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return lengths[index] == 0;
+    }
+
+    /**
+     * Materializes a field as a String.
+     * 
+     * @param index Field index
+     * @return Field text (unquoted, unescaped, trimmed)
+     */
+    public String getString(int index) {
+        checkIndex(index);
+        return new String(buffer, starts[index], lengths[index]);
+    }
+
+    /**
+     * Parses a field as a decimal int without creating a String.
+     * 
+     * @param index Field index
+     * @return Parsed value
+     * @throws NumberFormatException if the field is not a valid int
+     */
+    public int getInt(int index) {
+        long value = NumberParser.parseInt(numberBytes, 0, copyNumber(index));
+        if (value == NumberParser.NOT_AN_INT) {
+            throw numberFormat(index);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a double. Plain decimals with up to 15 significant
+     * digits (such as "86.5") are parsed without creating a String; any
+     * other form falls back to Double.parseDouble.
+     * 
+     * @param index Field index
+     * @return Parsed value
+     * @throws NumberFormatException if the field is not a valid number
+     */
+    public double getDouble(int index) {
+        double value = NumberParser.parseDouble(numberBytes, 0, copyNumber(index));
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(getString(index));
+        }
+        return value;
+    }
+
+    /**
+     * Copies a field into numberBytes for NumberParser; characters outside
+     * ASCII, which no number contains, become a byte that is not a digit.
+     * @return Field length
+     */
+    private int copyNumber(int index) {
+        checkIndex(index);
+        int fieldLength = lengths[index];
+        if (numberBytes.length < fieldLength) {
+            numberBytes = new byte[Math.max(fieldLength, numberBytes.length * 2)];
+        }
+        for (int i = 0, start = starts[index]; i < fieldLength; i++) {
+            char c = buffer[start + i];
+            numberBytes[i] = c < 128 ? (byte) c : (byte) '?';
+        }
+        return fieldLength;
+    }
+
+    /**
+     * Appends line characters and counts quotes for record completion.
+     */
+    private void copy(CharSequence line) {
+        int n = line.length();
+        ensureCapacity(length + n);
+        for (int i = 0; i < n; i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoteCount++;
+            }
+            buffer[length++] = c;
+        }
+    }
+
+    /**
+     * Tokenizes the buffered record if all quotes are closed.
+     */
+    private boolean finish() {
+        if (!isComplete()) {
+            fieldCount = 0;
+            return false;
+        }
+        tokenize();
+        return true;
+    }
+
+    /**
+     * Splits the record in place. The write position never passes the
+     * read position, since only quote characters are dropped.
+     */
+    private void tokenize() {
+        fieldCount = 0;
+        int write = 0;
+        int fieldStart = 0;
+        boolean inQuotes = false;
+
+        for (int read = 0; read < length; read++) {
+            char c = buffer[read];
+            if (c == '"') {
+                if (inQuotes && read + 1 < length && buffer[read + 1] == '"') {
+                    buffer[write++] = '"';
+                    read++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                addField(fieldStart, write);
+                fieldStart = write;
+            } else {
+                buffer[write++] = c;
+            }
+        }
+        addField(fieldStart, write);
+    }
+
+    /**
+     * Records a field, trimming whitespace like String.trim.
+     */
+    private void addField(int start, int end) {
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        if (fieldCount == starts.length) {
+            int[] newStarts = new int[fieldCount * 2];
+            int[] newLengths = new int[fieldCount * 2];
+            System.arraycopy(starts, 0, newStarts, 0, fieldCount);
+            System.arraycopy(lengths, 0, newLengths, 0, fieldCount);
+            starts = newStarts;
+            lengths = newLengths;
+        }
+        starts[fieldCount] = start;
+        lengths[fieldCount] = end - start;
+        fieldCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            char[] grown = new char[Math.max(capacity, buffer.length * 2)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+
+    private NumberFormatException numberFormat(int index) {
+        return new NumberFormatException("For input string: \"" + getString(index) + "\"");
+    }
+}
@@ -0,0 +1,155 @@
+package university.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The manifest.csv file of a CSV export generation: the generation number
+ * and the size and CRC32 of each file in it.
+ * Format:
+ * <pre>
+ * generation,7
+ * students.csv,1234,89abcdef
+ * courses.csv,...
+ * </pre>
+ * CSVExporter.exportAll forces the new files to disk as temp files,
+ * then commits the generation by atomically replacing the manifest, and
+ * only then renames the temp files into place. A crash before the
+ * manifest is replaced keeps the old generation; a crash after it leaves
+ * temp files that match the manifest, which recover moves into place.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class ExportManifest {
+
+    static final String FILE_NAME = "manifest.csv";
+
+    private final long generation;
+    private final List<String> names = new ArrayList<>();
+    private final List<long[]> checks = new ArrayList<>();
+
+    ExportManifest(long generation) {
+        this.generation = generation;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    void add(String name, long size, int crc) {
+        names.add(name);
+        checks.add(new long[] {size, crc & 0xFFFFFFFFL});
+    }
+
+    /**
+     * Reads the manifest of a directory.
+     *
+     * @return the manifest, or null if the directory has none
+     * @throws IOException if the manifest cannot be read or is malformed
+     */
+    static ExportManifest read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        try {
+            String[] header = lines.get(0).split(",");
+            if (!header[0].equals("generation")) {
+                throw new IOException("Not an export manifest: " + file);
+            }
+            ExportManifest manifest = new ExportManifest(Long.parseLong(header[1]));
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                manifest.add(fields[0], Long.parseLong(fields[1]), (int) Long.parseLong(fields[2], 16));
+            }
+            return manifest;
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IOException("Corrupt export manifest: " + file, e);
+        }
+    }
+
+    /**
+     * Forces the manifest to disk as a temp file and atomically replaces
+     * the current one, which commits the generation.
+     */
+    void commit(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        Path pending = CSVFileWriter.pendingPath(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(pending, StandardCharsets.UTF_8)) {
+            writer.write("generation," + generation);
+            writer.newLine();
+            for (int i = 0; i < names.size(); i++) {
+                writer.write(names.get(i) + "," + checks.get(i)[0] + "," + Long.toHexString(checks.get(i)[1]));
+                writer.newLine();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(pending, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(pending, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        CSVFileWriter.syncDirectory(directory);
+    }
+
+    /**
+     * Finishes an export that crashed after its commit, then checks every
+     * listed file against its size and CRC32. Temp files that do not
+     * match belong to an export that never committed and are deleted.
+     *
+     * @throws IOException if a listed file is missing or does not match
+     */
+    void recover(Path directory) throws IOException {
+        boolean moved = false;
+        for (int i = 0; i < names.size(); i++) {
+            Path file = directory.resolve(names.get(i));
+            Path pending = CSVFileWriter.pendingPath(file);
+            if (Files.exists(pending)) {
+                if (matches(pending, checks.get(i))) {
+                    Files.move(pending, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    moved = true;
+                } else {
+                    Files.delete(pending);
+                }
+            }
+            if (!Files.exists(file) || !matches(file, checks.get(i))) {
+                throw new IOException(file + " does not match generation " + generation + " of "
+                        + directory.resolve(FILE_NAME) + " (damaged, or edited after saving;"
+                        + " delete the manifest to load it anyway)");
+            }
+        }
+        if (moved) {
+            CSVFileWriter.syncDirectory(directory);
+        }
+    }
+
+    private static boolean matches(Path file, long[] check) throws IOException {
+        if (Files.size(file) != check[0]) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue() == check[1];
+    }
+}
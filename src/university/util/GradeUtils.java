@@ -2,7 +2,8 @@ package university.util;
 
 /**
  * Utility class for grade calculations and conversions.
- * Implements the 4.0 GPA scale as specified in the project requirements.
+ * Implements the 4.0 GPA scale as specified in the project requirements,
+ * through the lookup tables of GradingScale.DEFAULT.
  * No inheritance - composition only design.
  * 
  * @author Nurcan Denli Bayir
@@ -32,20 +33,30 @@ public final class GradeUtils {
      * @throws IllegalArgumentException if percent is out of range
      */
     public static double toGradePoint(double percent) {
-        if (percent < 0 || percent > 100) {
-            throw new IllegalArgumentException("Grade percentage must be between 0 and 100");
-        }
+        return GradingScale.DEFAULT.toGradePoint(percent);
+    }
 
-        if (percent >= 90) return 4.0;
-        if (percent >= 85) return 3.7;
-        if (percent >= 80) return 3.3;
-        if (percent >= 75) return 3.0;
-        if (percent >= 70) return 2.7;
-        if (percent >= 65) return 2.3;
-        if (percent >= 60) return 2.0;
-        if (percent >= 55) return 1.7;
-        if (percent >= 50) return 1.0;
-        return 0.0;
+    /**
+     * Converts percentage grades to grade points (4.0 scale), out[i] for in[i].
+     * 
+     * @param in Grade percentages (0-100)
+     * @param out Receives the grade points; at least as long as in
+     * @throws IllegalArgumentException if out is shorter than in or a grade is out of range
+     */
+    public static void toGradePoints(double[] in, double[] out) {
+        GradingScale.DEFAULT.toGradePoints(in, out);
+    }
+
+    /**
+     * Looks up the grade points in tenths (3.7 -> 37) of a grade in tenths
+     * of a percent (4.0 scale).
+     * 
+     * @param gradeTenths Grade in tenths of a percent (0-1000)
+     * @return Grade points in tenths
+     * @throws ArrayIndexOutOfBoundsException if gradeTenths is out of range
+     */
+    public static int gradePointTenths(int gradeTenths) {
+        return GradingScale.DEFAULT.gradePointTenths(gradeTenths);
     }
 
     /**
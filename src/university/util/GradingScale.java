@@ -0,0 +1,156 @@
+package university.util;
+
+/**
+ * Immutable mapping from percentage grades to grade points.
+ * A scale is a list of cutoffs, highest first: a grade of at least
+ * minPercents[i] (and below the previous cutoff) earns points[i], and a
+ * grade below the last cutoff earns 0.0. Cutoffs and points are in
+ * tenths (89.5, 3.7), the precision grades are stored with, so every
+ * grade from 0.0 to 100.0 is looked up in a table of 1001 entries built
+ * once, instead of being compared against each cutoff.
+ * DEFAULT is the 4.0 scale of the project requirements (see
+ * GradeUtils.toGradePoint); institutions with other cutoffs create their
+ * own scale and pass it to University.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+public final class GradingScale {
+
+    /** Highest grade in tenths of a percent. */
+    public static final int MAX_GRADE_TENTHS = 1000;
+
+    /** The 4.0 scale of the project requirements. */
+    public static final GradingScale DEFAULT = new GradingScale(
+            new double[] {90, 85, 80, 75, 70, 65, 60, 55, 50},
+            new double[] {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.0});
+
+    private final double[] minPercents;
+    private final double[] points;
+    private final double[] pointsByTenths;
+    private final int[] pointTenthsByTenths;
+
+    /**
+     * Creates a scale.
+     *
+     * @param minPercents Lowest grade of each band, strictly descending, 0-100, in tenths
+     * @param points Grade points of each band, 0 or more, in tenths
+     * @throws IllegalArgumentException if the arrays differ in length or a value is invalid
+     */
+    public GradingScale(double[] minPercents, double[] points) {
+        if (minPercents.length != points.length) {
+            throw new IllegalArgumentException("Each cutoff needs exactly one grade point value");
+        }
+        int[] cutoffTenths = new int[minPercents.length];
+        int[] bandPointTenths = new int[points.length];
+        for (int i = 0; i < minPercents.length; i++) {
+            cutoffTenths[i] = toTenths(minPercents[i], "Cutoff");
+            bandPointTenths[i] = toTenths(points[i], "Grade point value");
+            if (cutoffTenths[i] > MAX_GRADE_TENTHS) {
+                throw new IllegalArgumentException("Cutoff must be between 0 and 100");
+            }
+            if (i > 0 && cutoffTenths[i] >= cutoffTenths[i - 1]) {
+                throw new IllegalArgumentException("Cutoffs must be strictly descending");
+            }
+        }
+        this.minPercents = minPercents.clone();
+        this.points = points.clone();
+        this.pointsByTenths = new double[MAX_GRADE_TENTHS + 1];
+        this.pointTenthsByTenths = new int[MAX_GRADE_TENTHS + 1];
+        int band = 0;
+        for (int tenths = MAX_GRADE_TENTHS; tenths >= 0; tenths--) {
+            while (band < cutoffTenths.length && tenths < cutoffTenths[band]) {
+                band++;
+            }
+            if (band < cutoffTenths.length) {
+                pointsByTenths[tenths] = bandPointTenths[band] / 10.0;
+                pointTenthsByTenths[tenths] = bandPointTenths[band];
+            }
+        }
+    }
+
+    /**
+     * Converts a percentage grade to grade points.
+     *
+     * @param percent Grade percentage (0-100)
+     * @return Grade points
+     * @throws IllegalArgumentException if percent is out of range
+     */
+    public double toGradePoint(double percent) {
+        if (!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Grade percentage must be between 0 and 100");
+        }
+        return pointsByTenths[bandTenths(percent)];
+    }
+
+    /**
+     * Converts percentage grades to grade points, out[i] for in[i].
+     * All grades are checked before any is converted.
+     *
+     * @param in Grade percentages (0-100)
+     * @param out Receives the grade points; at least as long as in
+     * @throws IllegalArgumentException if out is shorter than in or a grade is out of range
+     */
+    public void toGradePoints(double[] in, double[] out) {
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        for (double percent : in) {
+            if (!(percent >= 0 && percent <= 100)) {
+                throw new IllegalArgumentException("Grade percentage must be between 0 and 100");
+            }
+        }
+        double[] table = pointsByTenths;
+        for (int i = 0; i < in.length; i++) {
+            out[i] = table[bandTenths(in[i])];
+        }
+    }
+
+    /**
+     * Grade points in tenths (3.7 -> 37) of a grade in tenths of a percent.
+     *
+     * @param gradeTenths Grade in tenths of a percent (0-1000)
+     * @return Grade points in tenths
+     * @throws ArrayIndexOutOfBoundsException if gradeTenths is out of range
+     */
+    public int gradePointTenths(int gradeTenths) {
+        return pointTenthsByTenths[gradeTenths];
+    }
+
+    /**
+     * @return Copy of the band cutoffs, highest first
+     */
+    public double[] getMinPercents() {
+        return minPercents.clone();
+    }
+
+    /**
+     * @return Copy of the band grade points
+     */
+    public double[] getPoints() {
+        return points.clone();
+    }
+
+    /**
+     * Finds the tenth t with t / 10.0 <= percent < (t + 1) / 10.0, the
+     * same comparisons a cutoff chain with tenths literals would make.
+     */
+    private static int bandTenths(double percent) {
+        int tenths = (int) (percent * 10);
+        if (tenths < MAX_GRADE_TENTHS && (tenths + 1) / 10.0 <= percent) {
+            tenths++;
+        } else if (tenths > 0 && tenths / 10.0 > percent) {
+            tenths--;
+        }
+        return tenths;
+    }
+
+    private static int toTenths(double value, String name) {
+        long tenths = Math.round(value * 10);
+        if (!(value >= 0) || tenths > Integer.MAX_VALUE || tenths / 10.0 != value) {
+            throw new IllegalArgumentException(name + " must be a non-negative multiple of 0.1: " + value);
+        }
+        return (int) tenths;
+    }
+}
@@ -0,0 +1,259 @@
+package university.util;
+
+import university.model.Enrollment;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped reader for enrollments CSV files (CSVImporter mapped mode).
+ * The file is mapped in windows of up to 1 GB that are copied out in
+ * 64 KB blocks and split into lines without any charset decoding:
+ * studentId and gradePercent are parsed straight from the bytes, and
+ * only the course code becomes a String. Course codes repeat across
+ * rows, so each distinct code is decoded once per range and reused.
+ * Quoting follows CSVTokenizer (RFC 4180 quotes, trimmed fields), except
+ * that a record cannot span lines.
+ * Not thread-safe; each call of readEnrollments uses its own instance.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class MappedCSVReader {
+
+    private static final long WINDOW_BYTES = 1L << 30;
+    private static final int BLOCK_BYTES = 64 * 1024;
+    private static final int CODE_TABLE_BITS = 12;
+
+    private final String location;
+    private byte[] block = new byte[BLOCK_BYTES];
+    private final int[] starts = new int[3];
+    private final int[] lengths = new int[3];
+    private int fieldCount;
+    private final byte[][] codeKeys = new byte[1 << CODE_TABLE_BITS][];
+    private final String[] codes = new String[1 << CODE_TABLE_BITS];
+    private int codeCount;
+    private int lineNumber;
+    private boolean checkHeader;
+
+    private MappedCSVReader(String location, boolean checkHeader) {
+        this.location = location;
+        this.checkHeader = checkHeader;
+    }
+
+    /**
+     * Reads the enrollments whose lines lie in [startByte, endByte).
+     * The range must start on a line boundary; only a range starting at
+     * byte 0 may contain the header.
+     *
+     * @param filePath Path to the CSV file
+     * @param startByte First byte of the range (inclusive)
+     * @param endByte End of the range (exclusive)
+     * @param sink Receives each imported enrollment
+     * @return Number of enrollments passed to the sink
+     * @throws IOException if mapping the file fails
+     */
+    static int readEnrollments(Path filePath, long startByte, long endByte, Consumer<Enrollment> sink)
+            throws IOException {
+        String location = startByte > 0 ? " (in chunk at byte " + startByte + ")" : "";
+        MappedCSVReader reader = new MappedCSVReader(location, startByte == 0);
+        int count = 0;
+        int carry = 0;
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            for (long position = startByte; position < endByte; position += WINDOW_BYTES) {
+                long size = Math.min(WINDOW_BYTES, endByte - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+                // Copy the window out in blocks; a line cut at the end of a
+                // block (or window) is carried to the front of the next one
+                while (window.hasRemaining()) {
+                    if (carry == reader.block.length) {
+                        reader.block = Arrays.copyOf(reader.block, carry * 2);
+                    }
+                    int length = Math.min(reader.block.length - carry, window.remaining());
+                    window.get(reader.block, carry, length);
+                    length += carry;
+
+                    int lineStart = 0;
+                    for (int i = carry; i < length; i++) {
+                        if (reader.block[i] == '\n') {
+                            count += reader.readLine(lineStart, i, sink);
+                            lineStart = i + 1;
+                        }
+                    }
+                    carry = length - lineStart;
+                    System.arraycopy(reader.block, lineStart, reader.block, 0, carry);
+                }
+            }
+        }
+        if (carry > 0) {
+            count += reader.readLine(0, carry, sink);
+        }
+        return count;
+    }
+
+    /**
+     * Parses one line [start, end) of the block.
+     * @return 1 if an enrollment was passed to the sink, 0 otherwise
+     */
+    private int readLine(int start, int end, Consumer<Enrollment> sink) {
+        lineNumber++;
+        if (checkHeader) {
+            // Decode before tokenize rewrites the line in place
+            String line = new String(block, start, end - start, StandardCharsets.UTF_8).trim();
+            if (line.isEmpty()) {
+                return 0;
+            }
+            checkHeader = false;
+            if (CSVImporter.isEnrollmentHeader(line.toLowerCase())) {
+                return 0;
+            }
+        }
+
+        tokenize(start, end);
+        if (fieldCount == 1 && lengths[0] == 0) {
+            return 0;
+        }
+
+        try {
+            if (fieldCount < 2) {
+                throw new IllegalArgumentException("Invalid CSV format for Enrollment");
+            }
+            int studentId = parseInt(0);
+            String courseCode = courseCode(1);
+            Double gradePercent = null;
+            if (fieldCount >= 3 && lengths[2] > 0) {
+                gradePercent = parseDouble(2);
+            }
+            sink.accept(new Enrollment(studentId, courseCode, gradePercent));
+            return 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Skipping invalid enrollment at line " + lineNumber + location
+                    + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Splits the first three fields of a line in place, removing quotes
+     * and trimming; fields after the third are ignored. The write
+     * position never passes the read position, as in CSVTokenizer.
+     */
+    private void tokenize(int start, int end) {
+        if (end > start && block[end - 1] == '\r') {
+            end--;
+        }
+
+        fieldCount = 0;
+        int write = start;
+        int fieldStart = start;
+        boolean inQuotes = false;
+        for (int read = start; read < end; read++) {
+            byte b = block[read];
+            if (b == '"') {
+                if (inQuotes && read + 1 < end && block[read + 1] == '"') {
+                    block[write++] = '"';
+                    read++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (b == ',' && !inQuotes) {
+                addField(fieldStart, write);
+                if (fieldCount == starts.length) {
+                    return;
+                }
+                fieldStart = write;
+            } else {
+                block[write++] = b;
+            }
+        }
+        addField(fieldStart, write);
+    }
+
+    private void addField(int start, int end) {
+        while (start < end && (block[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (block[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        starts[fieldCount] = start;
+        lengths[fieldCount] = end - start;
+        fieldCount++;
+    }
+
+    /**
+     * Returns the field as a String, reusing the String of an identical
+     * code seen earlier in this range. The table is open-addressed and
+     * cleared when 3/4 full, so unusually many distinct codes only cost
+     * the decoding that a plain String per row would.
+     */
+    private String courseCode(int index) {
+        int start = starts[index];
+        int length = lengths[index];
+        int hash = 1;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + block[i];
+        }
+
+        int slot = (hash * 0x9E3779B9) >>> (32 - CODE_TABLE_BITS);
+        for (byte[] key; (key = codeKeys[slot]) != null; slot = (slot + 1) & (codeKeys.length - 1)) {
+            if (key.length == length && matches(key, start)) {
+                return codes[slot];
+            }
+        }
+
+        String code = new String(block, start, length, StandardCharsets.UTF_8);
+        if (codeCount == codeKeys.length / 4 * 3) {
+            Arrays.fill(codeKeys, null);
+            Arrays.fill(codes, null);
+            codeCount = 0;
+            slot = (hash * 0x9E3779B9) >>> (32 - CODE_TABLE_BITS);
+        }
+        codeKeys[slot] = Arrays.copyOfRange(block, start, start + length);
+        codes[slot] = code;
+        codeCount++;
+        return code;
+    }
+
+    private boolean matches(byte[] key, int start) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != block[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseInt(int index) {
+        long value = NumberParser.parseInt(block, starts[index], starts[index] + lengths[index]);
+        if (value == NumberParser.NOT_AN_INT) {
+            throw numberFormat(index);
+        }
+        return (int) value;
+    }
+
+    private double parseDouble(int index) {
+        double value = NumberParser.parseDouble(block, starts[index], starts[index] + lengths[index]);
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(fieldString(index));
+        }
+        return value;
+    }
+
+    private String fieldString(int index) {
+        return new String(block, starts[index], lengths[index], StandardCharsets.UTF_8);
+    }
+
+    private NumberFormatException numberFormat(int index) {
+        return new NumberFormatException("For input string: \"" + fieldString(index) + "\"");
+    }
+}
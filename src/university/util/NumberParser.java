@@ -0,0 +1,98 @@
+package university.util;
+
+/**
+ * Parses decimal numbers from a byte range without creating a String,
+ * for the readers that keep fields in their own buffers: MappedCSVReader
+ * parses its mapped bytes directly, and CSVTokenizer copies a field's
+ * characters into a byte array first. Ints of an optional sign and
+ * digits are parsed whole; doubles only when they are plain decimals
+ * with up to 15 significant digits (such as "86.5"), other forms being
+ * left to Double.parseDouble.
+ * No inheritance - composition only design.
+ *
+ * @author Nurcan Denli Bayir
+ * @version 1.0
+ */
+final class NumberParser {
+
+    /** Returned by parseInt for a range that is not an int. */
+    static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private NumberParser() {}
+
+    /**
+     * Parses bytes [start, end) as a decimal int.
+     *
+     * @return Value, or NOT_AN_INT if the range is not an int in range
+     */
+    static long parseInt(byte[] bytes, int start, int end) {
+        if (start == end) {
+            return NOT_AN_INT;
+        }
+        boolean negative = bytes[start] == '-';
+        int i = (negative || bytes[start] == '+') ? start + 1 : start;
+        if (i == end) {
+            return NOT_AN_INT;
+        }
+
+        // Accumulate negatively so Integer.MIN_VALUE parses
+        long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_AN_INT;
+            }
+            result = result * 10 - digit;
+            if (result < limit) {
+                return NOT_AN_INT;
+            }
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses bytes [start, end) as a plain decimal.
+     *
+     * @return Value, or NaN if the range is not a plain decimal of up to
+     *         15 significant digits
+     */
+    static double parseDouble(byte[] bytes, int start, int end) {
+        boolean negative = start < end && bytes[start] == '-';
+        int i = (negative || (start < end && bytes[start] == '+')) ? start + 1 : start;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (seenPoint) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+
+        if (!seenDigit || digits > 15 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        // Both operands are exact doubles, so one division rounds correctly
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+}